@@ -17,6 +17,13 @@ import java.net.URI;
 
 public interface ImageManagementInterface {
 
+    /**
+     * Name of the property of an image returned by
+     * {@link #changeDpi(URI, int)} that holds its resolution in DPI as
+     * Integer. It should be written into the metadata when the image is saved.
+     */
+    String DPI_PROPERTY = "dpi";
+
     /**
      * Changes the DPI of an image at a given URI.
      *
@@ -13,6 +13,7 @@ package org.kitodo.api.schemaconverter;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 /** Enables the conversion of a DataRecord from one format to another. */
 public interface SchemaConverterInterface {
@@ -29,6 +30,19 @@ public interface SchemaConverterInterface {
     DataRecord convert(DataRecord record, MetadataFormat targetMetadataFormat, FileFormat targetFileFormat,
                        File mappingFile) throws IOException;
 
+    /**
+     * Converts several DataRecords to the given MetadataFormat 'targetMetadataFormat' and FileFormat
+     * 'targetFileFormat'. The SchemaConverter may convert the records in parallel.
+     *
+     * @param records DataRecords to be converted
+     * @param targetMetadataFormat MetadataFormat to which the given DataRecords are converted
+     * @param targetFileFormat FileFormat to which the given DataRecords are converted
+     * @param mappingFile mapping file; if null, the schema converter module uses a default mapping
+     * @return The results of the conversion as DataRecords, in the order of the given records.
+     */
+    List<DataRecord> convert(Iterable<DataRecord> records, MetadataFormat targetMetadataFormat,
+                             FileFormat targetFileFormat, File mappingFile) throws IOException;
+
     /**
      * Check and return whether the current SchemaConverter supports the given MetadataFormat as a target format or not.
      *
@@ -12,6 +12,8 @@
 package org.kitodo.api.validation.longtermpreservation;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
 
 import org.kitodo.api.validation.ValidationInterface;
 import org.kitodo.api.validation.ValidationResult;
@@ -30,4 +32,16 @@ public interface LongTermPreservationValidationInterface extends ValidationInter
      */
     ValidationResult validate(URI fileUri, FileType fileType);
 
+    /**
+     * Validates several files for long-term preservation, for example all
+     * images of a folder.
+     *
+     * @param fileUris
+     *            The uris to the images, which should be validated.
+     * @param fileType
+     *            The fileType of the images at the given paths.
+     * @return The validation results by uri, in the order of the given uris.
+     */
+    Map<URI, ValidationResult> validate(Collection<URI> fileUris, FileType fileType);
+
 }
@@ -0,0 +1,227 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * The authorities of a user, compiled for fast checks. Each authority title is
+ * given a number once, and the authorities of the user are kept as bit sets
+ * of these numbers: one for the global authorities and one for each client.
+ * Checking an authority is a lookup in a bit set and does not create any
+ * objects. Instances are immutable, a changed user needs a new authority set.
+ */
+public final class AuthoritySet {
+
+    private static final String GLOBAL_SUFFIX = "_GLOBAL";
+    private static final String CLIENT_INFIX = "_CLIENT_";
+
+    /**
+     * Numbers of the authority titles, shared by all authority sets. The map
+     * is not evicted, because the bit sets refer to the numbers. Its size is
+     * limited by the number of authorities: the titles come from the granted
+     * authorities, which are the authorities in the database, and from the
+     * titles checked by the code and the pages, which are constants.
+     */
+    private static final Map<String, Integer> indexes = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextIndex = new AtomicInteger();
+
+    /**
+     * Maximum number of parsed authority lists to keep. The lists are
+     * constants in the pages, so this is not reached in practice. Further
+     * lists are parsed on every call.
+     */
+    private static final int MAX_PARSED_TITLE_LISTS = 1000;
+
+    /**
+     * Numbers of the authority titles of comma-separated authority lists, as
+     * they are used in the pages.
+     */
+    private static final Map<String, int[]> parsedTitleLists = new ConcurrentHashMap<>();
+
+    /**
+     * An authority set without any authorities.
+     */
+    public static final AuthoritySet EMPTY = new AuthoritySet(Collections.emptyList());
+
+    private final BitSet global = new BitSet();
+    private final int[] clientIds;
+    private final BitSet[] clientAuthorities;
+    private final List<GrantedAuthority> authorities;
+
+    /**
+     * Compiles an authority set from granted authorities. The granted
+     * authorities are expected in the form {@code title_GLOBAL} or
+     * {@code title_CLIENT_id}. Authorities of other forms, such as
+     * {@code title_CLIENT_ANY}, are kept in the list of granted authorities,
+     * but cannot be checked by title.
+     *
+     * @param grantedAuthorities
+     *            granted authorities of the user
+     */
+    public AuthoritySet(Collection<? extends GrantedAuthority> grantedAuthorities) {
+        Map<Integer, BitSet> byClient = new TreeMap<>();
+        for (GrantedAuthority grantedAuthority : grantedAuthorities) {
+            String authority = grantedAuthority.getAuthority();
+            if (Objects.isNull(authority)) {
+                continue;
+            }
+            if (authority.endsWith(GLOBAL_SUFFIX)) {
+                global.set(indexOf(authority.substring(0, authority.length() - GLOBAL_SUFFIX.length())));
+                continue;
+            }
+            int infix = authority.lastIndexOf(CLIENT_INFIX);
+            if (infix > 0) {
+                String title = authority.substring(0, infix);
+                String client = authority.substring(infix + CLIENT_INFIX.length());
+                try {
+                    byClient.computeIfAbsent(Integer.valueOf(client), id -> new BitSet()).set(indexOf(title));
+                } catch (NumberFormatException e) {
+                    // not an authority of a client, only kept in the list
+                }
+            }
+        }
+        this.clientIds = byClient.keySet().stream().mapToInt(Integer::intValue).toArray();
+        this.clientAuthorities = byClient.values().toArray(new BitSet[0]);
+        this.authorities = Collections.unmodifiableList(new ArrayList<>(grantedAuthorities));
+    }
+
+    /**
+     * Returns the number of an authority title. Titles without a number are
+     * given the next free one.
+     *
+     * @param title
+     *            the authority title
+     * @return the number of the authority title
+     */
+    public static int indexOf(String title) {
+        Integer index = indexes.get(title);
+        if (Objects.nonNull(index)) {
+            return index;
+        }
+        return indexes.computeIfAbsent(title, key -> nextIndex.getAndIncrement());
+    }
+
+    /**
+     * Returns the numbers of the authority titles of a comma-separated list
+     * of authority titles. White space is ignored. Lists are parsed only once.
+     *
+     * @param authorityTitles
+     *            the authority titles separated with commas e.g. "authority1,
+     *            authority2, authority3"
+     * @return the numbers of the authority titles
+     */
+    public static int[] parse(String authorityTitles) {
+        int[] parsed = parsedTitleLists.get(authorityTitles);
+        if (Objects.nonNull(parsed)) {
+            return parsed;
+        }
+        if (parsedTitleLists.size() >= MAX_PARSED_TITLE_LISTS) {
+            return parseTitleList(authorityTitles);
+        }
+        return parsedTitleLists.computeIfAbsent(authorityTitles, AuthoritySet::parseTitleList);
+    }
+
+    private static int[] parseTitleList(String authorityTitles) {
+        return Arrays.stream(authorityTitles.replaceAll("\\s+", "").split(",")).mapToInt(AuthoritySet::indexOf)
+                .toArray();
+    }
+
+    /**
+     * Returns the granted authorities this set was compiled from.
+     *
+     * @return the granted authorities, unmodifiable
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Checks whether the user has an authority globally.
+     *
+     * @param index
+     *            number of the authority title
+     * @return whether the user has the authority globally
+     */
+    public boolean hasGlobal(int index) {
+        return global.get(index);
+    }
+
+    /**
+     * Checks whether the user has an authority for a client.
+     *
+     * @param index
+     *            number of the authority title
+     * @param clientId
+     *            id of the client
+     * @return whether the user has the authority for the client
+     */
+    public boolean hasForClient(int index, int clientId) {
+        BitSet client = getClientAuthorities(clientId);
+        return Objects.nonNull(client) && client.get(index);
+    }
+
+    /**
+     * Checks whether the user has any of several authorities globally.
+     *
+     * @param indexes
+     *            numbers of the authority titles
+     * @return whether the user has any of the authorities globally
+     */
+    public boolean hasAnyGlobal(int[] indexes) {
+        for (int index : indexes) {
+            if (global.get(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the user has any of several authorities for a client.
+     *
+     * @param indexes
+     *            numbers of the authority titles
+     * @param clientId
+     *            id of the client
+     * @return whether the user has any of the authorities for the client
+     */
+    public boolean hasAnyForClient(int[] indexes, int clientId) {
+        BitSet client = getClientAuthorities(clientId);
+        if (Objects.isNull(client)) {
+            return false;
+        }
+        for (int index : indexes) {
+            if (client.get(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BitSet getClientAuthorities(int clientId) {
+        int position = Arrays.binarySearch(clientIds, clientId);
+        return position < 0 ? null : clientAuthorities[position];
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.security;
+
+/**
+ * A principal which keeps the compiled authorities of its user. If the
+ * principal of the current authentication is an authority set provider, its
+ * authority set is used for the checks of {@link SecurityAccess}.
+ */
+@FunctionalInterface
+public interface AuthoritySetProvider {
+
+    /**
+     * Returns the compiled authorities of the user.
+     *
+     * @return the authority set
+     */
+    AuthoritySet getAuthoritySet();
+}
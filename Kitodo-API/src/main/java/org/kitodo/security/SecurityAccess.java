@@ -11,31 +11,53 @@
 
 package org.kitodo.security;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Objects;
 
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 /**
  * If module wants to use own roles, it needs to extend this class. Currently it
  * is usable only for global roles as client id is not available to modules.
+ *
+ * <p>
+ * The checks use the {@link AuthoritySet} of the current user. If the
+ * principal does not provide one, it is compiled from the granted authorities
+ * of the authentication and kept until the authentication changes.
  */
 public abstract class SecurityAccess {
 
-    private static final String GLOBAL_IDENTIFIER = "GLOBAL";
-    private static final String CLIENT_IDENTIFIER = "CLIENT";
+    /**
+     * The authority set compiled for the last authentication whose principal
+     * is not an {@link AuthoritySetProvider}.
+     */
+    private volatile CompiledAuthentication lastCompiled;
+
+    private static final class CompiledAuthentication {
+        private final Authentication authentication;
+        private final AuthoritySet authoritySet;
 
-    private Collection<? extends GrantedAuthority> getAuthoritiesOfCurrentAuthentication() {
+        private CompiledAuthentication(Authentication authentication) {
+            this.authentication = authentication;
+            this.authoritySet = new AuthoritySet(authentication.getAuthorities());
+        }
+    }
+
+    private AuthoritySet getAuthoritySetOfCurrentAuthentication() {
         Authentication authentication = getCurrentAuthentication();
-        if (Objects.nonNull(authentication)) {
-            return authentication.getAuthorities();
-        } else {
-            return new ArrayList<>();
+        if (Objects.isNull(authentication)) {
+            return AuthoritySet.EMPTY;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthoritySetProvider) {
+            return ((AuthoritySetProvider) principal).getAuthoritySet();
         }
+        CompiledAuthentication compiled = lastCompiled;
+        if (Objects.isNull(compiled) || compiled.authentication != authentication) {
+            compiled = new CompiledAuthentication(authentication);
+            lastCompiled = compiled;
+        }
+        return compiled.authoritySet;
     }
 
     /**
@@ -54,7 +76,7 @@ public abstract class SecurityAccess {
      * @return true if the current user has the specified authority
      */
     public boolean hasAuthorityGlobal(String authorityTitle) {
-        return hasAuthority(authorityTitle + "_" + GLOBAL_IDENTIFIER);
+        return getAuthoritySetOfCurrentAuthentication().hasGlobal(AuthoritySet.indexOf(authorityTitle));
     }
 
     /**
@@ -65,8 +87,8 @@ public abstract class SecurityAccess {
      * @return true if the current user has the specified authority
      */
     public boolean hasAuthorityForClient(String authorityTitle) {
-        String clientAuthority = authorityTitle + "_" + CLIENT_IDENTIFIER + "_" + getClientId();
-        return hasAuthority(clientAuthority);
+        return getAuthoritySetOfCurrentAuthentication().hasForClient(AuthoritySet.indexOf(authorityTitle),
+            getClientId());
     }
 
     /**
@@ -90,13 +112,7 @@ public abstract class SecurityAccess {
      *         globally
      */
     public boolean hasAnyAuthorityGlobal(String authorityTitles) {
-        String[] authorityTitlesArray = getStringArray(authorityTitles);
-        for (String authorityTitle : authorityTitlesArray) {
-            if (hasAuthorityGlobal(authorityTitle)) {
-                return true;
-            }
-        }
-        return false;
+        return getAuthoritySetOfCurrentAuthentication().hasAnyGlobal(AuthoritySet.parse(authorityTitles));
     }
 
     /**
@@ -107,13 +123,8 @@ public abstract class SecurityAccess {
      * @return true if the current user has the specified authority
      */
     public boolean hasAnyAuthorityForClient(String authorityTitles) {
-        String[] authorityTitlesArray = getStringArray(authorityTitles);
-        for (String authorityTitle : authorityTitlesArray) {
-            if (hasAuthorityForClient(authorityTitle)) {
-                return true;
-            }
-        }
-        return false;
+        return getAuthoritySetOfCurrentAuthentication().hasAnyForClient(AuthoritySet.parse(authorityTitles),
+            getClientId());
     }
 
     /**
@@ -138,15 +149,4 @@ public abstract class SecurityAccess {
     protected Authentication getCurrentAuthentication() {
         return SecurityContextHolder.getContext().getAuthentication();
     }
-
-    private boolean hasAuthority(String authorityTitle) {
-        SimpleGrantedAuthority authority = new SimpleGrantedAuthority(authorityTitle);
-        Collection<? extends GrantedAuthority> authorities = getAuthoritiesOfCurrentAuthentication();
-        return authorities.contains(authority);
-    }
-
-    private String[] getStringArray(String values) {
-        // remove white spaces and split values
-        return values.replaceAll("\\s+", "").split(",");
-    }
 }
@@ -0,0 +1,92 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+public class SecurityAccessTest {
+
+    private static final List<GrantedAuthority> AUTHORITIES = Arrays.asList(
+        new SimpleGrantedAuthority("viewAllProcesses_GLOBAL"), new SimpleGrantedAuthority("editProcess_CLIENT_ANY"),
+        new SimpleGrantedAuthority("editProcess_CLIENT_1"), new SimpleGrantedAuthority("viewTask_CLIENT_2"),
+        new SimpleGrantedAuthority("ROLE_USER"));
+
+    private static SecurityAccess createSecurityAccess(Authentication authentication, int clientId) {
+        return new SecurityAccess() {
+            @Override
+            public int getClientId() {
+                return clientId;
+            }
+
+            @Override
+            protected Authentication getCurrentAuthentication() {
+                return authentication;
+            }
+        };
+    }
+
+    @Test
+    public void shouldCheckAuthoritiesGloballyAndForClient() {
+        SecurityAccess securityAccess = createSecurityAccess(
+            new UsernamePasswordAuthenticationToken("user", null, AUTHORITIES), 1);
+
+        assertTrue("Global authority was not found!", securityAccess.hasAuthorityGlobal("viewAllProcesses"));
+        assertFalse("Client authority was found globally!", securityAccess.hasAuthorityGlobal("editProcess"));
+        assertTrue("Client authority was not found!", securityAccess.hasAuthorityForClient("editProcess"));
+        assertFalse("Authority of other client was found!", securityAccess.hasAuthorityForClient("viewTask"));
+        assertFalse("Unknown authority was found!", securityAccess.hasAuthorityGlobalOrForClient("deleteProcess"));
+    }
+
+    @Test
+    public void shouldCheckListsOfAuthorities() {
+        SecurityAccess securityAccess = createSecurityAccess(
+            new UsernamePasswordAuthenticationToken("user", null, AUTHORITIES), 2);
+
+        assertTrue("Authority of list was not found!", securityAccess.hasAnyAuthorityForClient("editTask, viewTask"));
+        assertFalse("Authority of list was found!", securityAccess.hasAnyAuthorityGlobal("editTask,\n viewTask"));
+        assertTrue("Authority of list was not found!",
+            securityAccess.hasAnyAuthorityGlobalOrForClient("deleteProcess, viewAllProcesses"));
+        assertSame("List of authorities was parsed again!", AuthoritySet.parse("editTask, viewTask"),
+            AuthoritySet.parse("editTask, viewTask"));
+    }
+
+    @Test
+    public void shouldUseAuthoritySetOfPrincipal() {
+        AuthoritySet authoritySet = new AuthoritySet(AUTHORITIES);
+        AuthoritySetProvider principal = () -> authoritySet;
+        SecurityAccess securityAccess = createSecurityAccess(
+            new UsernamePasswordAuthenticationToken(principal, null), 1);
+
+        assertTrue("Authority of principal was not found!", securityAccess.hasAuthorityForClient("editProcess"));
+        assertEquals("Authorities were not kept!", AUTHORITIES, authoritySet.getAuthorities());
+    }
+
+    @Test
+    public void shouldNotFindAuthoritiesWithoutAuthentication() {
+        SecurityAccess securityAccess = createSecurityAccess(null, 1);
+
+        assertFalse("Authority was found without authentication!",
+            securityAccess.hasAuthorityGlobal("viewAllProcesses"));
+    }
+}
@@ -12,25 +12,85 @@
 package org.kitodo.command;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.command.CommandInterface;
 import org.kitodo.api.command.CommandResult;
+import org.kitodo.config.KitodoConfig;
+import org.kitodo.config.enums.ParameterCommand;
 
 public class Command implements CommandInterface {
 
     private static final Logger logger = LogManager.getLogger(Command.class);
-    private static final String CHARSET = "UTF-8";
     private static final String MESSAGE = "Execution of Command ";
+    private static final int DEFAULT_MAX_OUTPUT_LINES = 1000;
+    private static final int DEFAULT_MAX_PARALLEL = 20;
+    private static final int DEFAULT_TIMEOUT_SEC = 0;
 
     /**
-     * Method executes a script.
+     * Time to wait for the rest of the output after the process has ended.
+     */
+    private static final long OUTPUT_GRACE_MILLIS = 5000;
+
+    /**
+     * Threads reading the output of the running commands.
+     */
+    private static final ExecutorService outputReaders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "command-output-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Limits the number of commands running at the same time, for all
+     * instances of this class.
+     */
+    private static volatile Semaphore commandSlots;
+
+    private final long timeoutMillis;
+    private final int maxOutputLines;
+
+    /**
+     * Creates a command runner with the timeout and output limit from the
+     * configuration.
+     */
+    public Command() {
+        this(TimeUnit.SECONDS.toMillis(KitodoConfig.getIntParameter(ParameterCommand.TIMEOUT_SEC, DEFAULT_TIMEOUT_SEC)),
+            KitodoConfig.getIntParameter(ParameterCommand.MAX_OUTPUT_LINES, DEFAULT_MAX_OUTPUT_LINES));
+    }
+
+    /**
+     * Creates a command runner.
+     *
+     * @param timeoutMillis
+     *            time after which a command is killed, in milliseconds, 0
+     *            for no timeout
+     * @param maxOutputLines
+     *            maximum number of lines kept of standard output and of
+     *            standard error each
+     */
+    Command(long timeoutMillis, int maxOutputLines) {
+        this.timeoutMillis = timeoutMillis;
+        this.maxOutputLines = maxOutputLines;
+    }
+
+    /**
+     * Method executes a script. Standard output and standard error are read
+     * at the same time while the script runs, and only their last lines are
+     * kept. If the script does not finish in time, it is killed together with
+     * the processes it started.
      *
      * @param id
      *            The id, to identify the command and it's results.
@@ -41,27 +101,22 @@ public class Command implements CommandInterface {
     @Override
     public CommandResult runCommand(Integer id, String command) {
         CommandResult commandResult;
-        Process process;
         String[] callSequence = command.split("[\\r\\n\\s]+");
+        Semaphore slots = getCommandSlots();
 
         try {
-            process = new ProcessBuilder(callSequence).start();
-            try (InputStream inputStream = process.getInputStream();
-                    InputStream errorInputStream = process.getErrorStream()) {
-                List<String> outputMessage = inputStreamArrayToList(inputStream);
-                List<String> errorMessage = inputStreamArrayToList(errorInputStream);
-                int errCode = process.waitFor();
-
-                outputMessage.addAll(errorMessage);
-
-                commandResult = new CommandResult(id, command, errCode == 0, outputMessage);
-                if (!commandResult.isSuccessful()) {
-                    logger.error(MESSAGE + commandResult.getId() + " " + commandResult.getCommand()
-                            + " failed!: " + commandResult.getMessages());
-                } else {
-                    logger.info(MESSAGE + commandResult.getId() + " " + commandResult.getCommand()
-                        + " was successful!: " + commandResult.getMessages());
-                }
+            slots.acquire();
+            try {
+                commandResult = execute(id, command, callSequence);
+            } finally {
+                slots.release();
+            }
+            if (!commandResult.isSuccessful()) {
+                logger.error(MESSAGE + commandResult.getId() + " " + commandResult.getCommand()
+                        + " failed!: " + commandResult.getMessages());
+            } else {
+                logger.info(MESSAGE + commandResult.getId() + " " + commandResult.getCommand()
+                    + " was successful!: " + commandResult.getMessages());
             }
         } catch (InterruptedException e) {
             commandResult = new CommandResult(id, command, false, Collections.singletonList(e.getMessage()));
@@ -80,22 +135,81 @@ public class Command implements CommandInterface {
         return commandResult;
     }
 
+    private CommandResult execute(Integer id, String command, String[] callSequence)
+            throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(callSequence).start();
+        process.getOutputStream().close();
+        OutputBuffer outputMessage = new OutputBuffer(process.getInputStream(), maxOutputLines);
+        OutputBuffer errorMessage = new OutputBuffer(process.getErrorStream(), maxOutputLines);
+        Future<?> outputReader = outputReaders.submit(outputMessage);
+        Future<?> errorReader = outputReaders.submit(errorMessage);
+
+        final boolean finished = waitFor(process);
+        awaitOutput(outputReader);
+        awaitOutput(errorReader);
+
+        List<String> messages = outputMessage.getLines();
+        messages.addAll(errorMessage.getLines());
+        if (!finished) {
+            messages.add("Killed after a timeout of " + TimeUnit.MILLISECONDS.toSeconds(timeoutMillis) + " seconds");
+            return new CommandResult(id, command, false, messages);
+        }
+        return new CommandResult(id, command, process.exitValue() == 0, messages);
+    }
+
     /**
-     * The method reads an InputStream and returns it as a ArrayList.
+     * Waits until the process has ended or the timeout has passed. If the
+     * process does not end in time, or the waiting thread is interrupted, the
+     * process is killed together with the processes it started.
      *
-     * @param inputStream
-     *            The Stream to convert.
-     * @return A ArrayList holding the single lines.
+     * @return whether the process has ended in time
      */
-    private static ArrayList<String> inputStreamArrayToList(InputStream inputStream) {
-        ArrayList<String> list = new ArrayList<>();
+    private boolean waitFor(Process process) throws InterruptedException {
+        boolean finished;
+        try {
+            if (timeoutMillis > 0) {
+                finished = process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS);
+            } else {
+                process.waitFor();
+                finished = true;
+            }
+        } catch (InterruptedException e) {
+            ProcessTree.destroy(process);
+            throw e;
+        }
+        if (!finished) {
+            ProcessTree.destroy(process);
+        }
+        return finished;
+    }
 
-        try (Scanner inputLines = new Scanner(inputStream, CHARSET)) {
-            while (inputLines.hasNextLine()) {
-                String myLine = inputLines.nextLine();
-                list.add(myLine);
+    /**
+     * Waits until an output stream was read to its end. If a program started
+     * in the background still holds the stream open, the output read so far
+     * is used, and the reader ends when the stream is closed.
+     */
+    private static void awaitOutput(Future<?> outputReader) throws InterruptedException {
+        try {
+            outputReader.get(OUTPUT_GRACE_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            logger.warn("Reading the command output failed", e.getCause());
+        } catch (TimeoutException e) {
+            logger.warn("Command output is still open after the command has ended");
+        }
+    }
+
+    private static Semaphore getCommandSlots() {
+        Semaphore slots = commandSlots;
+        if (Objects.isNull(slots)) {
+            synchronized (Command.class) {
+                slots = commandSlots;
+                if (Objects.isNull(slots)) {
+                    slots = new Semaphore(Math.max(1,
+                        KitodoConfig.getIntParameter(ParameterCommand.MAX_PARALLEL, DEFAULT_MAX_PARALLEL)), true);
+                    commandSlots = slots;
+                }
             }
         }
-        return list;
+        return slots;
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.command;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Reads the output of a process and keeps its last lines. The stream is read
+ * to its end, so that the process never blocks on a full pipe, but only a
+ * fixed number of lines is kept, so that a process writing a lot cannot
+ * exhaust the memory.
+ */
+class OutputBuffer implements Runnable {
+
+    private final InputStream inputStream;
+    private final int maxLines;
+    private final Deque<String> lines = new ArrayDeque<>();
+    private long droppedLines;
+
+    /**
+     * Creates a new output buffer.
+     *
+     * @param inputStream
+     *            stream to read
+     * @param maxLines
+     *            maximum number of lines kept
+     */
+    OutputBuffer(InputStream inputStream, int maxLines) {
+        this.inputStream = inputStream;
+        this.maxLines = Math.max(1, maxLines);
+    }
+
+    /**
+     * Reads the stream to its end. Lines which cannot be read any more, for
+     * example because the process was killed, are silently missing.
+     */
+    @Override
+    public void run() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                add(line);
+            }
+        } catch (IOException e) {
+            add(e.getMessage());
+        }
+    }
+
+    private synchronized void add(String line) {
+        if (lines.size() == maxLines) {
+            lines.removeFirst();
+            droppedLines++;
+        }
+        lines.addLast(line);
+    }
+
+    /**
+     * Returns the lines kept so far. If lines were dropped, the first line
+     * says how many.
+     *
+     * @return the last lines of the output
+     */
+    synchronized List<String> getLines() {
+        List<String> result = new ArrayList<>(lines.size() + 1);
+        if (droppedLines > 0) {
+            result.add("[" + droppedLines + " lines omitted]");
+        }
+        result.addAll(lines);
+        return result;
+    }
+}
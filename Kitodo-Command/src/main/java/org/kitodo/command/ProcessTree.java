@@ -0,0 +1,121 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.command;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Kills a process together with the processes it started. Scripts often call
+ * other programs, which would keep running and keep the output pipes open if
+ * only the script itself was killed. Java 8 cannot list the children of a
+ * process, so the tools of the operating system are used.
+ */
+class ProcessTree {
+
+    private static final Logger logger = LogManager.getLogger(ProcessTree.class);
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private ProcessTree() {
+    }
+
+    /**
+     * Kills a process and all its descendants.
+     *
+     * @param process
+     *            process to kill
+     * @throws InterruptedException
+     *             if the thread was interrupted while waiting for the
+     *             operating system tools
+     */
+    static void destroy(Process process) throws InterruptedException {
+        Optional<Long> pid = getPid(process);
+        try {
+            if (pid.isPresent() && WINDOWS) {
+                run("taskkill", "/F", "/T", "/PID", pid.get().toString());
+            } else if (pid.isPresent()) {
+                List<String> descendants = new ArrayList<>();
+                collectDescendants(pid.get().toString(), descendants);
+                process.destroyForcibly();
+                if (!descendants.isEmpty()) {
+                    List<String> kill = new ArrayList<>();
+                    kill.add("kill");
+                    kill.add("-KILL");
+                    kill.addAll(descendants);
+                    run(kill.toArray(new String[0]));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot kill descendants of process {}: {}", pid.orElse(null), e.getMessage());
+        }
+        process.destroyForcibly();
+    }
+
+    /**
+     * Returns the operating system’s ID of a process. Uses
+     * {@code Process.pid()} where available, the private field of the UNIX
+     * implementation on Java 8.
+     */
+    private static Optional<Long> getPid(Process process) {
+        try {
+            return Optional.of((Long) Process.class.getMethod("pid").invoke(process));
+        } catch (NoSuchMethodException e) {
+            try {
+                Field pidField = process.getClass().getDeclaredField("pid");
+                pidField.setAccessible(true);
+                return Optional.of(pidField.getLong(process));
+            } catch (ReflectiveOperationException | RuntimeException unavailable) {
+                return Optional.empty();
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Collects the IDs of all descendants of a process, children first.
+     */
+    private static void collectDescendants(String pid, List<String> descendants)
+            throws IOException, InterruptedException {
+        for (String child : run("pgrep", "-P", pid)) {
+            descendants.add(child);
+            collectDescendants(child, descendants);
+        }
+    }
+
+    private static List<String> run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.trim().isEmpty()) {
+                    output.add(line.trim());
+                }
+            }
+        }
+        process.waitFor();
+        return output;
+    }
+}
@@ -12,6 +12,8 @@
 package org.kitodo.command;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
@@ -22,6 +24,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -39,6 +42,10 @@ public class CommandTest {
             System.getProperty("user.dir") + "/src/test/resources/working_script_with_parameters.sh");
     private static File notWorkingScript = new File(
             System.getProperty("user.dir") + "/src/test/resources/not_working_script.sh");
+    private static File longRunningScript = new File(
+            System.getProperty("user.dir") + "/src/test/resources/long_running_script.sh");
+    private static File chattyScript = new File(
+            System.getProperty("user.dir") + "/src/test/resources/chatty_script.sh");
 
     @BeforeClass
     public static void setUp() throws IOException {
@@ -52,6 +59,8 @@ public class CommandTest {
             setFileExecuteable(workingScript);
             setFileExecuteable(workingScriptWithParameters);
             setFileExecuteable(notWorkingScript);
+            setFileExecuteable(longRunningScript);
+            setFileExecuteable(chattyScript);
         }
 
     }
@@ -62,6 +71,8 @@ public class CommandTest {
             setFileNotExecuteable(workingScript);
             setFileNotExecuteable(workingScriptWithParameters);
             setFileNotExecuteable(notWorkingScript);
+            setFileNotExecuteable(longRunningScript);
+            setFileNotExecuteable(chattyScript);
         }
     }
 
@@ -142,6 +153,35 @@ public class CommandTest {
                 commandResult.getMessages());
     }
 
+    @Test
+    public void shouldKillCommandAfterTimeout() {
+        Command command = new Command(1000, 10);
+
+        String commandString = "src/test/resources/long_running_script" + scriptExtension;
+        long start = System.nanoTime();
+        CommandResult commandResult = command.runCommand(processId, commandString);
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+
+        assertFalse("Command running too long should not be successful", commandResult.isSuccessful());
+        assertTrue("Command running too long was not killed in time", seconds < 30);
+        assertEquals("Timeout message is missing", "Killed after a timeout of 1 seconds",
+            commandResult.getMessages().get(commandResult.getMessages().size() - 1));
+    }
+
+    @Test
+    public void shouldKeepOnlyLastLinesOfOutput() {
+        Command command = new Command(0, 10);
+
+        String commandString = "src/test/resources/chatty_script" + scriptExtension;
+        CommandResult commandResult = command.runCommand(processId, commandString);
+        List<String> messages = commandResult.getMessages();
+
+        assertTrue("Command writing much output should be successful", commandResult.isSuccessful());
+        assertTrue("Too many lines of output were kept", messages.size() <= 22);
+        assertTrue("Number of omitted lines is missing", messages.contains("[99990 lines omitted]"));
+        assertEquals("Last line of output is missing", "line 100000", messages.get(messages.size() - 1));
+    }
+
     private static void setFileExecuteable(File file) throws IOException {
         Set<PosixFilePermission> perms = new HashSet<>();
 
@@ -15,13 +15,16 @@ import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.datatype.DatatypeConfigurationException;
 
+import org.kitodo.dataformat.jaxb.JaxbContextPool;
 import org.kitodo.dataformat.metskitodo.Mets;
 
 /**
@@ -30,15 +33,29 @@ import org.kitodo.dataformat.metskitodo.Mets;
 public class MetsKitodoWriter {
 
     private MetsKitodoObjectFactory objectFactory = new MetsKitodoObjectFactory();
-    private JAXBContext jaxbMetsContext;
-    private Marshaller jaxbMetsMarshaller;
+    private static final String NAMESPACE_PREFIX_MAPPER = "com.sun.xml.bind.namespacePrefixMapper";
 
     /**
-     * The Constructor which instantiates the JAXB context of MetsKitodo format.
+     * Marshaller properties. They are constant, so that the pooled marshallers
+     * can be reused. The namespace prefix mapper has no state and is shared.
+     */
+    private static final Map<String, Object> WRITE_PROPERTIES = Collections.singletonMap(NAMESPACE_PREFIX_MAPPER,
+        new MetsKitodoNamespacePrefixMapper());
+    private static final Map<String, Object> FORMATTED_WRITE_PROPERTIES = createFormattedWriteProperties();
+
+    private JaxbContextPool jaxbMetsContextPool;
+
+    /**
+     * The Constructor which gets the shared JAXB context of MetsKitodo format.
      */
     public MetsKitodoWriter() throws JAXBException {
-        jaxbMetsContext = JAXBContext.newInstance(Mets.class);
-        jaxbMetsMarshaller = jaxbMetsContext.createMarshaller();
+        jaxbMetsContextPool = JaxbContextPool.of(Mets.class);
+    }
+
+    private static Map<String, Object> createFormattedWriteProperties() {
+        Map<String, Object> properties = new HashMap<>(WRITE_PROPERTIES);
+        properties.put(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+        return Collections.unmodifiableMap(properties);
     }
 
     /**
@@ -64,16 +81,19 @@ public class MetsKitodoWriter {
      *            The mets object.
      */
     public String writeSerializedToString(Mets mets) throws JAXBException {
-        jaxbMetsMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-        jaxbMetsMarshaller.setProperty("com.sun.xml.bind.namespacePrefixMapper", new MetsKitodoNamespacePrefixMapper());
         StringWriter stringWriter = new StringWriter();
-        jaxbMetsMarshaller.marshal(mets, stringWriter);
+        jaxbMetsContextPool.marshal(FORMATTED_WRITE_PROPERTIES, marshaller -> {
+            marshaller.marshal(mets, stringWriter);
+            return null;
+        });
         return stringWriter.toString();
     }
 
     private void writeMetsData(Mets mets, URI file) throws JAXBException {
-        jaxbMetsMarshaller.setProperty("com.sun.xml.bind.namespacePrefixMapper", new MetsKitodoNamespacePrefixMapper());
-        jaxbMetsMarshaller.marshal(mets, new File(file));
+        jaxbMetsContextPool.marshal(WRITE_PROPERTIES, marshaller -> {
+            marshaller.marshal(mets, new File(file));
+            return null;
+        });
     }
 
     private void insertMetsHeaderIfNotExist(Mets mets) throws DatatypeConfigurationException, IOException {
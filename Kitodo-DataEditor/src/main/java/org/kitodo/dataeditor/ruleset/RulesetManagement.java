@@ -15,14 +15,16 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale.LanguageRange;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,6 +35,7 @@ import org.kitodo.dataeditor.ruleset.xml.Division;
 import org.kitodo.dataeditor.ruleset.xml.Key;
 import org.kitodo.dataeditor.ruleset.xml.Namespace;
 import org.kitodo.dataeditor.ruleset.xml.Ruleset;
+import org.kitodo.dataformat.jaxb.JaxbContextPool;
 
 /**
  * This class provides the functionality of the rule set.
@@ -43,11 +46,44 @@ public class RulesetManagement implements RulesetManagementInterface {
      */
     private static final Logger logger = LogManager.getLogger(RulesetManagement.class);
 
+    /**
+     * Rulesets already read, by their files. Rulesets are not modified after
+     * reading, so they can be shared by all ruleset managements.
+     */
+    private static final Map<File, CachedRuleset> rulesetCache = new ConcurrentHashMap<>();
+
     /**
      * The ruleset.
      */
     private Ruleset ruleset;
 
+    /**
+     * A ruleset read, with the modification times of the files it was read
+     * from.
+     */
+    private static class CachedRuleset {
+        private final Ruleset ruleset;
+        private final Map<File, Long> lastModified;
+
+        CachedRuleset(Ruleset ruleset, Map<File, Long> lastModified) {
+            this.ruleset = ruleset;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * Returns whether none of the files has been changed, created or
+         * deleted since reading.
+         */
+        boolean isUpToDate() {
+            for (Entry<File, Long> entry : lastModified.entrySet()) {
+                if (entry.getKey().lastModified() != entry.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Returns the acquisition levels defined in this rule set. This function
      * was not parallelized to repeatedly serve JSF in the same order when the
@@ -99,7 +135,8 @@ public class RulesetManagement implements RulesetManagementInterface {
     }
 
     /**
-     * Loads a ruleset from a file.
+     * Loads a ruleset from a file. The file is only read if it or one of its
+     * namespace files has been changed since it was last read.
      *
      * @param rulesetFile
      *            file to load
@@ -108,8 +145,18 @@ public class RulesetManagement implements RulesetManagementInterface {
      */
     @Override
     public void load(File rulesetFile) throws IOException {
-        this.ruleset = read(Ruleset.class, rulesetFile);
-        initializeNamespaces(ruleset.getKeys(), rulesetFile.getParentFile());
+        File file = rulesetFile.getAbsoluteFile();
+        CachedRuleset cachedRuleset = rulesetCache.get(file);
+        if (Objects.nonNull(cachedRuleset) && cachedRuleset.isUpToDate()) {
+            this.ruleset = cachedRuleset.ruleset;
+            return;
+        }
+        Map<File, Long> lastModified = new HashMap<>();
+        lastModified.put(file, file.lastModified());
+        Ruleset readRuleset = read(Ruleset.class, file);
+        initializeNamespaces(readRuleset.getKeys(), file.getParentFile(), lastModified);
+        rulesetCache.put(file, new CachedRuleset(readRuleset, lastModified));
+        this.ruleset = readRuleset;
     }
 
     /**
@@ -119,14 +166,18 @@ public class RulesetManagement implements RulesetManagementInterface {
      *            the keys of the rule set (are processed recursively)
      * @param home
      *            the ruleset directory
+     * @param lastModified
+     *            in this map, the modification times of the namespace files
+     *            are returned, files not found with zero
      * @throws IOException
      *             if I/O fails
      */
-    private void initializeNamespaces(List<Key> keys, File home) throws IOException {
+    private void initializeNamespaces(List<Key> keys, File home, Map<File, Long> lastModified) throws IOException {
         for (Key key : keys) {
             if (key.getNamespace().isPresent()) {
                 String namespaceURI = key.getNamespace().get();
                 File file = new File(home, namespaceURI.replaceFirst("^.*?/([^/]*?)[#/]?$", "$1").concat(".xml"));
+                lastModified.put(file, file.lastModified());
                 if (file.isFile()) {
                     try {
                         Namespace namespace = read(Namespace.class, file);
@@ -147,7 +198,7 @@ public class RulesetManagement implements RulesetManagementInterface {
                 }
             }
             // is applied recursively to the sub-elements
-            initializeNamespaces(key.getKeys(), home);
+            initializeNamespaces(key.getKeys(), home, lastModified);
         }
     }
 
@@ -169,8 +220,7 @@ public class RulesetManagement implements RulesetManagementInterface {
     @SuppressWarnings("unchecked")
     private <T> T read(Class<T> objectClass, File inputFile) throws IOException {
         try {
-            Unmarshaller reader = JAXBContext.newInstance(objectClass).createUnmarshaller();
-            return (T) reader.unmarshal(inputFile);
+            return (T) JaxbContextPool.of(objectClass).unmarshal(reader -> reader.unmarshal(inputFile));
         } catch (JAXBException e) {
             /*
              * If the parser ran on an IOException, we can throw it out
@@ -13,6 +13,7 @@ package org.kitodo.dataeditor.ruleset.xml;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale.LanguageRange;
@@ -24,6 +25,7 @@ import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 import org.kitodo.dataeditor.ruleset.Labeled;
 import org.kitodo.dataeditor.ruleset.Settings;
@@ -65,6 +67,56 @@ public class Ruleset {
     @XmlElement(name = "editing", namespace = "http://names.kitodo.org/ruleset/v2")
     private EditingElement editing;
 
+    /**
+     * Lookup tables for divisions, keys and restrictions by their IDs. They are
+     * built on first access, because the ruleset is filled by JAXB after
+     * construction.
+     */
+    @XmlTransient
+    private volatile LookupTables lookupTables;
+
+    /**
+     * Divisions, keys and restriction rules by their IDs. Where IDs are used
+     * twice, the first occurrence is kept, as by searching the lists.
+     */
+    private static class LookupTables {
+        private final Map<String, Division> divisions = new HashMap<>();
+        private final Map<String, Key> keys = new HashMap<>();
+        private final Map<String, Rule> divisionRestrictions = new HashMap<>();
+        private final Map<String, Rule> keyRestrictions = new HashMap<>();
+
+        LookupTables(DeclarationElement declaration, List<Rule> restrictions) {
+            for (Division division : declaration.getDivisions()) {
+                divisions.putIfAbsent(division.getId(), division);
+            }
+            for (Division division : declaration.getDivisions()) {
+                for (Division subdivision : division.getDivisions()) {
+                    divisions.putIfAbsent(subdivision.getId(), subdivision);
+                }
+            }
+            for (Key key : declaration.getKeys()) {
+                keys.putIfAbsent(key.getId(), key);
+            }
+            for (Rule rule : restrictions) {
+                if (rule.getDivision().isPresent()) {
+                    divisionRestrictions.putIfAbsent(rule.getDivision().get(), rule);
+                }
+                if (rule.getKey().isPresent()) {
+                    keyRestrictions.putIfAbsent(rule.getKey().get(), rule);
+                }
+            }
+        }
+    }
+
+    private LookupTables getLookupTables() {
+        LookupTables localReference = lookupTables;
+        if (Objects.isNull(localReference)) {
+            localReference = new LookupTables(declaration, restrictions);
+            lookupTables = localReference;
+        }
+        return localReference;
+    }
+
     /**
      * Returns an acquisition stage by name.
      *
@@ -109,14 +161,7 @@ public class Ruleset {
      * @return the division, if there is one
      */
     public Optional<Division> getDivision(String id) {
-        Optional<Division> optionalDivision = declaration.getDivisions().parallelStream()
-                .filter(division -> division.getId().equals(id)).findFirst();
-        if (optionalDivision.isPresent()) {
-            return optionalDivision;
-        } else {
-            return this.getDivisions().parallelStream().flatMap(division -> division.getDivisions().parallelStream())
-                    .filter(division -> division.getId().equals(id)).findFirst();
-        }
+        return Optional.ofNullable(getLookupTables().divisions.get(id));
     }
 
     /**
@@ -127,8 +172,7 @@ public class Ruleset {
      * @return the restriction rule if there is one
      */
     public Optional<Rule> getDivisionRestriction(String division) {
-        return restrictions.parallelStream().filter(rule -> division.equals(rule.getDivision().orElse(null)))
-                .findFirst();
+        return Optional.ofNullable(getLookupTables().divisionRestrictions.get(division));
     }
 
     /**
@@ -171,7 +215,7 @@ public class Ruleset {
      * @return a key, if any
      */
     public Optional<Key> getKey(String keyId) {
-        return declaration.getKeys().parallelStream().filter(key -> keyId.equals(key.getId())).findAny();
+        return Optional.ofNullable(getLookupTables().keys.get(keyId));
     }
 
     /**
@@ -182,7 +226,7 @@ public class Ruleset {
      * @return the restriction on a key, if any
      */
     public Optional<Rule> getKeyRestriction(String keyId) {
-        return restrictions.parallelStream().filter(rule -> keyId.equals(rule.getKey().orElse(null))).findAny();
+        return Optional.ofNullable(getLookupTables().keyRestrictions.get(keyId));
     }
 
     /**
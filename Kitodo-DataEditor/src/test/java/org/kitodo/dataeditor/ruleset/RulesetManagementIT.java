@@ -24,6 +24,8 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Month;
 import java.time.MonthDay;
 import java.util.Arrays;
@@ -190,6 +192,29 @@ public class RulesetManagementIT {
         }
     }
 
+    /**
+     * Checks that a ruleset is read again after its file has been changed,
+     * although the ruleset management keeps read rulesets.
+     */
+    @Test
+    public void testChangedRulesetIsReadAgain() throws IOException {
+        File rulesetFile = File.createTempFile("testChangedRulesetIsReadAgain", ".xml");
+        try {
+            writeRuleset(rulesetFile, "book");
+            RulesetManagement underTest = new RulesetManagement();
+            underTest.load(rulesetFile);
+            assertThat(underTest.getStructuralElements(ENGL).keySet(), contains("book"));
+
+            writeRuleset(rulesetFile, "manuscript");
+            assertTrue(rulesetFile.setLastModified(rulesetFile.lastModified() + 2000));
+            RulesetManagement reloaded = new RulesetManagement();
+            reloaded.load(rulesetFile);
+            assertThat(reloaded.getStructuralElements(ENGL).keySet(), contains("manuscript"));
+        } finally {
+            Files.delete(rulesetFile.toPath());
+        }
+    }
+
     /**
      * Checks if the options are returned correctly. On the one hand there is
      * the translation, on the other hand the DisplayMode has to be set to
@@ -1044,4 +1069,18 @@ public class RulesetManagementIT {
                 .map(metadataViewWithValuesInterface -> metadataViewWithValuesInterface.getMetadata().get().getId())
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Writes a ruleset with one division to a file.
+     *
+     * @param file
+     *            file to write
+     * @param division
+     *            ID of the division
+     */
+    private void writeRuleset(File file, String division) throws IOException {
+        String ruleset = "<ruleset xmlns=\"http://names.kitodo.org/ruleset/v2\"><declaration><division id=\""
+                + division + "\"><label>" + division + "</label></division></declaration></ruleset>";
+        Files.write(file.toPath(), ruleset.getBytes(StandardCharsets.UTF_8));
+    }
 }
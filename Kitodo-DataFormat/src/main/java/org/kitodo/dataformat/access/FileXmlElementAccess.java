@@ -31,7 +31,6 @@ import org.kitodo.dataformat.metskitodo.FileType;
 import org.kitodo.dataformat.metskitodo.MdSecType;
 import org.kitodo.dataformat.metskitodo.Mets;
 import org.kitodo.dataformat.metskitodo.MetsType;
-import org.kitodo.dataformat.metskitodo.MetsType.FileSec.FileGrp;
 
 public class FileXmlElementAccess {
 
@@ -55,12 +54,12 @@ public class FileXmlElementAccess {
      * @param div
      *            METS {@code <div>} element to be evaluated
      * @param mets
-     *            the Mets structure is searched for corresponding uses
-     * @param useXmlAttributeAccess
-     *            list of media variants from which the media variant for the
-     *            given use is taken
+     *            the Mets structure is searched for administrative metadata
+     * @param fileMediaVariants
+     *            media variants of the files, by the file elements of the file
+     *            section
      */
-    FileXmlElementAccess(DivType div, Mets mets, Map<String, MediaVariant> useXmlAttributeAccess) {
+    FileXmlElementAccess(DivType div, Mets mets, Map<FileType, MediaVariant> fileMediaVariants) {
         this();
         mediaUnit.setDivId(div.getID());
         Map<MediaVariant, URI> mediaFiles = new HashMap<>();
@@ -68,13 +67,7 @@ public class FileXmlElementAccess {
             Object fileId = fptr.getFILEID();
             if (fileId instanceof FileType) {
                 FileType file = (FileType) fileId;
-                MediaVariant mediaVariant = null;
-                for (FileGrp fileGrp : mets.getFileSec().getFileGrp()) {
-                    if (fileGrp.getFile().contains(file)) {
-                        mediaVariant = useXmlAttributeAccess.get(fileGrp.getUSE());
-                        break;
-                    }
-                }
+                MediaVariant mediaVariant = fileMediaVariants.get(file);
                 if (Objects.isNull(mediaVariant)) {
                     throw new IllegalArgumentException("Corrupt file: <mets:fptr> not referenced in <mets:fileGrp>");
                 }
@@ -15,9 +15,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.util.Collections;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -28,13 +30,14 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.kitodo.api.dataformat.MediaUnit;
@@ -42,6 +45,7 @@ import org.kitodo.api.dataformat.MediaVariant;
 import org.kitodo.api.dataformat.ProcessingNote;
 import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.api.dataformat.mets.MetsXmlElementAccessInterface;
+import org.kitodo.dataformat.jaxb.JaxbContextPool;
 import org.kitodo.dataformat.metskitodo.DivType;
 import org.kitodo.dataformat.metskitodo.FileType;
 import org.kitodo.dataformat.metskitodo.Mets;
@@ -81,6 +85,11 @@ import org.kitodo.dataformat.metskitodo.StructMapType;
  * @see "https://www.zvdd.de/fileadmin/AGSDD-Redaktion/METS_Anwendungsprofil_2.0.pdf"
  */
 public class MetsXmlElementAccess implements MetsXmlElementAccessInterface {
+    private static final Map<String, Object> FORMATTED_OUTPUT = Collections
+            .singletonMap(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+
+    private static final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
     /**
      * The data object of this mets XML element access.
      */
@@ -116,22 +125,16 @@ public class MetsXmlElementAccess implements MetsXmlElementAccessInterface {
                 workpiece.setId(metsDocumentID.getID());
             }
         }
-        FileSec fileSec = mets.getFileSec();
-        Map<String, MediaVariant> useXmlAttributeAccess = fileSec != null
-                ? fileSec.getFileGrp().parallelStream().map(UseXmlAttributeAccess::new)
-                        .collect(Collectors.toMap(
-                            newUseXmlAttributeAccess -> newUseXmlAttributeAccess.getMediaVariant().getUse(),
-                            UseXmlAttributeAccess::getMediaVariant))
-                : new HashMap<>();
+        Map<FileType, MediaVariant> fileMediaVariants = getFileMediaVariants(mets.getFileSec());
         Optional<StructMapType> optionalPhysicalStructMap = getStructMapsStreamByType(mets, "PHYSICAL").findFirst();
         Map<String, FileXmlElementAccess> divIDsToMediaUnits = new HashMap<>();
         if (optionalPhysicalStructMap.isPresent()) {
             DivType div = optionalPhysicalStructMap.get().getDiv();
-            FileXmlElementAccess fileXmlElementAccess = new FileXmlElementAccess(div, mets, useXmlAttributeAccess);
+            FileXmlElementAccess fileXmlElementAccess = new FileXmlElementAccess(div, mets, fileMediaVariants);
             MediaUnit mediaUnit = fileXmlElementAccess.getMediaUnit();
             workpiece.setMediaUnit(mediaUnit);
             divIDsToMediaUnits.put(div.getID(), fileXmlElementAccess);
-            readMeadiaUnitsTreeRecursive(div, mets, useXmlAttributeAccess, mediaUnit, divIDsToMediaUnits);
+            readMeadiaUnitsTreeRecursive(div, mets, fileMediaVariants, mediaUnit, divIDsToMediaUnits);
         }
         if (mets.getStructLink() == null) {
             mets.setStructLink(new StructLink());
@@ -149,15 +152,40 @@ public class MetsXmlElementAccess implements MetsXmlElementAccessInterface {
                 .iterator().next());
     }
 
-    private void readMeadiaUnitsTreeRecursive(DivType div, Mets mets, Map<String, MediaVariant> useXmlAttributeAccess,
+    /**
+     * Determines the media variant of each file in the file section.
+     *
+     * @param fileSec
+     *            file section of the METS XML structure, may be {@code null}
+     * @return map of files to their media variants
+     */
+    private static Map<FileType, MediaVariant> getFileMediaVariants(FileSec fileSec) {
+        Map<FileType, MediaVariant> fileMediaVariants = new IdentityHashMap<>();
+        if (Objects.nonNull(fileSec)) {
+            Map<String, MediaVariant> useXmlAttributeAccess = fileSec.getFileGrp().parallelStream()
+                    .map(UseXmlAttributeAccess::new)
+                    .collect(Collectors.toMap(
+                        newUseXmlAttributeAccess -> newUseXmlAttributeAccess.getMediaVariant().getUse(),
+                        UseXmlAttributeAccess::getMediaVariant));
+            for (FileGrp fileGrp : fileSec.getFileGrp()) {
+                MediaVariant mediaVariant = useXmlAttributeAccess.get(fileGrp.getUSE());
+                for (FileType file : fileGrp.getFile()) {
+                    fileMediaVariants.putIfAbsent(file, mediaVariant);
+                }
+            }
+        }
+        return fileMediaVariants;
+    }
+
+    private void readMeadiaUnitsTreeRecursive(DivType div, Mets mets, Map<FileType, MediaVariant> fileMediaVariants,
             MediaUnit mediaUnit, Map<String, FileXmlElementAccess> divIDsToMediaUnits) {
 
         for (DivType child : div.getDiv()) {
-            FileXmlElementAccess fileXmlElementAccess = new FileXmlElementAccess(child, mets, useXmlAttributeAccess);
+            FileXmlElementAccess fileXmlElementAccess = new FileXmlElementAccess(child, mets, fileMediaVariants);
             MediaUnit childMediaUnit = fileXmlElementAccess.getMediaUnit();
             mediaUnit.getChildren().add(childMediaUnit);
             divIDsToMediaUnits.put(child.getID(), fileXmlElementAccess);
-            readMeadiaUnitsTreeRecursive(child, mets, useXmlAttributeAccess, childMediaUnit, divIDsToMediaUnits);
+            readMeadiaUnitsTreeRecursive(child, mets, fileMediaVariants, childMediaUnit, divIDsToMediaUnits);
         }
     }
 
@@ -165,6 +193,13 @@ public class MetsXmlElementAccess implements MetsXmlElementAccessInterface {
         this.workpiece = workpiece;
     }
 
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
     /**
      * The method helps to read {@code <structMap>}s from METS.
      *
@@ -179,7 +214,8 @@ public class MetsXmlElementAccess implements MetsXmlElementAccessInterface {
     }
 
     /**
-     * Reads METS from an InputStream. JAXB is used to parse the XML.
+     * Reads METS from an InputStream. The XML is parsed as a stream and bound
+     * to Java objects by a pooled JAXB unmarshaller.
      *
      * @param in
      *            InputStream to read from
@@ -187,10 +223,16 @@ public class MetsXmlElementAccess implements MetsXmlElementAccessInterface {
     @Override
     public Workpiece read(InputStream in) throws IOException {
         try {
-            JAXBContext jc = JAXBContext.newInstance(Mets.class);
-            Unmarshaller unmarshaller = jc.createUnmarshaller();
-            Mets mets = (Mets) unmarshaller.unmarshal(in);
-            return new MetsXmlElementAccess(mets).workpiece;
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+            try {
+                Mets mets = (Mets) JaxbContextPool.of(Mets.class).unmarshal(unmarshaller -> unmarshaller
+                        .unmarshal(reader));
+                return new MetsXmlElementAccess(mets).workpiece;
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
         } catch (JAXBException e) {
             if (e.getCause() instanceof IOException) {
                 throw (IOException) e.getCause();
@@ -212,10 +254,11 @@ public class MetsXmlElementAccess implements MetsXmlElementAccessInterface {
     @Override
     public void save(Workpiece workpiece, OutputStream out) throws IOException {
         try {
-            JAXBContext context = JAXBContext.newInstance(Mets.class);
-            Marshaller marshal = context.createMarshaller();
-            marshal.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            marshal.marshal(new MetsXmlElementAccess(workpiece).toMets(), out);
+            Mets mets = new MetsXmlElementAccess(workpiece).toMets();
+            JaxbContextPool.of(Mets.class).marshal(FORMATTED_OUTPUT, marshaller -> {
+                marshaller.marshal(mets, out);
+                return null;
+            });
         } catch (JAXBException e) {
             if (e.getCause() instanceof IOException) {
                 throw (IOException) e.getCause();
@@ -0,0 +1,181 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.dataformat.jaxb;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * Shared Java XML binding context of one class, with pooled marshallers and
+ * unmarshallers. Creating a context for a large schema such as METS is
+ * expensive, but the context is thread-safe, so it is created only once per
+ * class. Marshallers and unmarshallers are not thread-safe. They are borrowed
+ * from the pool for one call and returned afterwards. Marshallers are pooled
+ * by their properties, because the previous value of a property cannot always
+ * be restored.
+ */
+public class JaxbContextPool {
+
+    /**
+     * An action on a borrowed marshaller or unmarshaller.
+     *
+     * @param <T>
+     *            type of marshaller or unmarshaller
+     * @param <R>
+     *            type of result
+     */
+    @FunctionalInterface
+    public interface JaxbAction<T, R> {
+        /**
+         * Performs this action.
+         *
+         * @param t
+         *            marshaller or unmarshaller, which must not be used after
+         *            the action returned
+         * @return the result of the action
+         * @throws JAXBException
+         *             if the marshaller or unmarshaller fails
+         */
+        R perform(T t) throws JAXBException;
+    }
+
+    /**
+     * Maximal number of different property sets for which marshallers are
+     * pooled. Marshallers with other properties are discarded after use.
+     */
+    private static final int MAX_MARSHALLER_CONFIGURATIONS = 16;
+
+    private static final Map<Class<?>, JaxbContextPool> pools = new ConcurrentHashMap<>();
+
+    private final JAXBContext context;
+    private final Map<Map<String, Object>, Queue<Marshaller>> marshallers = new ConcurrentHashMap<>();
+    private final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
+
+    private JaxbContextPool(JAXBContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Returns the pool of the given class. The context is created on first
+     * access.
+     *
+     * @param type
+     *            root class of the Java XML binding
+     * @return the pool of the class
+     * @throws JAXBException
+     *             if the context cannot be created
+     */
+    public static JaxbContextPool of(Class<?> type) throws JAXBException {
+        JaxbContextPool pool = pools.get(type);
+        if (Objects.isNull(pool)) {
+            pool = new JaxbContextPool(JAXBContext.newInstance(type));
+            JaxbContextPool concurrentPool = pools.putIfAbsent(type, pool);
+            if (Objects.nonNull(concurrentPool)) {
+                pool = concurrentPool;
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the shared context.
+     *
+     * @return the context
+     */
+    public JAXBContext getContext() {
+        return context;
+    }
+
+    /**
+     * Performs an action with a pooled unmarshaller.
+     *
+     * @param action
+     *            action to perform, usually calling one of the
+     *            {@code unmarshal()} methods
+     * @return the result of the action
+     * @throws JAXBException
+     *             if unmarshalling fails
+     */
+    public <R> R unmarshal(JaxbAction<Unmarshaller, R> action) throws JAXBException {
+        Unmarshaller unmarshaller = unmarshallers.poll();
+        if (Objects.isNull(unmarshaller)) {
+            unmarshaller = context.createUnmarshaller();
+        }
+        try {
+            return action.perform(unmarshaller);
+        } finally {
+            unmarshallers.offer(unmarshaller);
+        }
+    }
+
+    /**
+     * Performs an action with a pooled marshaller. Marshallers are pooled by
+     * their properties: a marshaller is only lent to callers which pass equal
+     * properties, so its properties are set only once. Callers should
+     * therefore pass constant property values.
+     *
+     * @param properties
+     *            properties of the marshaller, may be empty
+     * @param action
+     *            action to perform, usually calling one of the
+     *            {@code marshal()} methods
+     * @return the result of the action
+     * @throws JAXBException
+     *             if marshalling fails
+     */
+    public <R> R marshal(Map<String, Object> properties, JaxbAction<Marshaller, R> action) throws JAXBException {
+        Queue<Marshaller> pool = getMarshallerPool(properties);
+        Marshaller marshaller = Objects.nonNull(pool) ? pool.poll() : null;
+        if (Objects.isNull(marshaller)) {
+            marshaller = context.createMarshaller();
+            for (Entry<String, Object> property : properties.entrySet()) {
+                marshaller.setProperty(property.getKey(), property.getValue());
+            }
+        }
+        try {
+            return action.perform(marshaller);
+        } finally {
+            if (Objects.nonNull(pool)) {
+                returnMarshaller(marshaller, pool);
+            }
+        }
+    }
+
+    private Queue<Marshaller> getMarshallerPool(Map<String, Object> properties) {
+        Queue<Marshaller> pool = marshallers.get(properties);
+        if (Objects.isNull(pool) && marshallers.size() < MAX_MARSHALLER_CONFIGURATIONS) {
+            pool = marshallers.computeIfAbsent(Collections.unmodifiableMap(new HashMap<>(properties)),
+                key -> new ConcurrentLinkedQueue<>());
+        }
+        return pool;
+    }
+
+    private static void returnMarshaller(Marshaller marshaller, Queue<Marshaller> pool) {
+        try {
+            marshaller.setListener(null);
+            pool.offer(marshaller);
+        } catch (RuntimeException e) {
+            // the marshaller cannot be reset, so it is discarded
+        }
+    }
+}
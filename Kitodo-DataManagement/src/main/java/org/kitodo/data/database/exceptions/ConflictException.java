@@ -0,0 +1,27 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.exceptions;
+
+/**
+ * Thrown if an object could not be written to the database, because it was
+ * changed or deleted concurrently by another session.
+ */
+public class ConflictException extends DAOException {
+
+    public ConflictException(Exception e) {
+        super(e);
+    }
+
+    public ConflictException(String string) {
+        super(string);
+    }
+}
@@ -12,17 +12,29 @@
 package org.kitodo.data.database.persistence;
 
 import java.io.Serializable;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PersistenceException;
+import javax.persistence.PessimisticLockException;
+
 import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.NonUniqueObjectException;
 import org.hibernate.Session;
+import org.hibernate.StaleStateException;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 import org.kitodo.data.database.beans.BaseBean;
+import org.kitodo.data.database.enums.IndexAction;
+import org.kitodo.data.database.exceptions.ConflictException;
 import org.kitodo.data.database.exceptions.DAOException;
 
 /**
@@ -30,8 +42,6 @@ import org.kitodo.data.database.exceptions.DAOException;
  */
 public abstract class BaseDAO<T extends BaseBean> implements Serializable {
 
-    private static final Object lockObject = new Object();
-
     /**
      * Retrieves a BaseBean identified by the given id from the database.
      *
@@ -72,6 +82,82 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
      */
     public abstract List<T> getAllNotIndexed(int offset, int size) throws DAOException;
 
+    /**
+     * Retrieves BaseBean objects with ids in given range, ordered by id. In
+     * contrast to {@link #getAll(int, int)} the database doesn't have to skip
+     * all rows before the requested page, so this method should be used to page
+     * through large tables: the id of the last returned object is the lower
+     * bound of the next page.
+     *
+     * @param afterId
+     *            exclusive lower bound of the ids
+     * @param toId
+     *            inclusive upper bound of the ids
+     * @param size
+     *            amount of results
+     * @return constrained list of persisted beans
+     */
+    public List<T> getAllInIdRange(int afterId, int toId, int size) throws DAOException {
+        return retrieveObjectsInIdRange("", afterId, toId, size);
+    }
+
+    /**
+     * Retrieves not indexed BaseBean objects with ids in given range, ordered
+     * by id. See {@link #getAllInIdRange(int, int, int)}.
+     *
+     * @param afterId
+     *            exclusive lower bound of the ids
+     * @param toId
+     *            inclusive upper bound of the ids
+     * @param size
+     *            amount of results
+     * @return constrained list of persisted beans
+     */
+    public List<T> getAllNotIndexedInIdRange(int afterId, int toId, int size) throws DAOException {
+        return retrieveObjectsInIdRange("AND (indexAction = 'INDEX' OR indexAction IS NULL) ", afterId, toId, size);
+    }
+
+    /**
+     * Retrieves the ids of not indexed BaseBean objects, ordered by id. Only
+     * the ids are selected, the objects are not loaded.
+     *
+     * @param afterId
+     *            exclusive lower bound of the ids
+     * @param size
+     *            amount of results
+     * @return ids of not indexed beans
+     */
+    @SuppressWarnings("unchecked")
+    public List<Integer> getNotIndexedIds(int afterId, int size) throws DAOException {
+        try (Session session = HibernateUtil.getSession()) {
+            Query q = session.createQuery("SELECT id FROM " + getBeanClass().getSimpleName()
+                    + " WHERE id > :afterId AND (indexAction = 'INDEX' OR indexAction IS NULL) ORDER BY id ASC");
+            q.setParameter("afterId", afterId);
+            q.setMaxResults(size);
+            return q.list();
+        } catch (HibernateException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    /**
+     * Get the smallest id of all BaseBean objects.
+     *
+     * @return smallest id or 0 if table is empty
+     */
+    public int getMinId() throws DAOException {
+        return retrieveId("SELECT MIN(id) FROM ");
+    }
+
+    /**
+     * Get the highest id of all BaseBean objects.
+     *
+     * @return highest id or 0 if table is empty
+     */
+    public int getMaxId() throws DAOException {
+        return retrieveId("SELECT MAX(id) FROM ");
+    }
+
     /**
      * Saves a BaseBean object to the database.
      *
@@ -104,18 +190,35 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
      * @throws DAOException
      *             if the current session can't be retrieved or an exception is
      *             thrown while performing the rollback
+     * @throws ConflictException
+     *             if the bean was deleted concurrently
      */
     public void remove(T baseBean) throws DAOException {
-        if (baseBean.getId() != null) {
+        Session unitOfWork = HibernateUtil.getUnitOfWorkSession();
+        if (baseBean.getId() != null && Objects.nonNull(unitOfWork)) {
+            try {
+                unitOfWork.delete(unitOfWork.merge(baseBean));
+                unitOfWork.flush();
+            } catch (StaleStateException | OptimisticLockException e) {
+                throw new ConflictException(e);
+            } catch (PersistenceException e) {
+                throw new DAOException(e);
+            }
+        } else if (baseBean.getId() != null) {
             try (Session session = HibernateUtil.getSession()) {
                 Transaction transaction = session.beginTransaction();
-                synchronized (lockObject) {
+                try {
                     Object merged = session.merge(baseBean);
                     session.delete(merged);
                     session.flush();
                     transaction.commit();
+                } catch (PersistenceException e) {
+                    rollback(transaction);
+                    throw e;
                 }
-            } catch (HibernateException e) {
+            } catch (StaleStateException | OptimisticLockException e) {
+                throw new ConflictException(e);
+            } catch (PersistenceException e) {
                 throw new DAOException(e);
             }
         }
@@ -245,24 +348,101 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
      *            the id of the class type
      * @throws DAOException
      *             if a HibernateException is thrown
+     * @throws ConflictException
+     *             if the object doesn't exist or was deleted concurrently
      */
     @SuppressWarnings("unchecked")
     static void removeObject(Class cls, Integer id) throws DAOException {
+        Session unitOfWork = HibernateUtil.getUnitOfWorkSession();
+        if (Objects.nonNull(unitOfWork)) {
+            try {
+                Object object = unitOfWork.get(cls, id, new LockOptions(LockMode.PESSIMISTIC_WRITE));
+                if (Objects.isNull(object)) {
+                    throw new ConflictException(cls.getSimpleName() + " " + id + " cannot be found in database");
+                }
+                unitOfWork.delete(object);
+                unitOfWork.flush();
+                return;
+            } catch (StaleStateException | OptimisticLockException | PessimisticLockException e) {
+                throw new ConflictException(e);
+            } catch (PersistenceException e) {
+                throw new DAOException(e);
+            }
+        }
         try (Session session = HibernateUtil.getSession()) {
             Transaction transaction = session.beginTransaction();
-            synchronized (lockObject) {
-                Object object = session.load(cls, id);
+            try {
+                // the row lock serializes concurrent writers of this row only
+                Object object = session.get(cls, id, new LockOptions(LockMode.PESSIMISTIC_WRITE));
+                if (Objects.isNull(object)) {
+                    rollback(transaction);
+                    throw new ConflictException(cls.getSimpleName() + " " + id + " cannot be found in database");
+                }
                 session.delete(object);
                 session.flush();
                 transaction.commit();
+            } catch (PersistenceException e) {
+                rollback(transaction);
+                throw e;
+            }
+        } catch (StaleStateException | OptimisticLockException | PessimisticLockException e) {
+            throw new ConflictException(e);
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    /**
+     * Change the index action of the objects with the given ids, but only for
+     * rows which still have the expected index action. Rows which were
+     * modified in the meantime keep their index action. Expected index action
+     * INDEX also matches rows without index action.
+     *
+     * @param cls
+     *            the class type of the objects
+     * @param ids
+     *            the ids of the objects
+     * @param expected
+     *            index action which rows must have to be changed
+     * @param indexAction
+     *            new index action
+     * @return amount of changed rows
+     * @throws DAOException
+     *             if a HibernateException is thrown
+     */
+    public int updateIndexAction(Class<?> cls, List<Integer> ids, IndexAction expected, IndexAction indexAction)
+            throws DAOException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String condition = "indexAction = :expected";
+        if (expected == IndexAction.INDEX) {
+            condition = "(" + condition + " OR indexAction IS NULL)";
+        }
+        try (Session session = HibernateUtil.getSession()) {
+            Query query = session.createQuery("UPDATE " + cls.getSimpleName()
+                    + " SET indexAction = :indexAction WHERE id IN (:ids) AND " + condition);
+            query.setParameter("indexAction", indexAction);
+            query.setParameter("expected", expected);
+            query.setParameterList("ids", ids);
+            if (HibernateUtil.isUnitOfWorkActive()) {
+                return query.executeUpdate();
             }
+            Transaction transaction = session.beginTransaction();
+            int updated = query.executeUpdate();
+            transaction.commit();
+            return updated;
         } catch (HibernateException e) {
             throw new DAOException(e);
         }
     }
 
     /**
-     * Initialize child list of objects for given base bean.
+     * Initialize child list of objects for given base bean. During a unit of
+     * work, the list is read in its session, so that changes not yet committed
+     * are seen. The object is attached to that session without being written
+     * again. If the session already holds another copy of the object, that
+     * copy is evicted, since its changes were flushed when it was stored.
      *
      * @param object
      *            for update
@@ -270,6 +450,19 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
      *            child list for initialize
      */
     public void initialize(T object, List<? extends BaseBean> list) {
+        Session unitOfWork = HibernateUtil.getUnitOfWorkSession();
+        if (Objects.nonNull(unitOfWork)) {
+            if (!unitOfWork.contains(object)) {
+                try {
+                    unitOfWork.buildLockRequest(LockOptions.NONE).lock(object);
+                } catch (NonUniqueObjectException e) {
+                    unitOfWork.evict(unitOfWork.load(Hibernate.getClass(object), object.getId()));
+                    unitOfWork.buildLockRequest(LockOptions.NONE).lock(object);
+                }
+            }
+            Hibernate.initialize(list);
+            return;
+        }
         try (Session session = HibernateUtil.getSession()) {
             session.update(object);
             Hibernate.initialize(list);
@@ -318,6 +511,40 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private List<T> retrieveObjectsInIdRange(String condition, int afterId, int toId, int size)
+            throws DAOException {
+        try (Session session = HibernateUtil.getSession()) {
+            Query q = session.createQuery("FROM " + getBeanClass().getSimpleName()
+                    + " WHERE id > :afterId AND id <= :toId " + condition + "ORDER BY id ASC");
+            q.setParameter("afterId", afterId);
+            q.setParameter("toId", toId);
+            q.setMaxResults(size);
+            return q.list();
+        } catch (HibernateException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    private int retrieveId(String query) throws DAOException {
+        try (Session session = HibernateUtil.getSession()) {
+            Object id = session.createQuery(query + getBeanClass().getSimpleName()).uniqueResult();
+            return Objects.nonNull(id) ? (Integer) id : 0;
+        } catch (HibernateException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    /**
+     * Get the bean class of this DAO from its type parameter.
+     *
+     * @return bean class
+     */
+    public Class<?> getBeanClass() {
+        Type type = getClass().getGenericSuperclass();
+        return (Class<?>) ((ParameterizedType) type).getActualTypeArguments()[0];
+    }
+
     /**
      * Retrieve all objects fro given class.
      *
@@ -342,16 +569,39 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
      *            to persist
      */
     void storeObject(T object) throws DAOException {
+        Session unitOfWork = HibernateUtil.getUnitOfWorkSession();
+        if (Objects.nonNull(unitOfWork)) {
+            try {
+                if (object.getId() != null) {
+                    unitOfWork.merge(object);
+                } else {
+                    unitOfWork.save(object);
+                }
+                unitOfWork.flush();
+                return;
+            } catch (StaleStateException | OptimisticLockException e) {
+                throw new ConflictException(e);
+            } catch (PersistenceException e) {
+                throw new DAOException(e);
+            }
+        }
         try (Session session = HibernateUtil.getSession()) {
             Transaction transaction = session.beginTransaction();
-            if (object.getId() != null) {
-                session.merge(object);
-            } else {
-                session.save(object);
+            try {
+                if (object.getId() != null) {
+                    session.merge(object);
+                } else {
+                    session.save(object);
+                }
+                session.flush();
+                transaction.commit();
+            } catch (PersistenceException e) {
+                rollback(transaction);
+                throw e;
             }
-            session.flush();
-            transaction.commit();
-        } catch (HibernateException e) {
+        } catch (StaleStateException | OptimisticLockException e) {
+            throw new ConflictException(e);
+        } catch (PersistenceException e) {
             throw new DAOException(e);
         }
     }
@@ -363,18 +613,56 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
      *            of objects
      */
     void storeList(List<T> list) throws DAOException {
+        Session unitOfWork = HibernateUtil.getUnitOfWorkSession();
+        if (Objects.nonNull(unitOfWork)) {
+            try {
+                for (Object obj : list) {
+                    unitOfWork.saveOrUpdate(obj);
+                }
+                unitOfWork.flush();
+                return;
+            } catch (StaleStateException | OptimisticLockException e) {
+                throw new ConflictException(e);
+            } catch (RuntimeException e) {
+                throw new DAOException(e);
+            }
+        }
         try (Session session = HibernateUtil.getSession()) {
             Transaction transaction = session.beginTransaction();
-            for (Object obj : list) {
-                session.saveOrUpdate(obj);
+            try {
+                for (Object obj : list) {
+                    session.saveOrUpdate(obj);
+                }
+                session.flush();
+                transaction.commit();
+            } catch (RuntimeException e) {
+                rollback(transaction);
+                throw e;
             }
-            session.flush();
-            transaction.commit();
+        } catch (StaleStateException | OptimisticLockException e) {
+            throw new ConflictException(e);
         } catch (RuntimeException e) {
             throw new DAOException(e);
         }
     }
 
+    /**
+     * Roll back the given transaction, if it is still active. Failures of the
+     * rollback are ignored, as the original exception is more significant.
+     *
+     * @param transaction
+     *            to roll back
+     */
+    private static void rollback(Transaction transaction) {
+        try {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+        } catch (RuntimeException e) {
+            // the original exception is thrown by the caller
+        }
+    }
+
     /**
      * Evict object associated with the session.
      *
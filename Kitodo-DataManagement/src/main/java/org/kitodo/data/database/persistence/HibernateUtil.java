@@ -13,13 +13,18 @@ package org.kitodo.data.database.persistence;
 
 import java.util.Objects;
 
+import javax.persistence.PersistenceException;
+
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SessionDelegatorBaseImpl;
+import org.hibernate.engine.spi.SessionImplementor;
 
 /**
  * Current version of HibernateUtil.
@@ -29,6 +34,12 @@ public class HibernateUtil {
     private static SessionFactory sessionFactory;
     private static final ThreadLocal<Session> threadSession = new ThreadLocal<>();
 
+    /**
+     * Session of the unit of work of the current thread. All objects stored
+     * while a unit of work is active are written in its transaction.
+     */
+    private static final ThreadLocal<Session> unitOfWorkSession = new ThreadLocal<>();
+
     /**
      * Private constructor to hide the implicit public one.
      */
@@ -37,11 +48,23 @@ public class HibernateUtil {
     }
 
     /**
-     * Retrieves the current Session.
+     * Retrieves the current Session. While a unit of work is active, this is
+     * the session of the unit of work, so that objects are read in its
+     * transaction and the changes not yet committed are seen. Closing that
+     * session has no effect, it is closed at the end of the unit of work.
      *
      * @return Session
      */
     public static Session getSession() {
+        Session unitOfWork = unitOfWorkSession.get();
+        if (Objects.nonNull(unitOfWork)) {
+            return new SessionDelegatorBaseImpl((SessionImplementor) unitOfWork) {
+                @Override
+                public void close() {
+                    // the session is closed at the end of the unit of work
+                }
+            };
+        }
         Session session = threadSession.get();
 
         if (Objects.isNull(session)) {
@@ -59,6 +82,81 @@ public class HibernateUtil {
         return session;
     }
 
+    /**
+     * Starts a unit of work for the current thread. Until it is committed or
+     * rolled back, the DAOs read, store and remove objects in one transaction.
+     *
+     * @throws IllegalStateException
+     *             if a unit of work is already active
+     */
+    public static void beginUnitOfWork() {
+        if (Objects.nonNull(unitOfWorkSession.get())) {
+            throw new IllegalStateException("A unit of work is already active");
+        }
+        Session session = getSessionFactory().openSession();
+        session.beginTransaction();
+        unitOfWorkSession.set(session);
+    }
+
+    /**
+     * Returns whether a unit of work is active for the current thread.
+     *
+     * @return whether a unit of work is active
+     */
+    public static boolean isUnitOfWorkActive() {
+        return Objects.nonNull(unitOfWorkSession.get());
+    }
+
+    /**
+     * Commits the unit of work of the current thread.
+     *
+     * @throws PersistenceException
+     *             if the transaction cannot be committed
+     */
+    public static void commitUnitOfWork() {
+        Session session = unitOfWorkSession.get();
+        if (Objects.isNull(session)) {
+            throw new IllegalStateException("No unit of work is active");
+        }
+        try {
+            session.getTransaction().commit();
+        } finally {
+            unitOfWorkSession.remove();
+            session.close();
+        }
+    }
+
+    /**
+     * Rolls back the unit of work of the current thread, if there is one.
+     * Failures of the rollback are ignored.
+     */
+    public static void rollbackUnitOfWork() {
+        Session session = unitOfWorkSession.get();
+        if (Objects.isNull(session)) {
+            return;
+        }
+        try {
+            Transaction transaction = session.getTransaction();
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+        } catch (PersistenceException e) {
+            // the transaction is discarded with the session
+        } finally {
+            unitOfWorkSession.remove();
+            session.close();
+        }
+    }
+
+    /**
+     * Returns the session of the unit of work of the current thread.
+     *
+     * @return the session, or null if no unit of work is active
+     */
+    static Session getUnitOfWorkSession() {
+        return unitOfWorkSession.get();
+    }
+
     /**
      * Retrieve current SessionFactory.
      *
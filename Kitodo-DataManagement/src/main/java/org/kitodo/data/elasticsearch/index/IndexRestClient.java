@@ -83,7 +83,29 @@ public class IndexRestClient extends KitodoRestClient {
      */
     public void addDocument(String type, Map<String, Object> entity, Integer id, boolean forceRefresh)
             throws IOException, CustomResponseException {
-        IndexRequest indexRequest = new IndexRequest(this.index, type, String.valueOf(id)).source(entity);
+        addDocument(this.index, type, entity, id, forceRefresh);
+    }
+
+    /**
+     * Add document to given index. In contrast to
+     * {@link #addDocument(String, Map, Integer, boolean)} the index set at this
+     * client is not used, so concurrent callers don't depend on each other.
+     *
+     * @param index
+     *            name of the index
+     * @param type
+     *            for which request is performed
+     * @param entity
+     *            with document which is going to be indexed
+     * @param id
+     *            of document - equal to the id from table in database
+     * @param forceRefresh
+     *            force index refresh - if true, time of execution is longer but
+     *            object is right after that available for display
+     */
+    public void addDocument(String index, String type, Map<String, Object> entity, Integer id, boolean forceRefresh)
+            throws IOException, CustomResponseException {
+        IndexRequest indexRequest = new IndexRequest(index, type, String.valueOf(id)).source(entity);
         if (forceRefresh) {
             indexRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
         }
@@ -94,7 +116,7 @@ public class IndexRestClient extends KitodoRestClient {
 
     /**
      * Add list of documents to the index. This method will be used for add whole
-     * table to the index. It performs asynchronous request.
+     * table to the index. It performs synchronous request.
      *
      * @param type
      *            for which request is performed
@@ -102,15 +124,51 @@ public class IndexRestClient extends KitodoRestClient {
      *            list of json documents to the index
      */
     void addTypeSync(String type, Map<Integer, Map<String, Object>> documentsToIndex) throws CustomResponseException {
-        BulkRequest bulkRequest = prepareBulkRequest(type, documentsToIndex);
+        addTypeSync(this.index, type, documentsToIndex);
+    }
 
-        try {
-            BulkResponse bulkResponse = highLevelClient.bulk(bulkRequest);
-            if (bulkResponse.hasFailures()) {
-                throw new CustomResponseException(bulkResponse.buildFailureMessage());
+    /**
+     * Add list of documents to given index. It performs synchronous request.
+     *
+     * @param index
+     *            name of the index
+     * @param type
+     *            for which request is performed
+     * @param documentsToIndex
+     *            list of json documents to the index
+     */
+    void addTypeSync(String index, String type, Map<Integer, Map<String, Object>> documentsToIndex)
+            throws CustomResponseException {
+        performBulkRequest(prepareBulkRequest(index, type, documentsToIndex));
+    }
+
+    /**
+     * Add list of documents to given index. The documents are split into
+     * several bulk requests, so that no request becomes larger than the given
+     * amount of bytes. It performs synchronous requests.
+     *
+     * @param index
+     *            name of the index
+     * @param type
+     *            for which request is performed
+     * @param documentsToIndex
+     *            list of json documents to the index
+     * @param maxBytes
+     *            estimated maximal size of one bulk request
+     */
+    void addTypeSync(String index, String type, Map<Integer, Map<String, Object>> documentsToIndex, long maxBytes)
+            throws CustomResponseException {
+        BulkRequest bulkRequest = new BulkRequest();
+        for (Map.Entry<Integer, Map<String, Object>> entry : documentsToIndex.entrySet()) {
+            IndexRequest indexRequest = new IndexRequest(index, type, String.valueOf(entry.getKey()));
+            bulkRequest.add(indexRequest.source(entry.getValue()));
+            if (bulkRequest.estimatedSizeInBytes() >= maxBytes) {
+                performBulkRequest(bulkRequest);
+                bulkRequest = new BulkRequest();
             }
-        } catch (IOException e) {
-            throw new CustomResponseException(e);
+        }
+        if (bulkRequest.numberOfActions() > 0) {
+            performBulkRequest(bulkRequest);
         }
     }
 
@@ -124,7 +182,22 @@ public class IndexRestClient extends KitodoRestClient {
      *            list of json documents to the index
      */
     void addTypeAsync(String type, Map<Integer, Map<String, Object>> documentsToIndex) {
-        BulkRequest bulkRequest = prepareBulkRequest(type, documentsToIndex);
+        addTypeAsync(this.index, type, documentsToIndex);
+    }
+
+    /**
+     * Add list of documents to given index. It performs asynchronous request
+     * and waits for its response.
+     *
+     * @param index
+     *            name of the index
+     * @param type
+     *            for which request is performed
+     * @param documentsToIndex
+     *            list of json documents to the index
+     */
+    void addTypeAsync(String index, String type, Map<Integer, Map<String, Object>> documentsToIndex) {
+        BulkRequest bulkRequest = prepareBulkRequest(index, type, documentsToIndex);
 
         ResponseListener responseListener = new ResponseListener(type, documentsToIndex.size());
         highLevelClient.bulkAsync(bulkRequest, responseListener);
@@ -141,6 +214,17 @@ public class IndexRestClient extends KitodoRestClient {
         }
     }
 
+    private void performBulkRequest(BulkRequest bulkRequest) throws CustomResponseException {
+        try {
+            BulkResponse bulkResponse = highLevelClient.bulk(bulkRequest);
+            if (bulkResponse.hasFailures()) {
+                throw new CustomResponseException(bulkResponse.buildFailureMessage());
+            }
+        } catch (IOException e) {
+            throw new CustomResponseException(e);
+        }
+    }
+
     /**
      * Delete document from the index.
      *
@@ -153,7 +237,25 @@ public class IndexRestClient extends KitodoRestClient {
      *            object is right after that available for display
      */
     void deleteDocument(String type, Integer id, boolean forceRefresh) throws CustomResponseException, DataException {
-        DeleteRequest deleteRequest = new DeleteRequest(this.index, type, String.valueOf(id));
+        deleteDocument(this.index, type, id, forceRefresh);
+    }
+
+    /**
+     * Delete document from given index.
+     *
+     * @param index
+     *            name of the index
+     * @param type
+     *            for which request is performed
+     * @param id
+     *            of the document
+     * @param forceRefresh
+     *            force index refresh - if true, time of execution is longer but
+     *            object is right after that available for display
+     */
+    void deleteDocument(String index, String type, Integer id, boolean forceRefresh)
+            throws CustomResponseException, DataException {
+        DeleteRequest deleteRequest = new DeleteRequest(index, type, String.valueOf(id));
         if (forceRefresh) {
             deleteRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
         }
@@ -185,11 +287,12 @@ public class IndexRestClient extends KitodoRestClient {
         processStatusCode(indexResponse.getStatusLine());
     }
 
-    private BulkRequest prepareBulkRequest(String type, Map<Integer, Map<String, Object>> documentsToIndex) {
+    private BulkRequest prepareBulkRequest(String index, String type,
+            Map<Integer, Map<String, Object>> documentsToIndex) {
         BulkRequest bulkRequest = new BulkRequest();
 
         for (Map.Entry<Integer, Map<String, Object>> entry : documentsToIndex.entrySet()) {
-            IndexRequest indexRequest = new IndexRequest(this.index, type, String.valueOf(entry.getKey()));
+            IndexRequest indexRequest = new IndexRequest(index, type, String.valueOf(entry.getKey()));
             bulkRequest.add(indexRequest.source(entry.getValue()));
         }
 
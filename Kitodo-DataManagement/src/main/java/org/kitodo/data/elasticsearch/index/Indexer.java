@@ -15,8 +15,6 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
-import javax.ws.rs.HttpMethod;
-
 import org.kitodo.data.database.beans.BaseIndexedBean;
 import org.kitodo.data.elasticsearch.Index;
 import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
@@ -24,13 +22,12 @@ import org.kitodo.data.elasticsearch.index.type.BaseType;
 import org.kitodo.data.exceptions.DataException;
 
 /**
- * Implementation of Elastic Search Indexer for index package.
+ * Implementation of Elastic Search Indexer for index package. The indexer keeps
+ * no state between requests and passes its index name with every request to
+ * the shared rest client, so one instance can be used by several threads.
  */
 public class Indexer<T extends BaseIndexedBean, S extends BaseType> extends Index {
 
-    private String method;
-    private static final String INCORRECT_HTTP = "Incorrect HTTP method!";
-
     /**
      * Constructor for indexer with type names equal to table names.
      *
@@ -52,10 +49,10 @@ public class Indexer<T extends BaseIndexedBean, S extends BaseType> extends Inde
     }
 
     /**
-     * Perform request depending on given parameters of HTTP Method.
+     * Add or update document of given bean in the index.
      *
      * @param baseIndexedBean
-     *            bean object which will be added or deleted from index
+     *            bean object which will be added to index
      * @param baseType
      *            type on which will be called method createDocument()
      * @param forceRefresh
@@ -63,38 +60,25 @@ public class Indexer<T extends BaseIndexedBean, S extends BaseType> extends Inde
      *            object is right after that available for display
      */
     @SuppressWarnings("unchecked")
-    public void performSingleRequest(T baseIndexedBean, S baseType, boolean forceRefresh)
-            throws CustomResponseException, DataException, IOException {
-        IndexRestClient restClient = initiateRestClient();
-
-        if (method.equals(HttpMethod.PUT)) {
-            Map<String, Object> document = baseType.createDocument(baseIndexedBean);
-            restClient.addDocument(this.type, document, baseIndexedBean.getId(), forceRefresh);
-        } else if (method.equals(HttpMethod.DELETE)) {
-            restClient.deleteDocument(this.type, baseIndexedBean.getId(), forceRefresh);
-        } else {
-            throw new CustomResponseException(INCORRECT_HTTP);
-        }
-
+    public void performIndexRequest(T baseIndexedBean, S baseType, boolean forceRefresh)
+            throws CustomResponseException, IOException {
+        Map<String, Object> document = baseType.createDocument(baseIndexedBean);
+        IndexRestClient.getInstance().addDocument(this.index, this.type, document, baseIndexedBean.getId(),
+            forceRefresh);
     }
 
     /**
-     * Perform delete request depending on given id of the bean.
+     * Delete document with given id of the bean from the index.
      *
      * @param beanId
-     *            response from the server
+     *            id of the bean which document is removed
      * @param forceRefresh
      *            force index refresh - if true, time of execution is longer but
      *            object is right after that available for display
      */
-    public void performSingleRequest(Integer beanId, boolean forceRefresh) throws CustomResponseException, DataException {
-        IndexRestClient restClient = initiateRestClient();
-
-        if (method.equals(HttpMethod.DELETE)) {
-            restClient.deleteDocument(this.type, beanId, forceRefresh);
-        } else {
-            throw new CustomResponseException(INCORRECT_HTTP);
-        }
+    public void performDeleteRequest(Integer beanId, boolean forceRefresh)
+            throws CustomResponseException, DataException {
+        IndexRestClient.getInstance().deleteDocument(this.index, this.type, beanId, forceRefresh);
     }
 
     /**
@@ -106,44 +90,29 @@ public class Indexer<T extends BaseIndexedBean, S extends BaseType> extends Inde
      *            type on which will be called method createDocument()
      */
     @SuppressWarnings("unchecked")
-    public void performMultipleRequests(List<T> baseIndexedBeans, S baseType, boolean async) throws CustomResponseException {
-        IndexRestClient restClient = initiateRestClient();
-
-        if (method.equals(HttpMethod.PUT)) {
-            Map<Integer, Map<String, Object>> documents = baseType.createDocuments(baseIndexedBeans);
-            if (async) {
-                restClient.addTypeAsync(this.type, documents);
-            } else {
-                restClient.addTypeSync(this.type, documents);
-            }
+    public void performMultipleRequests(List<T> baseIndexedBeans, S baseType, boolean async)
+            throws CustomResponseException {
+        Map<Integer, Map<String, Object>> documents = baseType.createDocuments(baseIndexedBeans);
+        if (async) {
+            IndexRestClient.getInstance().addTypeAsync(this.index, this.type, documents);
         } else {
-            throw new CustomResponseException(INCORRECT_HTTP);
+            IndexRestClient.getInstance().addTypeSync(this.index, this.type, documents);
         }
     }
 
-    private IndexRestClient initiateRestClient() {
-        IndexRestClient restClient = IndexRestClient.getInstance();
-        restClient.setIndex(index);
-        return restClient;
-    }
-
     /**
-     * Get type of method which will be used during performing request.
+     * Add documents, which were already created from the beans, to the index.
+     * The documents are sent in synchronous bulk requests of limited size.
      *
-     * @return method for request
+     * @param documents
+     *            documents mapped by the ids of their beans
+     * @param maxBytes
+     *            estimated maximal size of one bulk request
      */
-    public String getMethod() {
-        return method;
-    }
-
-    /**
-     * Set up type of method which will be used during performing request.
-     *
-     * @param method
-     *            Determines if we want to add (update) or delete document - true
-     *            add, false delete
-     */
-    public void setMethod(String method) {
-        this.method = method;
+    public void performMultipleRequests(Map<Integer, Map<String, Object>> documents, long maxBytes)
+            throws CustomResponseException {
+        if (!documents.isEmpty()) {
+            IndexRestClient.getInstance().addTypeSync(this.index, this.type, documents, maxBytes);
+        }
     }
 }
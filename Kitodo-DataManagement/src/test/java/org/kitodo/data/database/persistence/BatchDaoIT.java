@@ -0,0 +1,142 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.persistence;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.kitodo.data.database.beans.Batch;
+import org.kitodo.data.database.exceptions.ConflictException;
+import org.kitodo.data.database.exceptions.DAOException;
+
+public class BatchDaoIT {
+
+    private static final int THREADS = 8;
+    private static final int BATCHES_PER_THREAD = 25;
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void shouldStoreAndRemoveInParallel() throws Exception {
+        BatchDAO batchDAO = new BatchDAO();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                String prefix = "thread_" + thread + "_";
+                workers.add(() -> {
+                    List<Batch> batches = new ArrayList<>();
+                    for (int i = 0; i < BATCHES_PER_THREAD; i++) {
+                        Batch batch = new Batch(prefix + i);
+                        batchDAO.save(batch);
+                        batches.add(batch);
+                    }
+                    for (int i = 0; i < batches.size(); i++) {
+                        if (i % 2 == 0) {
+                            batchDAO.remove(batches.get(i));
+                        } else {
+                            batchDAO.remove(batches.get(i).getId());
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(workers)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals("Objects were not removed!", 0, batchDAO.getAll().size());
+    }
+
+    @Test
+    public void shouldGetAllInIdRange() throws DAOException {
+        BatchDAO batchDAO = new BatchDAO();
+        List<Batch> batches = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Batch batch = new Batch("range_batch_" + i);
+            batchDAO.save(batch);
+            batches.add(batch);
+        }
+        int afterId = batches.get(0).getId();
+        int toId = batches.get(3).getId();
+
+        List<Batch> page = batchDAO.getAllInIdRange(afterId, toId, 2);
+        assertEquals("Incorrect size of first page!", 2, page.size());
+        assertEquals("Incorrect first object!", batches.get(1).getId(), page.get(0).getId());
+
+        page = batchDAO.getAllInIdRange(page.get(1).getId(), toId, 2);
+        assertEquals("Incorrect size of last page!", 1, page.size());
+        assertEquals("Incorrect last object!", batches.get(3).getId(), page.get(0).getId());
+        assertEquals("Incorrect max id!", (int) batches.get(4).getId(), batchDAO.getMaxId());
+
+        for (Batch batch : batches) {
+            batchDAO.remove(batch);
+        }
+    }
+
+    @Test
+    public void shouldStoreInUnitOfWork() throws DAOException {
+        BatchDAO batchDAO = new BatchDAO();
+        HibernateUtil.beginUnitOfWork();
+        Batch batch = new Batch("unit_of_work_batch");
+        try {
+            batchDAO.save(batch);
+            batch.setTitle("changed_unit_of_work_batch");
+            batchDAO.save(batch);
+            HibernateUtil.commitUnitOfWork();
+        } finally {
+            HibernateUtil.rollbackUnitOfWork();
+        }
+
+        assertEquals("Object was not committed!", "changed_unit_of_work_batch",
+            batchDAO.getById(batch.getId()).getTitle());
+        batchDAO.remove(batch);
+    }
+
+    @Test
+    public void shouldRollBackUnitOfWork() throws DAOException {
+        BatchDAO batchDAO = new BatchDAO();
+        int batchesBefore = batchDAO.getAll().size();
+        HibernateUtil.beginUnitOfWork();
+        try {
+            batchDAO.save(new Batch("rolled_back_batch"));
+        } finally {
+            HibernateUtil.rollbackUnitOfWork();
+        }
+
+        assertEquals("Object was not rolled back!", batchesBefore, batchDAO.getAll().size());
+    }
+
+    @Test
+    public void shouldThrowConflictExceptionForRemovedObject() throws DAOException {
+        BatchDAO batchDAO = new BatchDAO();
+        Batch batch = new Batch("removed_batch");
+        batchDAO.save(batch);
+        batchDAO.remove(batch.getId());
+
+        exception.expect(ConflictException.class);
+        batchDAO.remove(batch.getId());
+    }
+}
@@ -14,7 +14,13 @@ package org.kitodo.data.elasticsearch.index;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.elasticsearch.node.Node;
 import org.junit.After;
@@ -73,6 +79,30 @@ public class IndexRestClientIT {
         assertTrue("Add of document has failed!", isFound(response));
     }
 
+    @Test
+    public void shouldAddDocumentsToGivenIndexInParallel() throws Exception {
+        Map<Integer, Map<String, Object>> entities = MockEntity.createEntities();
+        ExecutorService executor = Executors.newFixedThreadPool(entities.size());
+        try {
+            List<Callable<Void>> requests = new ArrayList<>();
+            for (Map.Entry<Integer, Map<String, Object>> entity : entities.entrySet()) {
+                requests.add(() -> {
+                    restClient.addDocument(testIndexName, testTypeName, entity.getValue(), entity.getKey(), false);
+                    return null;
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(requests)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (Integer id : entities.keySet()) {
+            assertTrue("Add of document has failed - document id " + id + "!", isFound(searcher.findDocument(id)));
+        }
+    }
+
     @Test
     public void shouldAddTypeAsync() throws Exception {
         Map<String, Object> response = searcher.findDocument(1);
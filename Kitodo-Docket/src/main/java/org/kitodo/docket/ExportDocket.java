@@ -11,14 +11,16 @@
 
 package org.kitodo.docket;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.transform.Result;
-import javax.xml.transform.Transformer;
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.sax.SAXResult;
@@ -29,15 +31,46 @@ import org.apache.fop.apps.Fop;
 import org.apache.fop.apps.FopFactory;
 import org.apache.fop.apps.FopFactoryBuilder;
 import org.apache.fop.apps.MimeConstants;
+import org.jdom2.transform.JDOMSource;
 import org.kitodo.api.docket.DocketData;
 
 /**
  * This class provides generating a run note based on the generated xml log.
+ * The xml log is passed to the transformation as SAX events and the
+ * formatting objects are passed on to FOP the same way, so that neither the
+ * xml log nor the PDF file is held in memory as a whole.
+ *
+ * <p>
+ * The FOP factory is shared, and compiled XSLT files are kept until the file
+ * is changed.
  *
  * @author Steffen Hankiewicz
  */
 public class ExportDocket {
 
+    private static final FopFactory fopFactory = createFopFactory();
+
+    private static final Map<File, CompiledXslt> compiledXslts = new ConcurrentHashMap<>();
+
+    /**
+     * A compiled XSLT file at the time of its last modification.
+     */
+    private static class CompiledXslt {
+        private final long lastModified;
+        private final Templates templates;
+
+        CompiledXslt(long lastModified, Templates templates) {
+            this.lastModified = lastModified;
+            this.templates = templates;
+        }
+    }
+
+    private static FopFactory createFopFactory() {
+        FopFactoryBuilder builder = new FopFactoryBuilder(new File(".").toURI());
+        builder.setStrictFOValidation(false);
+        return builder.build();
+    }
+
     /**
      * This method exports the production metadata as run note to a given
      * stream. the docket.xsl has to be in the config-folder.
@@ -49,12 +82,8 @@ public class ExportDocket {
      */
     void startExport(DocketData docketData, OutputStream os, File xsltFile) throws IOException {
         ExportXmlLog exl = new ExportXmlLog();
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        exl.startExport(docketData, out);
-
-        byte[] pdfBytes = generatePdfBytes(out, xsltFile);
+        generatePdf(new JDOMSource(exl.createDocket(docketData)), os, xsltFile);
 
-        os.write(pdfBytes);
         os.flush();
         os.close();
     }
@@ -70,36 +99,33 @@ public class ExportDocket {
      */
     void startExport(Iterable<DocketData> docketDataList, OutputStream os, File xsltFile) throws IOException {
         ExportXmlLog exl = new ExportXmlLog();
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        exl.startMultipleExport(docketDataList, out);
-
-        byte[] pdfBytes = generatePdfBytes(out, xsltFile);
-
-        os.write(pdfBytes);
+        generatePdf(new JDOMSource(exl.createMultipleDocket(docketDataList)), os, xsltFile);
     }
 
-    private byte[] generatePdfBytes(ByteArrayOutputStream out, File xsltFile) throws IOException {
-        // generate pdf file
-        StreamSource source = new StreamSource(new ByteArrayInputStream(out.toByteArray()));
-        StreamSource transformSource = new StreamSource(xsltFile);
-        FopFactoryBuilder builder = new FopFactoryBuilder(new File(".").toURI());
-        builder.setStrictFOValidation(false);
-        FopFactory fopFactory = builder.build();
-        ByteArrayOutputStream outStream = new ByteArrayOutputStream();
-        // transform xml
+    private void generatePdf(Source source, OutputStream outStream, File xsltFile) throws IOException {
         try {
-            Transformer xslTransformer = TransformerFactory.newInstance().newTransformer(transformSource);
             Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, outStream);
             Result res = new SAXResult(fop.getDefaultHandler());
-            xslTransformer.transform(source, res);
+            getTemplates(xsltFile).newTransformer().transform(source, res);
         } catch (FOPException e) {
             throw new IOException("FOPException occurred", e);
         } catch (TransformerException e) {
             throw new IOException("TransformerException occurred", e);
         }
-
-        // write the content to output stream
-        return outStream.toByteArray();
     }
 
+    /**
+     * Returns the compiled XSLT file. It is compiled again if the file was
+     * changed since.
+     */
+    private static Templates getTemplates(File xsltFile) throws TransformerException {
+        long lastModified = xsltFile.lastModified();
+        CompiledXslt compiledXslt = compiledXslts.get(xsltFile);
+        if (Objects.isNull(compiledXslt) || compiledXslt.lastModified != lastModified) {
+            Templates templates = TransformerFactory.newInstance().newTemplates(new StreamSource(xsltFile));
+            compiledXslt = new CompiledXslt(lastModified, templates);
+            compiledXslts.put(xsltFile, compiledXslt);
+        }
+        return compiledXslt.templates;
+    }
 }
@@ -11,21 +11,17 @@
 
 package org.kitodo.docket;
 
-import java.io.IOException;
-import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.jdom2.Attribute;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
-import org.jdom2.output.Format;
-import org.jdom2.output.XMLOutputter;
 import org.kitodo.api.docket.DocketData;
 import org.kitodo.api.docket.Property;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * This class provides xml logfile generation. After the generation the file
@@ -36,7 +32,6 @@ import org.slf4j.LoggerFactory;
  *
  */
 public class ExportXmlLog {
-    private static final Logger logger = LoggerFactory.getLogger(ExportXmlLog.class);
     private static final String LABEL = "label";
     private static final String NAMESPACE = "http://www.kitodo.org/logfile";
     private static final String PROPERTIES = "properties";
@@ -45,42 +40,27 @@ public class ExportXmlLog {
     private static final String VALUE = "value";
 
     /**
-     * This method exports the production metadata as xml to a given stream.
+     * This method creates the xml document with the production metadata of a
+     * process.
      *
      * @param docketData
      *            the docket data to export
-     * @param os
-     *            the OutputStream to write the contents to
-     * @throws IOException
-     *             Throws IOException, when document creation fails.
+     * @return the xml document
      */
-    void startExport(DocketData docketData, OutputStream os) throws IOException {
-        try {
-            Document doc = createDocument(docketData, true);
-
-            XMLOutputter outp = new XMLOutputter();
-            outp.setFormat(Format.getPrettyFormat());
-
-            outp.output(doc, os);
-            os.close();
-
-        } catch (RuntimeException e) {
-            logger.error("Document creation failed.");
-            throw new IOException(e);
-        }
+    Document createDocket(DocketData docketData) {
+        return createDocument(docketData, true);
     }
 
     /**
-     * This method exports the production metadata for al list of processes as a
-     * single file to a given stream.
+     * This method creates a single xml document with the production metadata
+     * of a list of processes. The elements of the processes are created in
+     * parallel, but added in the order of the list.
      *
      * @param docketDataList
      *            a list of Docket data
-     * @param outputStream
-     *            The output stream, to write the docket to.
+     * @return the xml document
      */
-
-    void startMultipleExport(Iterable<DocketData> docketDataList, OutputStream outputStream) {
+    Document createMultipleDocket(Iterable<DocketData> docketDataList) {
         Document answer = new Document();
         Element root = new Element("processes");
         answer.setRootElement(root);
@@ -92,29 +72,12 @@ public class ExportXmlLog {
         Attribute attSchema = new Attribute("schemaLocation", NAMESPACE + " XML-logfile.xsd",
                 xsi);
         root.setAttribute(attSchema);
-        for (DocketData docketData : docketDataList) {
-            Document doc = createDocument(docketData, false);
-            Element processRoot = doc.getRootElement();
-            processRoot.detach();
-            root.addContent(processRoot);
-        }
-
-        XMLOutputter outp = new XMLOutputter(Format.getPrettyFormat());
-
-        try {
-            outp.output(answer, outputStream);
-        } catch (IOException e) {
-            logger.error("Generating XML Output failed.", e);
-        } finally {
-            if (outputStream != null) {
-                try {
-                    outputStream.close();
-                } catch (IOException e) {
-                    logger.error("Closing the output stream failed.", e);
-                }
-            }
-        }
-
+        List<Element> processRoots = StreamSupport.stream(docketDataList.spliterator(), false)
+                .collect(Collectors.toList()).parallelStream()
+                .map(docketData -> createDocument(docketData, false).getRootElement().detach())
+                .collect(Collectors.toList());
+        root.addContent(processRoots);
+        return answer;
     }
 
     /**
@@ -21,7 +21,9 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -141,8 +143,38 @@ public class FileManagement implements FileManagementInterface {
 
     @Override
     public void move(URI sourceUri, URI targetUri) throws IOException {
-        copy(sourceUri, targetUri);
-        delete(sourceUri);
+        if (!moveByRenaming(sourceUri, targetUri)) {
+            copy(sourceUri, targetUri);
+            delete(sourceUri);
+        }
+    }
+
+    /**
+     * Moves a file or directory by renaming it. This is only possible if
+     * source and target are on the same file system. A directory is only
+     * renamed if the target does not exist yet, otherwise its contents are
+     * merged into the target by copying.
+     *
+     * @return whether the file or directory was renamed
+     */
+    private boolean moveByRenaming(URI sourceUri, URI targetUri) {
+        boolean isDirectory = targetUri.getPath().endsWith("/");
+        Path source = Paths.get(fileMapper.mapUriToKitodoDataDirectoryUri(sourceUri));
+        Path target = Paths.get(fileMapper.mapUriToKitodoDataDirectoryUri(targetUri));
+        if (Files.isRegularFile(source)) {
+            if (isDirectory && !Files.isRegularFile(target)) {
+                target = target.resolve(source.getFileName());
+            }
+        } else if (!Files.isDirectory(source) || Files.exists(target)) {
+            return false;
+        }
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            logger.debug("Cannot rename {} to {}, copying instead: {}", source, target, e.getMessage());
+            return false;
+        }
     }
 
     @Override
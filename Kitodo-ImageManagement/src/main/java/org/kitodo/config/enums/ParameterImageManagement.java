@@ -14,6 +14,7 @@ package org.kitodo.config.enums;
 public enum ParameterImageManagement implements ParameterInterface {
 
     DIR_TMP("ImageManagement.tmpDir"),
+    SCALE_IN_JVM("ImageManagement.scaleInJvm"),
     SEARCH_PATH("ImageManagement.searchPath"),
     TIMEOUT_SEC("ImageManagement.timeoutSec"),
     SSH_HOST("ImageManagement.sshHosts");
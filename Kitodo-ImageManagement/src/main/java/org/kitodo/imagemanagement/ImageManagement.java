@@ -12,11 +12,13 @@
 package org.kitodo.imagemanagement;
 
 import java.awt.Image;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
+import java.util.Optional;
 import java.util.function.Function;
 
 import javax.imageio.ImageIO;
@@ -29,7 +31,9 @@ import org.kitodo.config.KitodoConfig;
 import org.kitodo.config.enums.ParameterImageManagement;
 
 /**
- * An ImageManagementInterface implementation using ImageMagick.
+ * An ImageManagementInterface implementation using ImageMagick. Images which
+ * are returned in memory are scaled in the Java virtual machine if possible,
+ * see {@link ImageScaler}.
  */
 public class ImageManagement implements ImageManagementInterface {
     private static final Logger logger = LogManager.getLogger(ImageManagement.class);
@@ -54,6 +58,13 @@ public class ImageManagement implements ImageManagementInterface {
      */
     private static final String WEB_IMAGE_FORMAT = ".jpeg";
 
+    /**
+     * Whether images returned in memory are scaled in the Java virtual machine
+     * if Java can read the source image.
+     */
+    private static final boolean SCALE_IN_JVM = KitodoConfig
+            .getBooleanParameter(ParameterImageManagement.SCALE_IN_JVM, true);
+
     /**
      * {@inheritDoc}
      *
@@ -68,9 +79,17 @@ public class ImageManagement implements ImageManagementInterface {
         if (dpi <= 0) {
             throw new IllegalArgumentException("dpi must be > 0, but was " + dpi);
         }
+        if (SCALE_IN_JVM) {
+            Optional<BufferedImage> image = ImageScaler.scaleToDpi(new File(sourceUri), dpi);
+            if (image.isPresent()) {
+                logger.info("Resized {} in memory to {} DPI", sourceUri, dpi);
+                return image.get();
+            }
+        }
 
-        return summarize("dpiChangedImage-", RAW_IMAGE_FORMAT, sourceUri, lambda -> lambda.resizeToDpi(dpi),
+        Image image = summarize("dpiChangedImage-", RAW_IMAGE_FORMAT, sourceUri, lambda -> lambda.resizeToDpi(dpi),
             "Resizing {} as {} to {} DPI", dpi);
+        return image instanceof BufferedImage ? ImageScaler.withDpi((BufferedImage) image, dpi) : image;
     }
 
     /**
@@ -105,6 +124,13 @@ public class ImageManagement implements ImageManagementInterface {
     @Override
     public Image getScaledWebImage(URI sourceUri, double factor) throws IOException {
         validateParameters(sourceUri, factor);
+        if (SCALE_IN_JVM) {
+            Optional<BufferedImage> image = ImageScaler.scale(new File(sourceUri), factor);
+            if (image.isPresent()) {
+                logger.info("Generated scaled web image from {} in memory, factor {}%", sourceUri, 100 * factor);
+                return image.get();
+            }
+        }
         return summarize("scaledWebImage-", WEB_IMAGE_FORMAT, sourceUri, lambda -> lambda.resize(factor),
             "Generating scaled web image from {} as {}, factor {}%", 100 * factor);
     }
@@ -124,6 +150,13 @@ public class ImageManagement implements ImageManagementInterface {
         if (width <= 0) {
             throw new IllegalArgumentException("width must be > 0, but was " + width);
         }
+        if (SCALE_IN_JVM) {
+            Optional<BufferedImage> image = ImageScaler.scaleToWidth(new File(sourceUri), width);
+            if (image.isPresent()) {
+                logger.info("Generated sized web image from {} in memory, width {} px", sourceUri, width);
+                return image.get();
+            }
+        }
 
         return summarize("sizedWebImage-", WEB_IMAGE_FORMAT, sourceUri, lambda -> lambda.resizeToWidth(width),
             "Generating sized web image from {} as {}, width {} px", width);
@@ -0,0 +1,262 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.imagemanagement;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.io.File;
+import java.io.IOException;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataFormatImpl;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+
+import org.kitodo.api.imagemanagement.ImageManagementInterface;
+import org.w3c.dom.NodeList;
+
+/**
+ * Scales images inside the Java virtual machine. The source image is decoded
+ * subsampled, so that not much more than twice the size of the result has to
+ * be held in memory, even for large masters. The decoded image is then scaled
+ * down in steps of at most half the size with bilinear interpolation, which
+ * gives a smooth result. Transparency and gray scale of the source image are
+ * kept.
+ *
+ * <p>
+ * This only works if Java Image I/O has a reader for the format of the source
+ * image and can decode it. Otherwise, an empty optional is returned and the
+ * caller has to fall back to ImageMagick.
+ */
+class ImageScaler {
+
+    /**
+     * Millimeters per inch, to convert the pixel size of the image metadata.
+     */
+    private static final double MILLIMETERS_PER_INCH = 25.4;
+
+    /**
+     * Calculates the scale factor for an image, once the reader knows it.
+     */
+    @FunctionalInterface
+    private interface ScaleFactor {
+        /**
+         * Returns the scale factor.
+         *
+         * @param reader
+         *            reader positioned on the source image
+         * @return the scale factor, or {@code NaN} if it cannot be determined
+         * @throws IOException
+         *             if the image cannot be read
+         */
+        double of(ImageReader reader) throws IOException;
+    }
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private ImageScaler() {
+    }
+
+    /**
+     * Scales an image by a factor.
+     *
+     * @param source
+     *            source image file
+     * @param factor
+     *            scale factor, 1.0 is the original size
+     * @return the scaled image, empty if the format is not supported
+     * @throws IOException
+     *             if the image cannot be read
+     */
+    static Optional<BufferedImage> scale(File source, double factor) throws IOException {
+        return read(source, reader -> factor);
+    }
+
+    /**
+     * Scales an image to a width in pixels. The aspect ratio is kept.
+     *
+     * @param source
+     *            source image file
+     * @param width
+     *            width of the result in pixels
+     * @return the scaled image, empty if the format is not supported
+     * @throws IOException
+     *             if the image cannot be read
+     */
+    static Optional<BufferedImage> scaleToWidth(File source, int width) throws IOException {
+        return read(source, reader -> (double) width / reader.getWidth(0));
+    }
+
+    /**
+     * Scales an image to a resolution in DPI. This requires that the
+     * resolution of the source image is stored in its metadata.
+     *
+     * @param source
+     *            source image file
+     * @param dpi
+     *            resolution of the result
+     * @return the scaled image, empty if the format is not supported or the
+     *         resolution of the source image is unknown
+     * @throws IOException
+     *             if the image cannot be read
+     */
+    static Optional<BufferedImage> scaleToDpi(File source, int dpi) throws IOException {
+        return read(source, reader -> dpi / getDpi(reader)).map(image -> withDpi(image, dpi));
+    }
+
+    /**
+     * Returns the image with its resolution set as property
+     * {@link ImageManagementInterface#DPI_PROPERTY}, so that it can be written
+     * into the metadata when the image is saved. The pixels are not copied.
+     *
+     * @param image
+     *            image to set the resolution for
+     * @param dpi
+     *            resolution of the image
+     * @return the image with the resolution property
+     */
+    static BufferedImage withDpi(BufferedImage image, int dpi) {
+        Hashtable<String, Object> properties = new Hashtable<>();
+        properties.put(ImageManagementInterface.DPI_PROPERTY, dpi);
+        return new BufferedImage(image.getColorModel(), image.getRaster(), image.isAlphaPremultiplied(),
+                properties);
+    }
+
+    /**
+     * Returns the horizontal resolution of the image from its metadata.
+     *
+     * @param reader
+     *            reader positioned on the image
+     * @return the resolution in DPI, or {@code NaN} if it is unknown
+     */
+    private static double getDpi(ImageReader reader) throws IOException {
+        IIOMetadata metadata = reader.getImageMetadata(0);
+        if (Objects.isNull(metadata) || !metadata.isStandardMetadataFormatSupported()) {
+            return Double.NaN;
+        }
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(IIOMetadataFormatImpl.standardMetadataFormatName);
+        NodeList pixelSizes = root.getElementsByTagName("HorizontalPixelSize");
+        if (pixelSizes.getLength() == 0) {
+            return Double.NaN;
+        }
+        try {
+            double millimetersPerPixel = Double
+                    .parseDouble(((IIOMetadataNode) pixelSizes.item(0)).getAttribute("value"));
+            return millimetersPerPixel > 0 ? MILLIMETERS_PER_INCH / millimetersPerPixel : Double.NaN;
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Reads and scales an image.
+     *
+     * @param source
+     *            source image file
+     * @param scaleFactor
+     *            calculates the scale factor
+     * @return the scaled image, empty if the format is not supported, the
+     *         image cannot be decoded or the scale factor cannot be determined
+     */
+    private static Optional<BufferedImage> read(File source, ScaleFactor scaleFactor) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            if (Objects.isNull(input)) {
+                return Optional.empty();
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                double factor = scaleFactor.of(reader);
+                if (Double.isNaN(factor) || factor <= 0.0) {
+                    return Optional.empty();
+                }
+                int width = Math.max(1, (int) Math.round(reader.getWidth(0) * factor));
+                int height = Math.max(1, (int) Math.round(reader.getHeight(0) * factor));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = (int) Math.floor(0.5 / factor);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return Optional.of(resize(reader.read(0, param), width, height));
+            } catch (IIOException | RuntimeException e) {
+                // the reader does not support this variant, e.g. CMYK JPEG
+                return Optional.empty();
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Resizes an image. When scaling down, the size is at most halved in
+     * each step.
+     */
+    private static BufferedImage resize(BufferedImage image, int width, int height) {
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() == width && current.getHeight() == height
+                && current.getType() == getResultType(current)) {
+            return current;
+        }
+        return draw(current, width, height);
+    }
+
+    /**
+     * Returns the type of image to draw the scaled image in. It keeps
+     * transparency and gray scale of the source, so that the result is the
+     * same as that of ImageMagick. Other color models are drawn as RGB.
+     */
+    private static int getResultType(BufferedImage image) {
+        ColorModel colorModel = image.getColorModel();
+        if (colorModel.hasAlpha()) {
+            return BufferedImage.TYPE_INT_ARGB;
+        }
+        if (colorModel.getColorSpace().getType() == ColorSpace.TYPE_GRAY) {
+            return colorModel.getComponentSize(0) > 8 ? BufferedImage.TYPE_USHORT_GRAY
+                    : BufferedImage.TYPE_BYTE_GRAY;
+        }
+        return BufferedImage.TYPE_INT_RGB;
+    }
+
+    private static BufferedImage draw(BufferedImage image, int width, int height) {
+        BufferedImage result = new BufferedImage(width, height, getResultType(image));
+        Graphics2D graphics = result.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                width > image.getWidth() ? RenderingHints.VALUE_INTERPOLATION_BICUBIC
+                        : RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.imagemanagement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.kitodo.api.imagemanagement.ImageManagementInterface;
+
+/**
+ * Tests scaling images in the Java virtual machine.
+ */
+public class ImageScalerTest {
+
+    private static File png;
+
+    /**
+     * Creates a PNG image of 1000 × 600 pixels.
+     */
+    @BeforeClass
+    public static void createTestImage() throws IOException {
+        png = File.createTempFile("ImageScalerTest-", ".png");
+        ImageIO.write(new BufferedImage(1000, 600, BufferedImage.TYPE_INT_RGB), "png", png);
+    }
+
+    @AfterClass
+    public static void deleteTestImage() throws IOException {
+        Files.delete(png.toPath());
+    }
+
+    @Test
+    public void shouldScaleByFactor() throws IOException {
+        Optional<BufferedImage> image = ImageScaler.scale(png, 0.1);
+
+        assertTrue("Image was not scaled!", image.isPresent());
+        assertEquals("Incorrect width!", 100, image.get().getWidth());
+        assertEquals("Incorrect height!", 60, image.get().getHeight());
+    }
+
+    @Test
+    public void shouldScaleToWidth() throws IOException {
+        Optional<BufferedImage> image = ImageScaler.scaleToWidth(png, 250);
+
+        assertTrue("Image was not scaled!", image.isPresent());
+        assertEquals("Incorrect width!", 250, image.get().getWidth());
+        assertEquals("Incorrect height!", 150, image.get().getHeight());
+    }
+
+    @Test
+    public void shouldKeepTransparency() throws IOException {
+        Optional<BufferedImage> image = scaleTestImage(BufferedImage.TYPE_INT_ARGB);
+
+        assertTrue("Image was not scaled!", image.isPresent());
+        assertTrue("Transparency was lost!", image.get().getColorModel().hasAlpha());
+    }
+
+    @Test
+    public void shouldKeepGrayScale() throws IOException {
+        Optional<BufferedImage> image = scaleTestImage(BufferedImage.TYPE_BYTE_GRAY);
+
+        assertTrue("Image was not scaled!", image.isPresent());
+        assertEquals("Gray scale was lost!", BufferedImage.TYPE_BYTE_GRAY, image.get().getType());
+    }
+
+    @Test
+    public void shouldSetDpiProperty() {
+        BufferedImage image = ImageScaler.withDpi(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB), 300);
+
+        assertEquals("Incorrect resolution!", 300, image.getProperty(ImageManagementInterface.DPI_PROPERTY));
+    }
+
+    private static Optional<BufferedImage> scaleTestImage(int type) throws IOException {
+        File source = File.createTempFile("ImageScalerTest-", ".png");
+        try {
+            ImageIO.write(new BufferedImage(100, 60, type), "png", source);
+            return ImageScaler.scale(source, 0.3);
+        } finally {
+            Files.delete(source.toPath());
+        }
+    }
+
+    @Test
+    public void shouldNotScaleUnreadableImage() throws IOException {
+        File text = File.createTempFile("ImageScalerTest-", ".txt");
+        try {
+            Files.write(text.toPath(), "No, this is not an image.".getBytes(StandardCharsets.UTF_8));
+            assertFalse("Unreadable image was scaled!", ImageScaler.scale(text, 0.5).isPresent());
+        } finally {
+            Files.delete(text.toPath());
+        }
+    }
+
+    @Test
+    public void shouldNotScaleUndecodableImage() throws IOException {
+        File truncated = File.createTempFile("ImageScalerTest-", ".png");
+        try {
+            Files.write(truncated.toPath(), Arrays.copyOf(Files.readAllBytes(png.toPath()), 60));
+            assertFalse("Undecodable image was scaled!", ImageScaler.scale(truncated, 0.5).isPresent());
+        } finally {
+            Files.delete(truncated.toPath());
+        }
+    }
+}
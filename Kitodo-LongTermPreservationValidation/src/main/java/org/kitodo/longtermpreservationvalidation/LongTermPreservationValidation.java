@@ -11,11 +11,20 @@
 
 package org.kitodo.longtermpreservationvalidation;
 
+import edu.harvard.hul.ois.jhove.JhoveException;
+
+import java.lang.reflect.UndeclaredThrowableException;
 import java.net.URI;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.kitodo.api.validation.ValidationResult;
 import org.kitodo.api.validation.longtermpreservation.FileType;
@@ -48,6 +57,23 @@ public class LongTermPreservationValidation implements LongTermPreservationValid
         "edu.harvard.hul.ois.jhove.module.PdfModule", "com.mcgath.jhove.module.PngModule",
         "edu.harvard.hul.ois.jhove.module.TiffModule");
 
+    /**
+     * Initialized JHove engines. The modules of an engine keep state while a
+     * file is validated, so each thread gets its own engine.
+     */
+    private static final ThreadLocal<KitodoJhoveBase> engines = ThreadLocal.withInitial(() -> {
+        try {
+            return new KitodoJhoveBase(MODULES);
+        } catch (JhoveException e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    });
+
+    /**
+     * Results of previous validations.
+     */
+    private static final ValidationResultCache resultCache = new ValidationResultCache();
+
     /**
      * {@inheritDoc}<!-- . -->
      *
@@ -58,13 +84,45 @@ public class LongTermPreservationValidation implements LongTermPreservationValid
      */
     @Override
     public ValidationResult validate(URI fileUri, FileType fileType) {
+        Optional<String> key = resultCache.getKey(Paths.get(fileUri.getPath()), fileType);
+        if (key.isPresent()) {
+            Optional<ValidationResult> cachedResult = resultCache.get(key.get());
+            if (cachedResult.isPresent()) {
+                return cachedResult.get();
+            }
+        }
         KitodoOutputHandler result = new KitodoOutputHandler();
         try {
-            KitodoJhoveBase jhoveBase = new KitodoJhoveBase(MODULES);
-            jhoveBase.validate(fileUri.getPath(), MODULE_NAMES.get(fileType), result);
+            engines.get().validate(fileUri.getPath(), MODULE_NAMES.get(fileType), result);
         } catch (Exception e) {
             result.treatException(e);
+            return result.toValidationResult();
+        }
+        ValidationResult validationResult = result.toValidationResult();
+        key.ifPresent(presentKey -> resultCache.put(presentKey, validationResult));
+        return validationResult;
+    }
+
+    /**
+     * {@inheritDoc}<!-- . -->
+     *
+     * <p>
+     * The files are validated in parallel.
+     *
+     * @param fileUris
+     *            file URIs to validate
+     * @param fileType
+     *            file type to validate
+     */
+    @Override
+    public Map<URI, ValidationResult> validate(Collection<URI> fileUris, FileType fileType) {
+        List<URI> uris = new ArrayList<>(fileUris);
+        List<ValidationResult> results = uris.parallelStream().map(fileUri -> validate(fileUri, fileType))
+                .collect(Collectors.toList());
+        Map<URI, ValidationResult> validationResults = new LinkedHashMap<>();
+        for (int i = 0; i < uris.size(); i++) {
+            validationResults.put(uris.get(i), results.get(i));
         }
-        return result.toValidationResult();
+        return validationResults;
     }
 }
@@ -0,0 +1,140 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.longtermpreservationvalidation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.kitodo.api.validation.ValidationResult;
+import org.kitodo.api.validation.longtermpreservation.FileType;
+
+/**
+ * Keeps the validation results of files by their content, so that a file
+ * which has not changed is not validated again, even if it was copied or
+ * renamed. To find the content, the checksum of the file is calculated. The
+ * checksum is kept, too, as long as the size and the modification time of the
+ * file are unchanged.
+ */
+class ValidationResultCache {
+
+    /**
+     * Maximum number of results and checksums kept.
+     */
+    private static final int MAX_ENTRIES = 10000;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Checksums by path, size and modification time of a file.
+     */
+    private final Map<String, String> checksums = createLruMap();
+
+    /**
+     * Validation results by file type, size and checksum of a file.
+     */
+    private final Map<String, ValidationResult> results = createLruMap();
+
+    private static <V> Map<String, V> createLruMap() {
+        return new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Entry<String, V> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+    }
+
+    /**
+     * Returns the key of a file to look up or keep its validation result.
+     *
+     * @param file
+     *            file to validate
+     * @param fileType
+     *            file type to validate
+     * @return the key, empty if the file cannot be read
+     */
+    Optional<String> getKey(Path file, FileType fileType) {
+        try {
+            long size = Files.size(file);
+            String fileState = file.toAbsolutePath() + " " + size + " " + Files.getLastModifiedTime(file).toMillis();
+            String checksum;
+            synchronized (checksums) {
+                checksum = checksums.get(fileState);
+            }
+            if (Objects.isNull(checksum)) {
+                checksum = checksum(file);
+                synchronized (checksums) {
+                    checksums.put(fileState, checksum);
+                }
+            }
+            return Optional.of(fileType + " " + size + " " + checksum);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns a kept validation result.
+     *
+     * @param key
+     *            key of the file
+     * @return the validation result, empty if there is none
+     */
+    Optional<ValidationResult> get(String key) {
+        synchronized (results) {
+            return Optional.ofNullable(results.get(key));
+        }
+    }
+
+    /**
+     * Keeps a validation result.
+     *
+     * @param key
+     *            key of the file
+     * @param result
+     *            validation result to keep
+     */
+    void put(String key, ValidationResult result) {
+        synchronized (results) {
+            results.put(key, result);
+        }
+    }
+
+    private static String checksum(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int length = in.read(buffer); length != -1; length = in.read(buffer)) {
+                digest.update(buffer, 0, length);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -19,6 +19,7 @@ import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 import org.kitodo.api.validation.State;
@@ -115,4 +116,17 @@ public class LongTermPreservationValidationIT {
         assertEquals(WELL_FORMED_AND_VALID, validationResult.getResultMessages());
     }
 
+    @Test
+    public void testThatSeveralFilesAreValidatedAtOnce() {
+        LongTermPreservationValidationInterface validator = new LongTermPreservationValidation();
+        Map<URI, ValidationResult> validationResults = validator
+                .validate(Arrays.asList(TIF_URI, CORRUPTED_TIF_URI, TIF_URI), FileType.TIFF);
+        assertEquals(Arrays.asList(TIF_URI, CORRUPTED_TIF_URI), Arrays.asList(validationResults.keySet().toArray()));
+        assertEquals(State.SUCCESS, validationResults.get(TIF_URI).getState());
+        assertEquals(WELL_FORMED_AND_VALID, validationResults.get(TIF_URI).getResultMessages());
+        assertEquals(State.ERROR, validationResults.get(CORRUPTED_TIF_URI).getState());
+        assertEquals(Arrays.asList(NEITHER_WELL_FORMED_NOR_VALID, "IFD offset not word-aligned:  110423"),
+            validationResults.get(CORRUPTED_TIF_URI).getResultMessages());
+    }
+
 }
@@ -0,0 +1,38 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.config.enums;
+
+public enum ParameterSRUImport implements ParameterInterface {
+
+    CACHE_DIR("SRUImport.cacheDir"),
+    CACHE_SIZE("SRUImport.cacheSize"),
+    CACHE_TIME_TO_LIVE_SEC("SRUImport.cacheTimeToLiveSec"),
+    MAX_REQUESTS("SRUImport.maxRequests"),
+    TIMEOUT_SEC("SRUImport.timeoutSec");
+
+    private String name;
+
+    /**
+     * Private constructor to hide the implicit public one.
+     *
+     * @param name
+     *            of parameter
+     */
+    ParameterSRUImport(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public java.lang.String toString() {
+        return this.name;
+    }
+}
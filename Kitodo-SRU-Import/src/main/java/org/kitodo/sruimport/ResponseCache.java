@@ -0,0 +1,161 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.sruimport;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps recent responses of the catalogues. The number of responses is
+ * limited, the least recently used ones are dropped first. A response expires
+ * after a fixed time, so that changes in the catalogue are seen eventually.
+ * An eviction listener is informed about dropped and expired responses.
+ *
+ * @param <V>
+ *            type of the kept responses
+ */
+class ResponseCache<V> {
+
+    private static final Logger logger = LogManager.getLogger(ResponseCache.class);
+
+    private final String name;
+    private final long timeToLive;
+    private final Map<String, CachedResponse<V>> responses;
+    private final Consumer<String> evictionListener;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * A response and the time it was received.
+     */
+    private static class CachedResponse<V> {
+        private final long received;
+        private final V response;
+
+        CachedResponse(long received, V response) {
+            this.received = received;
+            this.response = response;
+        }
+    }
+
+    /**
+     * Creates a new response cache.
+     *
+     * @param name
+     *            name of the cache, for logging
+     * @param maxSize
+     *            maximum number of responses kept, 0 disables the cache
+     * @param timeToLive
+     *            time after which a response expires, in milliseconds
+     */
+    ResponseCache(String name, int maxSize, long timeToLive) {
+        this(name, maxSize, timeToLive, key -> {
+        });
+    }
+
+    /**
+     * Creates a new response cache with an eviction listener.
+     *
+     * @param name
+     *            name of the cache, for logging
+     * @param maxSize
+     *            maximum number of responses kept, 0 disables the cache
+     * @param timeToLive
+     *            time after which a response expires, in milliseconds
+     * @param evictionListener
+     *            is called with the key of each response which is dropped or
+     *            has expired
+     */
+    ResponseCache(String name, int maxSize, long timeToLive, Consumer<String> evictionListener) {
+        this.name = name;
+        this.timeToLive = timeToLive;
+        this.evictionListener = evictionListener;
+        this.responses = new LinkedHashMap<String, CachedResponse<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Entry<String, CachedResponse<V>> eldest) {
+                if (size() > maxSize) {
+                    evictionListener.accept(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a response, if it is kept and not expired.
+     *
+     * @param key
+     *            catalogue and query of the response
+     * @return the response, or an empty optional
+     */
+    Optional<V> get(String key) {
+        CachedResponse<V> cachedResponse;
+        synchronized (responses) {
+            cachedResponse = responses.get(key);
+            if (Objects.nonNull(cachedResponse)
+                    && System.currentTimeMillis() - cachedResponse.received > timeToLive) {
+                responses.remove(key);
+                evictionListener.accept(key);
+                cachedResponse = null;
+            }
+        }
+        if (Objects.isNull(cachedResponse)) {
+            misses.incrementAndGet();
+            logger.debug("{} cache miss for {}, {} hits and {} misses so far", name, key, hits, misses);
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        logger.debug("{} cache hit for {}, {} hits and {} misses so far", name, key, hits, misses);
+        return Optional.of(cachedResponse.response);
+    }
+
+    /**
+     * Keeps a response.
+     *
+     * @param key
+     *            catalogue and query of the response
+     * @param response
+     *            response to keep
+     */
+    void put(String key, V response) {
+        synchronized (responses) {
+            responses.put(key, new CachedResponse<>(System.currentTimeMillis(), response));
+        }
+    }
+
+    /**
+     * Returns the number of requests answered from the cache.
+     *
+     * @return the number of hits
+     */
+    long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of requests which had to be sent to the catalogue.
+     *
+     * @return the number of misses
+     */
+    long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.sruimport;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import org.apache.commons.configuration.HierarchicalConfiguration;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.OPACConfig;
+import org.kitodo.config.enums.KitodoConfigFile;
+
+/**
+ * The configuration of one SRU catalogue. Instances are immutable, so that
+ * imports from different catalogues can run at the same time. The number of
+ * requests which are sent to the catalogue at the same time is limited.
+ */
+class SRUCatalogue {
+
+    private static final Logger logger = LogManager.getLogger(SRUCatalogue.class);
+    private static final String NAME_ATTRIBUTE = "[@name]";
+    private static final String VALUE_ATTRIBUTE = "[@value]";
+    private static final String LABEL_ATTRIBUTE = "[@label]";
+    private static final String HOST_CONFIG = "host";
+    private static final String SCHEME_CONFIG = "scheme";
+    private static final String PATH_CONFIG = "path";
+    private static final String PORT_CONFIG = "port";
+    private static final String PARAM_TAG = "param";
+    private static final String SEARCHFIELD_TAG = "searchField";
+    private static final String RETURN_FORMAT_TAG = "returnFormat";
+    private static final String METADATA_FORMAT_TAG = "metadataFormat";
+
+    private final long configLastModified;
+    private String protocol;
+    private String host;
+    private String path;
+    private int port = -1;
+    private String idParameter;
+    private String fileFormat;
+    private String metadataFormat;
+    private final Map<String, String> parameters = new LinkedHashMap<>();
+    private final Map<String, String> searchFieldMapping = new HashMap<>();
+    private final Semaphore requestSlots;
+
+    /**
+     * Loads the configuration of a catalogue from the OPAC configuration
+     * file.
+     *
+     * @param opacName
+     *            title of the catalogue
+     * @param maxRequests
+     *            maximum number of requests sent to the catalogue at the
+     *            same time
+     */
+    SRUCatalogue(String opacName, int maxRequests) {
+        this.configLastModified = KitodoConfigFile.OPAC_CONFIGURATION.getFile().lastModified();
+        this.requestSlots = new Semaphore(maxRequests);
+        try {
+            // XML configuration of OPAC
+            HierarchicalConfiguration opacConfig = OPACConfig.getOPACConfiguration(opacName);
+
+            for (HierarchicalConfiguration queryConfigParam : opacConfig.configurationsAt(PARAM_TAG)) {
+                switch (queryConfigParam.getString(NAME_ATTRIBUTE)) {
+                    case SCHEME_CONFIG:
+                        protocol = queryConfigParam.getString(VALUE_ATTRIBUTE);
+                        break;
+                    case HOST_CONFIG:
+                        host = queryConfigParam.getString(VALUE_ATTRIBUTE);
+                        break;
+                    case PATH_CONFIG:
+                        path = queryConfigParam.getString(VALUE_ATTRIBUTE);
+                        break;
+                    case PORT_CONFIG:
+                        port = queryConfigParam.getInt(VALUE_ATTRIBUTE);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected value: " + queryConfigParam.getString(NAME_ATTRIBUTE));
+                }
+            }
+
+            idParameter = OPACConfig.getIdentifierParameter(opacName);
+            fileFormat = OPACConfig.getConfigValue(opacName, RETURN_FORMAT_TAG);
+            metadataFormat = OPACConfig.getConfigValue(opacName, METADATA_FORMAT_TAG);
+
+            HierarchicalConfiguration searchFields = OPACConfig.getSearchFields(opacName);
+
+            for (HierarchicalConfiguration searchField : searchFields.configurationsAt(SEARCHFIELD_TAG)) {
+                searchFieldMapping.put(searchField.getString(LABEL_ATTRIBUTE), searchField.getString(VALUE_ATTRIBUTE));
+            }
+
+            HierarchicalConfiguration urlParameters = OPACConfig.getUrlParameters(opacName);
+
+            for (HierarchicalConfiguration queryParam : urlParameters.configurationsAt(PARAM_TAG)) {
+                parameters.put(queryParam.getString(NAME_ATTRIBUTE), queryParam.getString(VALUE_ATTRIBUTE));
+            }
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Returns whether the OPAC configuration file is unchanged since this
+     * catalogue was loaded.
+     *
+     * @return whether the catalogue is up to date
+     */
+    boolean isUpToDate() {
+        return KitodoConfigFile.OPAC_CONFIGURATION.getFile().lastModified() == configLastModified;
+    }
+
+    /**
+     * Creates the URI of a query to the catalogue with the configured URL
+     * parameters.
+     *
+     * @return the URI
+     * @throws URISyntaxException
+     *             if the configuration does not result in a valid URI
+     */
+    URI createQueryURI() throws URISyntaxException {
+        return new URI(protocol, null, host, port, path, createQueryParameterString(), null);
+    }
+
+    private String createQueryParameterString() {
+        List<BasicNameValuePair> nameValuePairList = parameters.entrySet().stream()
+                .map(entry -> new BasicNameValuePair(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        return URLEncodedUtils.format(nameValuePairList, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the search parameter to find a record by its identifier.
+     *
+     * @return the identifier parameter
+     */
+    String getIdParameter() {
+        return idParameter;
+    }
+
+    /**
+     * Returns the file format of the records.
+     *
+     * @return the file format
+     */
+    String getFileFormat() {
+        return fileFormat;
+    }
+
+    /**
+     * Returns the metadata format of the records.
+     *
+     * @return the metadata format
+     */
+    String getMetadataFormat() {
+        return metadataFormat;
+    }
+
+    /**
+     * Returns the search fields of the catalogue, from label to parameter.
+     *
+     * @return the search fields
+     */
+    Map<String, String> getSearchFieldMapping() {
+        return Collections.unmodifiableMap(searchFieldMapping);
+    }
+
+    /**
+     * Returns the permits to send requests to the catalogue. A permit must be
+     * acquired before sending a request and released after the response was
+     * received.
+     *
+     * @return the request permits
+     */
+    Semaphore getRequestSlots() {
+        return requestSlots;
+    }
+}
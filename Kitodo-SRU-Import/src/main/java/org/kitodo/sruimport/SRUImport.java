@@ -14,29 +14,40 @@ package org.kitodo.sruimport;
 import static org.apache.http.HttpStatus.SC_OK;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.UnsupportedEncodingException;
-import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
-import org.apache.commons.configuration.HierarchicalConfiguration;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.utils.URLEncodedUtils;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.externaldatamanagement.ExternalDataImportInterface;
@@ -45,44 +56,47 @@ import org.kitodo.api.externaldatamanagement.SingleHit;
 import org.kitodo.api.schemaconverter.DataRecord;
 import org.kitodo.api.schemaconverter.FileFormat;
 import org.kitodo.api.schemaconverter.MetadataFormat;
-import org.kitodo.config.OPACConfig;
+import org.kitodo.config.KitodoConfig;
+import org.kitodo.config.enums.ParameterSRUImport;
 import org.kitodo.exceptions.ConfigException;
 import org.kitodo.exceptions.NoRecordFoundException;
 
 public class SRUImport implements ExternalDataImportInterface {
 
     private static final Logger logger = LogManager.getLogger(SRUImport.class);
-    private static final String NAME_ATTRIBUTE = "[@name]";
-    private static final String VALUE_ATTRIBUTE = "[@value]";
-    private static final String LABEL_ATTRIBUTE = "[@label]";
-    private static final String HOST_CONFIG = "host";
-    private static final String SCHEME_CONFIG = "scheme";
-    private static final String PATH_CONFIG = "path";
-    private static final String PORT_CONFIG = "port";
-    private static final String PARAM_TAG = "param";
-    private static final String SEARCHFIELD_TAG = "searchField";
-    private static final String RETURN_FORMAT_TAG = "returnFormat";
-    private static final String METADATA_FORMAT_TAG = "metadataFormat";
-
-    private static String protocol;
-    private static String host;
-    private static String path;
-    private static int port = -1;
-    private static String idParameter;
-    private static String fileFormat;
-    private static String metadataFormat;
-    private static LinkedHashMap<String, String> parameters = new LinkedHashMap<>();
-    private static HashMap<String, String> searchFieldMapping = new HashMap<>();
-    private static String equalsOperand = "=";
-    private static HttpClient sruClient = HttpClientBuilder.create().build();
+    private static final String EQUALS_OPERAND = "=";
+    private static final int DEFAULT_MAX_REQUESTS = 4;
+    private static final int DEFAULT_TIMEOUT_SEC = 30;
+
+    /**
+     * Number of records which are requested together when fetching multiple
+     * entries by ID.
+     */
+    private static final int IDS_PER_REQUEST = 10;
+
+    private static final int DEFAULT_CACHE_SIZE = 500;
+    private static final int DEFAULT_CACHE_TIME_TO_LIVE_SEC = 600;
+
+    private static final Map<String, SRUCatalogue> catalogues = new ConcurrentHashMap<>();
+    private static volatile CloseableHttpAsyncClient sruClient;
+    private static boolean shutdownHookAdded;
+
+    private static final ResponseCache<SearchResult> searchResults = new ResponseCache<>("Search result",
+            KitodoConfig.getIntParameter(ParameterSRUImport.CACHE_SIZE, DEFAULT_CACHE_SIZE), getCacheTimeToLive());
+    private static final ResponseCache<String> records = new ResponseCache<>("Record",
+            KitodoConfig.getIntParameter(ParameterSRUImport.CACHE_SIZE, DEFAULT_CACHE_SIZE), getCacheTimeToLive(),
+            SRUImport::deleteStoredRecord);
+
+    /**
+     * Time of the last removal of expired records from the cache directory.
+     */
+    private static final AtomicLong lastStoredRecordsCleanUp = new AtomicLong();
 
     @Override
     public DataRecord getFullRecordById(String catalogId, String identifier) throws NoRecordFoundException {
-        loadOPACConfiguration(catalogId);
-        LinkedHashMap<String, String> queryParameters = new LinkedHashMap<>(parameters);
+        SRUCatalogue catalogue = getCatalogue(catalogId);
         try {
-            URI queryURL = createQueryURI(queryParameters);
-            return performQueryToRecord(queryURL.toString(), identifier);
+            return performQueryToRecord(catalogId, catalogue, catalogue.createQueryURI().toString(), identifier);
         } catch (URISyntaxException e) {
             throw new ConfigException(e.getLocalizedMessage());
         }
@@ -90,7 +104,6 @@ public class SRUImport implements ExternalDataImportInterface {
 
     @Override
     public SearchResult search(String catalogId, String field, String term, int rows) {
-        loadOPACConfiguration(catalogId);
         HashMap<String, String> searchFields = new HashMap<>();
         searchFields.put(field, term);
         return search(catalogId, searchFields, 1, rows);
@@ -98,19 +111,16 @@ public class SRUImport implements ExternalDataImportInterface {
 
     @Override
     public SearchResult search(String catalogId, String field, String term, int start, int rows) {
-        loadOPACConfiguration(catalogId);
         HashMap<String, String> searchFields = new HashMap<>();
         searchFields.put(field, term);
         return search(catalogId, searchFields, start, rows);
     }
 
     private SearchResult search(String catalogId, Map<String, String> searchParameters, int start, int numberOfRecords) {
-        loadOPACConfiguration(catalogId);
+        SRUCatalogue catalogue = getCatalogue(catalogId);
+        Map<String, String> searchFieldMapping = catalogue.getSearchFieldMapping();
         if (searchFieldMapping.keySet().containsAll(searchParameters.keySet())) {
 
-            // Query parameters for HTTP request
-            LinkedHashMap<String, String> queryParameters = new LinkedHashMap<>(parameters);
-
             // Search fields and terms of query
             LinkedHashMap<String, String> searchFieldMap = new LinkedHashMap<>();
             for (Map.Entry<String, String> entry : searchParameters.entrySet()) {
@@ -118,12 +128,11 @@ public class SRUImport implements ExternalDataImportInterface {
             }
 
             try {
-                URI queryURL = createQueryURI(queryParameters);
-                String queryString = queryURL.toString();
+                String queryString = catalogue.createQueryURI().toString();
                 if (start > 0 ) {
                     queryString += "&startRecord=" + start;
                 }
-                return performQuery(queryString
+                return performQuery(catalogId, catalogue, queryString
                                 + "&maximumRecords=" + numberOfRecords
                                 + "&query=" + createSearchFieldString(searchFieldMap));
             } catch (URISyntaxException | UnsupportedEncodingException e) {
@@ -133,16 +142,71 @@ public class SRUImport implements ExternalDataImportInterface {
         return null;
     }
 
+    /**
+     * Fetches the entries with the given IDs. The IDs are requested in groups,
+     * and the requests are sent without waiting for the previous responses, as
+     * far as the catalogue allows.
+     *
+     * @param ids
+     *            The ids from the entries to get.
+     * @param catalogId
+     *            ID of the catalog that will be queried.
+     * @return the entries found, in the order of the requests
+     */
     @Override
     public Collection<SingleHit> getMultipleEntriesById(Collection<String> ids, String catalogId) {
-        return Collections.emptyList();
+        SRUCatalogue catalogue = getCatalogue(catalogId);
+        List<String> idList = new ArrayList<>(ids);
+        List<Future<HttpResponse>> responses = new ArrayList<>();
+        List<SingleHit> hits = new ArrayList<>();
+        try {
+            String queryURL = catalogue.createQueryURI().toString();
+            for (int from = 0; from < idList.size(); from += IDS_PER_REQUEST) {
+                List<String> group = idList.subList(from, Math.min(from + IDS_PER_REQUEST, idList.size()));
+                String query = group.stream().map(id -> catalogue.getIdParameter() + EQUALS_OPERAND + quote(id))
+                        .collect(Collectors.joining(" OR "));
+                responses.add(execute(catalogue, queryURL + "&maximumRecords=" + group.size() + "&query="
+                        + URLEncoder.encode(query, StandardCharsets.UTF_8.displayName())));
+            }
+            for (Future<HttpResponse> future : responses) {
+                HttpResponse response = future.get();
+                if (Objects.equals(response.getStatusLine().getStatusCode(), SC_OK)) {
+                    List<SingleHit> groupHits = ResponseHandler.getSearchResult(response).getHits();
+                    if (Objects.nonNull(groupHits)) {
+                        hits.addAll(groupHits);
+                    }
+                }
+            }
+        } catch (URISyntaxException | UnsupportedEncodingException | ExecutionException e) {
+            logger.error(e.getLocalizedMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            responses.forEach(future -> future.cancel(true));
+        }
+        return hits;
+    }
+
+    /**
+     * Quotes a search term for a CQL query, so that IDs containing spaces or
+     * CQL operators are searched literally.
+     */
+    private static String quote(String term) {
+        return '"' + term.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
     }
 
-    private SearchResult performQuery(String queryURL) {
+    private SearchResult performQuery(String catalogId, SRUCatalogue catalogue, String queryURL) {
+        String cacheKey = catalogId + ' ' + queryURL;
+        Optional<SearchResult> cachedSearchResult = searchResults.get(cacheKey);
+        if (cachedSearchResult.isPresent()) {
+            return copy(cachedSearchResult.get());
+        }
         try {
-            HttpResponse response = sruClient.execute(new HttpGet(queryURL));
+            HttpResponse response = executeAndWait(catalogue, queryURL);
             if (Objects.equals(response.getStatusLine().getStatusCode(), SC_OK)) {
-                return ResponseHandler.getSearchResult(response);
+                SearchResult searchResult = ResponseHandler.getSearchResult(response);
+                searchResults.put(cacheKey, searchResult);
+                return copy(searchResult);
             }
         } catch (IOException e) {
             logger.error(e.getLocalizedMessage());
@@ -150,19 +214,40 @@ public class SRUImport implements ExternalDataImportInterface {
         return new SearchResult();
     }
 
-    private DataRecord  performQueryToRecord(String queryURL, String identifier) throws NoRecordFoundException {
-        String fullUrl = queryURL + "&maximumRecords=1&query=" + idParameter + equalsOperand + identifier;
+    /**
+     * Copies a search result, so that callers cannot change the kept one.
+     */
+    private static SearchResult copy(SearchResult searchResult) {
+        SearchResult copy = new SearchResult();
+        copy.setNumberOfHits(searchResult.getNumberOfHits());
+        if (Objects.nonNull(searchResult.getHits())) {
+            copy.setHits(new ArrayList<>(searchResult.getHits()));
+        }
+        return copy;
+    }
+
+    private DataRecord performQueryToRecord(String catalogId, SRUCatalogue catalogue, String queryURL,
+            String identifier) throws NoRecordFoundException {
+        String fullUrl = queryURL + "&maximumRecords=1&query=" + catalogue.getIdParameter() + EQUALS_OPERAND
+                + identifier;
+        String cacheKey = catalogId + ' ' + fullUrl;
+        Optional<String> cachedRecord = records.get(cacheKey);
+        if (!cachedRecord.isPresent()) {
+            cachedRecord = readStoredRecord(cacheKey);
+        }
+        if (cachedRecord.isPresent()) {
+            return createDataRecord(catalogue, cachedRecord.get());
+        }
         try {
-            HttpResponse response = sruClient.execute(new HttpGet(fullUrl));
+            HttpResponse response = executeAndWait(catalogue, fullUrl);
             if (Objects.equals(response.getStatusLine().getStatusCode(), SC_OK)) {
                 if (Objects.isNull(response.getEntity())) {
                     throw new NoRecordFoundException("No record with ID '" + identifier + "' found!");
                 }
-                DataRecord record = new DataRecord();
-                record.setMetadataFormat(MetadataFormat.getMetadataFormat(metadataFormat));
-                record.setFileFormat(FileFormat.getFileFormat(fileFormat));
-                record.setOriginalData(IOUtils.toString(response.getEntity().getContent(), Charset.defaultCharset()));
-                return record;
+                String originalData = IOUtils.toString(response.getEntity().getContent(), Charset.defaultCharset());
+                records.put(cacheKey, originalData);
+                storeRecord(cacheKey, originalData);
+                return createDataRecord(catalogue, originalData);
             }
             throw new ConfigException("SRU Request Failed");
         } catch (IOException e) {
@@ -170,65 +255,204 @@ public class SRUImport implements ExternalDataImportInterface {
         }
     }
 
-    private URI createQueryURI(LinkedHashMap<String, String> searchFields) throws URISyntaxException {
-        return new URI(protocol, null, host, port, path, createQueryParameterString(searchFields), null);
+    private static DataRecord createDataRecord(SRUCatalogue catalogue, String originalData) {
+        DataRecord record = new DataRecord();
+        record.setMetadataFormat(MetadataFormat.getMetadataFormat(catalogue.getMetadataFormat()));
+        record.setFileFormat(FileFormat.getFileFormat(catalogue.getFileFormat()));
+        record.setOriginalData(originalData);
+        return record;
     }
 
-    private String createQueryParameterString(LinkedHashMap<String, String> searchFields) {
-        List<BasicNameValuePair> nameValuePairList = searchFields.entrySet().stream()
-                .map(entry -> new BasicNameValuePair(entry.getKey(), entry.getValue()))
-                .collect(Collectors.toList());
-        return URLEncodedUtils.format(nameValuePairList, StandardCharsets.UTF_8);
+    /**
+     * Reads a record from the cache directory, if one is configured and the
+     * record is not expired. A record read is also kept in memory. Records in
+     * the cache directory are deleted when they are dropped from memory or
+     * have expired, so the directory does not grow beyond the cache size and
+     * the records of the last cache time to live.
+     */
+    private static Optional<String> readStoredRecord(String cacheKey) {
+        Optional<Path> storedRecord = getStoredRecordPath(cacheKey);
+        if (!storedRecord.isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            Path file = storedRecord.get();
+            if (Files.isRegularFile(file) && System.currentTimeMillis()
+                    - Files.getLastModifiedTime(file).toMillis() <= getCacheTimeToLive()) {
+                String originalData = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                records.put(cacheKey, originalData);
+                return Optional.of(originalData);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot read cached record: {}", e.getLocalizedMessage());
+        }
+        return Optional.empty();
+    }
+
+    private static void storeRecord(String cacheKey, String originalData) {
+        Optional<Path> storedRecord = getStoredRecordPath(cacheKey);
+        if (storedRecord.isPresent()) {
+            try {
+                Files.createDirectories(storedRecord.get().getParent());
+                Files.write(storedRecord.get(), originalData.getBytes(StandardCharsets.UTF_8));
+                deleteExpiredStoredRecords(storedRecord.get().getParent());
+            } catch (IOException e) {
+                logger.warn("Cannot write cached record: {}", e.getLocalizedMessage());
+            }
+        }
+    }
+
+    private static void deleteStoredRecord(String cacheKey) {
+        Optional<Path> storedRecord = getStoredRecordPath(cacheKey);
+        if (storedRecord.isPresent()) {
+            try {
+                Files.deleteIfExists(storedRecord.get());
+            } catch (IOException e) {
+                logger.warn("Cannot delete cached record: {}", e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * Deletes the expired records from the cache directory, which includes
+     * records stored before the application was restarted. This is done at
+     * most once per cache time to live.
+     */
+    private static void deleteExpiredStoredRecords(Path directory) throws IOException {
+        long now = System.currentTimeMillis();
+        long lastCleanUp = lastStoredRecordsCleanUp.get();
+        if (now - lastCleanUp < getCacheTimeToLive() || !lastStoredRecordsCleanUp.compareAndSet(lastCleanUp, now)) {
+            return;
+        }
+        try (DirectoryStream<Path> storedRecords = Files.newDirectoryStream(directory, "*.xml")) {
+            for (Path storedRecord : storedRecords) {
+                if (now - Files.getLastModifiedTime(storedRecord).toMillis() > getCacheTimeToLive()) {
+                    Files.deleteIfExists(storedRecord);
+                }
+            }
+        }
+    }
+
+    private static Optional<Path> getStoredRecordPath(String cacheKey) {
+        return KitodoConfig.getOptionalString(ParameterSRUImport.CACHE_DIR)
+                .map(directory -> Paths.get(directory, DigestUtils.sha256Hex(cacheKey) + ".xml"));
+    }
+
+    private static long getCacheTimeToLive() {
+        return TimeUnit.SECONDS.toMillis(
+            KitodoConfig.getIntParameter(ParameterSRUImport.CACHE_TIME_TO_LIVE_SEC, DEFAULT_CACHE_TIME_TO_LIVE_SEC));
     }
 
     private String createSearchFieldString(LinkedHashMap<String, String> searchFields) throws UnsupportedEncodingException {
         List<String> searchOperands = searchFields.entrySet().stream()
-                .map(entry -> entry.getKey() + equalsOperand + entry.getValue())
+                .map(entry -> entry.getKey() + EQUALS_OPERAND + entry.getValue())
                 .collect(Collectors.toList());
         return URLEncoder.encode(String.join(" AND ", searchOperands), StandardCharsets.UTF_8.displayName());
     }
 
-    private static void loadOPACConfiguration(String opacName) {
+    /**
+     * Returns the configuration of a catalogue. It is loaded again if the OPAC
+     * configuration file was changed since.
+     */
+    private static SRUCatalogue getCatalogue(String catalogId) {
+        SRUCatalogue catalogue = catalogues.get(catalogId);
+        if (Objects.isNull(catalogue) || !catalogue.isUpToDate()) {
+            catalogue = new SRUCatalogue(catalogId,
+                    KitodoConfig.getIntParameter(ParameterSRUImport.MAX_REQUESTS, DEFAULT_MAX_REQUESTS));
+            catalogues.put(catalogId, catalogue);
+        }
+        return catalogue;
+    }
+
+    /**
+     * Sends a request to a catalogue and waits for the response.
+     */
+    private static HttpResponse executeAndWait(SRUCatalogue catalogue, String url) throws IOException {
         try {
-            // XML configuration of OPAC
-            HierarchicalConfiguration opacConfig = OPACConfig.getOPACConfiguration(opacName);
-
-            for (HierarchicalConfiguration queryConfigParam : opacConfig.configurationsAt(PARAM_TAG)) {
-                switch (queryConfigParam.getString(NAME_ATTRIBUTE)) {
-                    case SCHEME_CONFIG:
-                        protocol = queryConfigParam.getString(VALUE_ATTRIBUTE);
-                        break;
-                    case HOST_CONFIG:
-                        host = queryConfigParam.getString(VALUE_ATTRIBUTE);
-                        break;
-                    case PATH_CONFIG:
-                        path = queryConfigParam.getString(VALUE_ATTRIBUTE);
-                        break;
-                    case PORT_CONFIG:
-                        port = queryConfigParam.getInt(VALUE_ATTRIBUTE);
-                        break;
-                    default:
-                        throw new IllegalStateException("Unexpected value: " + queryConfigParam.getString(NAME_ATTRIBUTE));
-                }
+            return execute(catalogue, url).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
             }
+            throw new IOException(e.getCause());
+        }
+    }
 
-            idParameter = OPACConfig.getIdentifierParameter(opacName);
-            fileFormat = OPACConfig.getConfigValue(opacName, RETURN_FORMAT_TAG);
-            metadataFormat = OPACConfig.getConfigValue(opacName, METADATA_FORMAT_TAG);
+    /**
+     * Sends a request to a catalogue without waiting for the response. If the
+     * maximum number of requests to the catalogue is already under way, this
+     * waits until one of them is answered.
+     */
+    private static Future<HttpResponse> execute(SRUCatalogue catalogue, String url) throws InterruptedException {
+        Semaphore requestSlots = catalogue.getRequestSlots();
+        requestSlots.acquire();
+        try {
+            return getClient().execute(new HttpGet(url), new FutureCallback<HttpResponse>() {
+                @Override
+                public void completed(HttpResponse response) {
+                    requestSlots.release();
+                }
 
-            HierarchicalConfiguration searchFields = OPACConfig.getSearchFields(opacName);
+                @Override
+                public void failed(Exception exception) {
+                    requestSlots.release();
+                }
 
-            for (HierarchicalConfiguration searchField : searchFields.configurationsAt(SEARCHFIELD_TAG)) {
-                searchFieldMapping.put(searchField.getString(LABEL_ATTRIBUTE), searchField.getString(VALUE_ATTRIBUTE));
-            }
+                @Override
+                public void cancelled() {
+                    requestSlots.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            requestSlots.release();
+            throw e;
+        }
+    }
 
-            HierarchicalConfiguration urlParameters = OPACConfig.getUrlParameters(opacName);
+    private static CloseableHttpAsyncClient getClient() {
+        CloseableHttpAsyncClient localReference = sruClient;
+        if (Objects.isNull(localReference)) {
+            synchronized (SRUImport.class) {
+                localReference = sruClient;
+                if (Objects.isNull(localReference)) {
+                    int timeout = (int) TimeUnit.SECONDS.toMillis(
+                        KitodoConfig.getIntParameter(ParameterSRUImport.TIMEOUT_SEC, DEFAULT_TIMEOUT_SEC));
+                    RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(timeout)
+                            .setConnectionRequestTimeout(timeout).setSocketTimeout(timeout).build();
+                    int maxRequests = KitodoConfig.getIntParameter(ParameterSRUImport.MAX_REQUESTS,
+                        DEFAULT_MAX_REQUESTS);
+                    localReference = HttpAsyncClients.custom().setDefaultRequestConfig(requestConfig)
+                            .setMaxConnPerRoute(maxRequests).build();
+                    localReference.start();
+                    sruClient = localReference;
+                    if (!shutdownHookAdded) {
+                        Runtime.getRuntime().addShutdownHook(new Thread(SRUImport::closeClient, "SRUImport shutdown"));
+                        shutdownHookAdded = true;
+                    }
+                }
+            }
+        }
+        return localReference;
+    }
 
-            for (HierarchicalConfiguration queryParam : urlParameters.configurationsAt(PARAM_TAG)) {
-                parameters.put(queryParam.getString(NAME_ATTRIBUTE), queryParam.getString(VALUE_ATTRIBUTE));
+    /**
+     * Closes the HTTP client and its connections. It is called when the Java
+     * virtual machine shuts down. A later request creates a new client.
+     */
+    static void closeClient() {
+        synchronized (SRUImport.class) {
+            CloseableHttpAsyncClient localReference = sruClient;
+            sruClient = null;
+            if (Objects.nonNull(localReference)) {
+                try {
+                    localReference.close();
+                } catch (IOException e) {
+                    logger.warn("Cannot close SRU client: {}", e.getLocalizedMessage());
+                }
             }
-        } catch (IllegalArgumentException e) {
-            logger.error(e.getLocalizedMessage());
         }
     }
 }
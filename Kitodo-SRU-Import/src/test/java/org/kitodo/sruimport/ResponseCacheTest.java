@@ -0,0 +1,74 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.sruimport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResponseCacheTest {
+
+    @Test
+    public void shouldKeepResponses() {
+        ResponseCache<String> cache = new ResponseCache<>("Test", 10, 60000);
+        cache.put("Kalliope query1", "response1");
+
+        Assert.assertEquals("Kept response not returned!", Optional.of("response1"), cache.get("Kalliope query1"));
+        Assert.assertFalse("Response returned for other query!", cache.get("Kalliope query2").isPresent());
+        Assert.assertEquals("Wrong number of hits!", 1, cache.getHits());
+        Assert.assertEquals("Wrong number of misses!", 1, cache.getMisses());
+    }
+
+    @Test
+    public void shouldDropLeastRecentlyUsedResponses() {
+        ResponseCache<String> cache = new ResponseCache<>("Test", 2, 60000);
+        cache.put("query1", "response1");
+        cache.put("query2", "response2");
+        cache.get("query1");
+        cache.put("query3", "response3");
+
+        Assert.assertTrue("Recently used response was dropped!", cache.get("query1").isPresent());
+        Assert.assertFalse("Least recently used response was kept!", cache.get("query2").isPresent());
+        Assert.assertTrue("New response was dropped!", cache.get("query3").isPresent());
+    }
+
+    @Test
+    public void shouldNotReturnExpiredResponses() throws InterruptedException {
+        ResponseCache<String> cache = new ResponseCache<>("Test", 10, 0);
+        cache.put("query", "response");
+        Thread.sleep(5);
+
+        Assert.assertFalse("Expired response was returned!", cache.get("query").isPresent());
+    }
+
+    @Test
+    public void shouldReportDroppedAndExpiredResponses() throws InterruptedException {
+        List<String> evicted = new ArrayList<>();
+        ResponseCache<String> cache = new ResponseCache<>("Test", 1, 60000, evicted::add);
+        cache.put("query1", "response1");
+        cache.put("query2", "response2");
+
+        Assert.assertEquals("Dropped response was not reported!", Collections.singletonList("query1"), evicted);
+
+        ResponseCache<String> expiringCache = new ResponseCache<>("Test", 10, 0, evicted::add);
+        expiringCache.put("query3", "response3");
+        Thread.sleep(5);
+        expiringCache.get("query3");
+
+        Assert.assertEquals("Expired response was not reported!", Arrays.asList("query1", "query3"), evicted);
+    }
+}
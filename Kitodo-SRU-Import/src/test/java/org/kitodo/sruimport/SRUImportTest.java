@@ -27,6 +27,9 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -36,6 +39,7 @@ import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.kitodo.api.externaldatamanagement.SingleHit;
 import org.kitodo.api.schemaconverter.DataRecord;
 import org.kitodo.exceptions.NoRecordFoundException;
 import org.w3c.dom.Document;
@@ -47,6 +51,7 @@ public class SRUImportTest {
 
     private static StubServer server;
     private static final String TEST_FILE_PATH = "src/test/resources/sruTestRecord.xml";
+    private static final String MULTIPLE_RECORDS_TEST_FILE_PATH = "src/test/resources/sruTestRecords.xml";
     private static final String OPAC_NAME = "Kalliope";
     private static final String RECORD_ID = "1";
     private static final String RECORD_IDENTIFIER_VALUE = "12345";
@@ -58,6 +63,9 @@ public class SRUImportTest {
         try (InputStream inputStream = Files.newInputStream(Paths.get(TEST_FILE_PATH))) {
             setupServer(IOUtils.toString(inputStream, StandardCharsets.UTF_8));
         }
+        try (InputStream inputStream = Files.newInputStream(Paths.get(MULTIPLE_RECORDS_TEST_FILE_PATH))) {
+            setupServerForMultipleRecords(IOUtils.toString(inputStream, StandardCharsets.UTF_8));
+        }
     }
 
     @Test
@@ -77,6 +85,15 @@ public class SRUImportTest {
                 recordIdentifierElement.getTextContent());
     }
 
+    @Test
+    public void shouldGetMultipleEntriesById() {
+        SRUImport sruImport = new SRUImport();
+        List<SingleHit> hits = new ArrayList<>(sruImport.getMultipleEntriesById(Arrays.asList("1", "2"), OPAC_NAME));
+        Assert.assertEquals("Wrong number of hits found!", 2, hits.size());
+        Assert.assertEquals("Wrong record identifier found!", "12345", hits.get(0).getIdentifier());
+        Assert.assertEquals("Wrong title found!", "Second test title", hits.get(1).getTitle());
+    }
+
     private static void setupServer(String serverResponse) {
         // endpoint for importing record by id
         whenHttp(server)
@@ -89,6 +106,15 @@ public class SRUImportTest {
                 .then(ok(), contentType("text/xml"), stringContent(serverResponse));
     }
 
+    private static void setupServerForMultipleRecords(String serverResponse) {
+        // endpoint for fetching several records by id
+        whenHttp(server)
+                .match(get("/sru"),
+                        parameter("maximumRecords", "2"),
+                        parameter("query", "ead.id=\"1\" OR ead.id=\"2\""))
+                .then(ok(), contentType("text/xml"), stringContent(serverResponse));
+    }
+
     private Document parseInputStreamToDocument(String inputString) throws ParserConfigurationException,
             IOException, SAXException {
         try (InputStream inputStream = new ByteArrayInputStream(inputString.getBytes())) {
@@ -99,6 +125,7 @@ public class SRUImportTest {
 
     @AfterClass
     public static void shutdown() {
+        SRUImport.closeClient();
         server.stop();
     }
 
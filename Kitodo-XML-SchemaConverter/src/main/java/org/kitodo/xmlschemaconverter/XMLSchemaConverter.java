@@ -13,12 +13,12 @@ package org.kitodo.xmlschemaconverter;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InvalidClassException;
 import java.io.StringReader;
 import java.io.StringWriter;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,12 +26,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UnknownFormatConversionException;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Result;
-import javax.xml.transform.Transformer;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.sax.SAXResult;
@@ -67,6 +65,27 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
     private static FileFormat supportedSourceFileFormat = FileFormat.XML;
     private static FileFormat supportedTargetFileFormat = FileFormat.XML;
 
+    /*
+    Compiled XSLT files by file. A file is compiled again if it was changed since.
+     */
+    private static Map<File, CompiledXslt> compiledXslts = new ConcurrentHashMap<>();
+
+    /*
+    Transformer factories are not thread-safe, so each thread gets its own.
+     */
+    private static ThreadLocal<SAXTransformerFactory> transformerFactory = ThreadLocal
+            .withInitial(XMLSchemaConverter::createTransformerFactory);
+
+    private static class CompiledXslt {
+        private final long lastModified;
+        private final Templates templates;
+
+        CompiledXslt(long lastModified, Templates templates) {
+            this.lastModified = lastModified;
+            this.templates = templates;
+        }
+    }
+
     /**
      * Converts a given DataRecord to the given MetadataFormat 'targetMetadataFormat' and FileFormat 'targetFileFormat'.
      *
@@ -88,22 +107,15 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
         }
 
         if (record.getOriginalData() instanceof String) {
-            String xmlString = (String)record.getOriginalData();
-            String conversionResult;
-
+            List<Templates> xsltChain = new ArrayList<>();
             if (Objects.nonNull(mappingFile)) {
-                try (InputStream fileStream = Files.newInputStream(mappingFile.toPath())) {
-                    conversionResult = transformXmlByXslt(xmlString, fileStream);
-                }
+                xsltChain.add(getTemplates(mappingFile));
             } else {
-                List<String> xslFiles = supportedSourceMetadataFormats.get(record.getMetadataFormat());
-                for (String xsltFile : xslFiles) {
-                    try (InputStream fileStream = Files.newInputStream(Paths.get(xsltFile))) {
-                        xmlString = transformXmlByXslt(xmlString, fileStream);
-                    }
+                for (String xsltFile : supportedSourceMetadataFormats.get(record.getMetadataFormat())) {
+                    xsltChain.add(getTemplates(new File(xsltFile)));
                 }
-                conversionResult = xmlString;
             }
+            String conversionResult = transformXmlByXslt((String) record.getOriginalData(), xsltChain);
 
             DataRecord resultRecord = new DataRecord();
             resultRecord.setOriginalData(conversionResult);
@@ -116,6 +128,33 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
         }
     }
 
+    /**
+     * Converts several DataRecords in parallel.
+     *
+     * @param records DataRecords to be converted
+     * @param targetMetadataFormat MetadataFormat to which the given DataRecords are converted
+     * @param targetFileFormat FileFormat to which the given DataRecords are converted
+     * @param mappingFile mapping file; if null, the schema converter module uses a default mapping
+     * @return The results of the conversion as DataRecords, in the order of the given records.
+     */
+    @Override
+    public List<DataRecord> convert(Iterable<DataRecord> records, MetadataFormat targetMetadataFormat,
+                                    FileFormat targetFileFormat, File mappingFile) throws IOException {
+        List<DataRecord> recordList = new ArrayList<>();
+        records.forEach(recordList::add);
+        try {
+            return Arrays.asList(recordList.parallelStream().map(record -> {
+                try {
+                    return convert(record, targetMetadataFormat, targetFileFormat, mappingFile);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).toArray(DataRecord[]::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     @Override
     public boolean supportsTargetMetadataFormat(MetadataFormat format) {
         return supportedTargetMetadataFormat.equals(format);
@@ -136,28 +175,50 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
         return supportedSourceFileFormat.equals(format);
     }
 
-    private String transformXmlByXslt(String xmlString, InputStream stylesheetFile) {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        try {
-            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-        } catch (ParserConfigurationException e) {
-            throw new IllegalArgumentException(e.getMessage(), e);
-        }
-        factory.setNamespaceAware(true);
+    /**
+     * Transforms XML with a chain of XSLT files. The stages are connected
+     * with SAX events, so that intermediate results are not serialized.
+     */
+    private String transformXmlByXslt(String xmlString, List<Templates> xsltChain) {
         try {
+            SAXTransformerFactory factory = transformerFactory.get();
             StringWriter stringWriter = new StringWriter();
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            System.setProperty("http.agent", "Chrome");
-            Transformer xsltTransformer = transformerFactory.newTransformer(new StreamSource(stylesheetFile));
-            TransformerHandler handler
-                    = ((SAXTransformerFactory) SAXTransformerFactory.newInstance()).newTransformerHandler();
+            TransformerHandler handler = factory.newTransformerHandler();
             handler.setResult(new StreamResult(stringWriter));
-            Result saxResult = new SAXResult(handler);
+            for (int i = xsltChain.size() - 1; i > 0; i--) {
+                TransformerHandler stage = factory.newTransformerHandler(xsltChain.get(i));
+                stage.setResult(new SAXResult(handler));
+                handler = stage;
+            }
             SAXSource saxSource = new SAXSource(new InputSource(new StringReader(xmlString)));
-            xsltTransformer.transform(saxSource, saxResult);
+            xsltChain.get(0).newTransformer().transform(saxSource, new SAXResult(handler));
             return stringWriter.toString();
         } catch (TransformerException e) {
             throw new ConfigException("Error in transforming the response in intern format : ", e);
         }
     }
+
+    private static Templates getTemplates(File xsltFile) throws IOException {
+        long lastModified = xsltFile.lastModified();
+        CompiledXslt compiledXslt = compiledXslts.get(xsltFile);
+        if (Objects.isNull(compiledXslt) || compiledXslt.lastModified != lastModified) {
+            if (!xsltFile.isFile()) {
+                throw new NoSuchFileException(xsltFile.getPath());
+            }
+            try {
+                // remote includes of the XSLT files are not served to the default user agent
+                System.setProperty("http.agent", "Chrome");
+                Templates templates = transformerFactory.get().newTemplates(new StreamSource(xsltFile));
+                compiledXslt = new CompiledXslt(lastModified, templates);
+                compiledXslts.put(xsltFile, compiledXslt);
+            } catch (TransformerConfigurationException e) {
+                throw new ConfigException("Error in compiling XSLT file " + xsltFile + " : ", e);
+            }
+        }
+        return compiledXslt.templates;
+    }
+
+    private static SAXTransformerFactory createTransformerFactory() {
+        return (SAXTransformerFactory) TransformerFactory.newInstance();
+    }
 }
@@ -19,6 +19,8 @@ import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -140,6 +142,48 @@ public class XmlSchemaConverterTest {
         Assert.assertEquals("shelfmarksource after conversion is wrong!", "Test-Shelflocator", shelfmarksource);
     }
 
+    @Test
+    public void shouldConvertSeveralRecordsInOrder() throws IOException, ParserConfigurationException, SAXException {
+        String modsRecord;
+        try (InputStream inputStream = Files.newInputStream(Paths.get(MODS_TEST_FILE_PATH))) {
+            modsRecord = IOUtils.toString(inputStream, Charset.defaultCharset());
+        }
+        List<DataRecord> testRecords = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            DataRecord testRecord = new DataRecord();
+            testRecord.setMetadataFormat(MetadataFormat.MODS);
+            testRecord.setFileFormat(FileFormat.XML);
+            testRecord.setOriginalData(modsRecord.replace("Test-Title", "Test-Title-" + i));
+            testRecords.add(testRecord);
+        }
+
+        List<DataRecord> internalFormatRecords = converter.convert(testRecords, MetadataFormat.KITODO,
+            FileFormat.XML, null);
+
+        Assert.assertEquals("Wrong number of conversion results!", testRecords.size(), internalFormatRecords.size());
+        for (int i = 1; i <= internalFormatRecords.size(); i++) {
+            DataRecord internalFormatRecord = internalFormatRecords.get(i - 1);
+            Assert.assertEquals("Conversion result has wrong MetadataFormat!",
+                    MetadataFormat.KITODO, internalFormatRecord.getMetadataFormat());
+            Assert.assertEquals("Conversion result has wrong FileFormat!", FileFormat.XML,
+                    internalFormatRecord.getFileFormat());
+            Document resultDocument = parseInputStreamToDocument((String) internalFormatRecord.getOriginalData());
+            NodeList metadataNodes = resultDocument.getElementsByTagName("kitodo:metadata");
+            String title = "";
+            String catalogId = "";
+            for (int j = 0; j < metadataNodes.getLength(); j++) {
+                Element element = (Element) metadataNodes.item(j);
+                if ("TitleDocMain".equals(element.getAttribute("name"))) {
+                    title = element.getTextContent();
+                } else if ("CatalogIDDigital".equals(element.getAttribute("name"))) {
+                    catalogId = element.getTextContent();
+                }
+            }
+            Assert.assertEquals("Title after conversion is wrong or out of order!", "Test-Title-" + i, title);
+            Assert.assertEquals("Catalog ID after conversion is wrong!", "67890", catalogId);
+        }
+    }
+
     private Document parseInputStreamToDocument(String inputString) throws ParserConfigurationException,
             IOException, SAXException {
         try (InputStream inputStream = new ByteArrayInputStream(inputString.getBytes())) {
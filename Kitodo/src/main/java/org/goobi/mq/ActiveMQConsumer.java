@@ -0,0 +1,87 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.goobi.mq;
+
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+import javax.jms.Session;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * One of the consumers of a queue. Each consumer has a session of its own,
+ * because a session delivers its messages one after the other. A message is
+ * only acknowledged after it was processed. If processing fails, the session
+ * is recovered, so that the server delivers the message again after the
+ * redelivery delay, or moves it to the dead letter queue if it was delivered
+ * too often.
+ */
+class ActiveMQConsumer implements MessageListener {
+    private static final Logger logger = LogManager.getLogger(ActiveMQConsumer.class);
+
+    /**
+     * Message property holding the number of times the message was delivered.
+     */
+    private static final String DELIVERY_COUNT = "JMSXDeliveryCount";
+
+    private final ActiveMQProcessor processor;
+    private final Session session;
+    private final QueueMetrics metrics;
+    private final int maxRedeliveries;
+
+    /**
+     * Creates a consumer.
+     *
+     * @param processor
+     *            processor to process the messages
+     * @param session
+     *            session of this consumer, in client acknowledge mode
+     * @param metrics
+     *            metrics of the queue
+     * @param maxRedeliveries
+     *            number of times a message is delivered again before it is
+     *            given up
+     */
+    ActiveMQConsumer(ActiveMQProcessor processor, Session session, QueueMetrics metrics, int maxRedeliveries) {
+        this.processor = processor;
+        this.session = session;
+        this.metrics = metrics;
+        this.maxRedeliveries = maxRedeliveries;
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        long start = System.nanoTime();
+        boolean done = processor.handleMessage(message, getDeliveryCount(message) > maxRedeliveries);
+        try {
+            if (done) {
+                message.acknowledge();
+            } else {
+                session.recover();
+            }
+        } catch (JMSException | RuntimeException e) {
+            logger.error("Error " + (done ? "acknowledging" : "recovering") + " message on \""
+                    + processor.getQueueName() + "\"", e);
+        }
+        metrics.record(done, System.nanoTime() - start);
+    }
+
+    private static int getDeliveryCount(Message message) {
+        try {
+            return message.getIntProperty(DELIVERY_COUNT);
+        } catch (JMSException | NumberFormatException e) {
+            return 1;
+        }
+    }
+}
@@ -11,8 +11,13 @@
 
 package org.goobi.mq;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.jms.Connection;
 import javax.jms.DeliveryMode;
@@ -27,6 +32,7 @@ import javax.servlet.ServletContextListener;
 import javax.servlet.annotation.WebListener;
 
 import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.RedeliveryPolicy;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.goobi.mq.processors.CreateNewProcessProcessor;
@@ -49,6 +55,13 @@ import org.kitodo.config.enums.ParameterCore;
  * why without inspecting the source code.
  *
  * <p>
+ * Each queue is read by several consumers, each one with a session of its
+ * own, so that several messages are processed at the same time. Their number
+ * is configured by “activeMQ.consumers”. A message is only acknowledged after
+ * it has been processed. If processing fails, the message is delivered again
+ * with an increasing delay, up to “activeMQ.maxRedeliveries” times.
+ *
+ * <p>
  * The class ActiveMQDirector also provides a basic ExceptionListener
  * implementation as required for the connection.
  */
@@ -67,6 +80,8 @@ public class ActiveMQDirector implements ServletContextListener, ExceptionListen
     protected static Connection connection = null;
     protected static Session session = null;
     protected static MessageProducer resultsTopic;
+    private static final List<Session> consumerSessions = new CopyOnWriteArrayList<>();
+    private static final Map<String, QueueMetrics> queueMetrics = new ConcurrentHashMap<>();
 
     /**
      * The method is called by the web container on startup
@@ -91,7 +106,10 @@ public class ActiveMQDirector implements ServletContextListener, ExceptionListen
 
     /**
      * Sets up a connection to an active MQ server. The connection object is
-     * global because it is needed later to shut down the connection.
+     * global because it is needed later to shut down the connection. Each
+     * consumer fetches only a few messages in advance, so that the messages of
+     * a burst are spread over all consumers. Messages waiting to be delivered
+     * again do not block the messages behind them.
      *
      * @param server
      *            should be “tcp://{host}:{port}” or “vm://localhost” in case
@@ -100,7 +118,12 @@ public class ActiveMQDirector implements ServletContextListener, ExceptionListen
      */
     protected Session connectToServer(String server) {
         try {
-            connection = new ActiveMQConnectionFactory(server).createConnection();
+            ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(server);
+            connectionFactory.getPrefetchPolicy()
+                    .setQueuePrefetch(ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_PREFETCH));
+            connectionFactory.setRedeliveryPolicy(createRedeliveryPolicy());
+            connectionFactory.setNonBlockingRedelivery(true);
+            connection = connectionFactory.createConnection();
             connection.start();
             connection.setExceptionListener(this); // ActiveMQDirector.onException()
             return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
@@ -110,24 +133,51 @@ public class ActiveMQDirector implements ServletContextListener, ExceptionListen
         return null;
     }
 
+    /**
+     * Creates the policy for messages whose processing failed. The delay
+     * doubles with every delivery, so that a temporary problem, such as a
+     * locked database row, has time to disappear.
+     *
+     * @return the redelivery policy
+     */
+    private static RedeliveryPolicy createRedeliveryPolicy() {
+        long redeliveryDelay = ConfigCore.getLongParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_REDELIVERY_DELAY);
+        RedeliveryPolicy redeliveryPolicy = new RedeliveryPolicy();
+        redeliveryPolicy.setMaximumRedeliveries(
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_MAX_REDELIVERIES));
+        redeliveryPolicy.setInitialRedeliveryDelay(redeliveryDelay);
+        redeliveryPolicy.setRedeliveryDelay(redeliveryDelay);
+        redeliveryPolicy.setUseExponentialBackOff(true);
+        redeliveryPolicy.setBackOffMultiplier(2);
+        return redeliveryPolicy;
+    }
+
     /**
      * This method registers the listeners with the active MQ server.
      *
      * <p>
-     * If a queue name was configured for a service, a MessageConsumer is set up
-     * to listen on that queue and, in case of incoming messages, make the
-     * service process the message. The message checker is saved inside the
-     * service to be able to shut it down later.
+     * If a queue name was configured for a service, the configured number of
+     * MessageConsumers is set up to listen on that queue and, in case of
+     * incoming messages, make the service process the message. Each consumer
+     * gets a session of its own. The message checkers are saved inside the
+     * service to be able to shut them down later.
      */
     protected void registerListeners(ActiveMQProcessor[] processors) {
+        int consumers = Math.max(1, ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_CONSUMERS));
+        int maxRedeliveries = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_MAX_REDELIVERIES);
         for (ActiveMQProcessor processor : processors) {
             if (Objects.nonNull(processor.getQueueName())) {
-                MessageConsumer messageChecker;
+                QueueMetrics metrics = queueMetrics.computeIfAbsent(processor.getQueueName(), QueueMetrics::new);
                 try {
-                    Destination queue = session.createQueue(processor.getQueueName());
-                    messageChecker = session.createConsumer(queue);
-                    messageChecker.setMessageListener(processor);
-                    processor.saveChecker(messageChecker);
+                    for (int i = 0; i < consumers; i++) {
+                        Session consumerSession = connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
+                        consumerSessions.add(consumerSession);
+                        Destination queue = consumerSession.createQueue(processor.getQueueName());
+                        MessageConsumer messageChecker = consumerSession.createConsumer(queue);
+                        messageChecker.setMessageListener(
+                            new ActiveMQConsumer(processor, consumerSession, metrics, maxRedeliveries));
+                        processor.saveChecker(messageChecker);
+                    }
                 } catch (JMSException | RuntimeException e) {
                     logger.fatal("Error setting up monitoring for \"" + processor.getQueueName() + "\": Giving up.", e);
                 }
@@ -194,6 +244,15 @@ public class ActiveMQDirector implements ServletContextListener, ExceptionListen
         return resultsTopic;
     }
 
+    /**
+     * Returns the throughput of the queues which are listened to.
+     *
+     * @return the metrics by queue name
+     */
+    public static Map<String, QueueMetrics> getQueueMetrics() {
+        return Collections.unmodifiableMap(queueMetrics);
+    }
+
     /**
      * The method contextDestroyed is called by the web container on shutdown.
      * It shuts down all listeners, the session and last, the connection.
@@ -204,8 +263,7 @@ public class ActiveMQDirector implements ServletContextListener, ExceptionListen
     public void contextDestroyed(ServletContextEvent destruction) {
         // Shut down all watchers on any queues
         for (ActiveMQProcessor service : services) {
-            MessageConsumer watcher = service.getChecker();
-            if (Objects.nonNull(watcher)) {
+            for (MessageConsumer watcher : service.getCheckers()) {
                 try {
                     watcher.close();
                 } catch (JMSException e) {
@@ -213,6 +271,17 @@ public class ActiveMQDirector implements ServletContextListener, ExceptionListen
                 }
             }
         }
+        queueMetrics.values().forEach(logger::info);
+
+        // quit consumer sessions
+        for (Session consumerSession : consumerSessions) {
+            try {
+                consumerSession.close();
+            } catch (JMSException e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+        consumerSessions.clear();
 
         // quit session
         try {
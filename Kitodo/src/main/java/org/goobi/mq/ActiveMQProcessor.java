@@ -11,15 +11,20 @@
 
 package org.goobi.mq;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.jms.JMSException;
 import javax.jms.MapMessage;
 import javax.jms.Message;
 import javax.jms.MessageConsumer;
-import javax.jms.MessageListener;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.production.enums.ReportLevel;
 import org.kitodo.production.helper.Helper;
@@ -29,13 +34,33 @@ import org.kitodo.production.helper.Helper;
  * incoming messages available as MapMessages and publishing the results. When I
  * came clear that this code would be necessary for every processor, I thought
  * an abstract class would be the right place for it. ActiveMQProcessor also
- * provides a place to save the checker for the ActiveMQDirector, to be able to
- * shut it down later.
+ * provides a place to save the checkers for the ActiveMQDirector, to be able to
+ * shut them down later.
+ *
+ * <p>
+ * Several checkers may call the processor at the same time, so the method
+ * process() must not keep state in the processor object. Messages concerning
+ * the same process are processed one after the other, if the processor tells
+ * the process by overriding getProcessId().
  */
-public abstract class ActiveMQProcessor implements MessageListener {
+public abstract class ActiveMQProcessor {
+    private static final Logger logger = LogManager.getLogger(ActiveMQProcessor.class);
+
+    /**
+     * Locks for the processes concerned by messages being processed. The
+     * processes are spread over a fixed number of locks, so that no lock has
+     * to be created and removed per process.
+     */
+    private static final Object[] processLocks = new Object[64];
+
+    static {
+        for (int i = 0; i < processLocks.length; i++) {
+            processLocks[i] = new Object();
+        }
+    }
 
     private String queueName; // the queue name will be available here
-    private MessageConsumer checker;
+    private final List<MessageConsumer> checkers = new CopyOnWriteArrayList<>();
 
     /**
      * Implement the method process() to let your service actually do what you
@@ -47,6 +72,25 @@ public abstract class ActiveMQProcessor implements MessageListener {
      */
     protected abstract void process(MapMessageObjectReader ticket) throws DAOException, JMSException;
 
+    /**
+     * Returns the ID of the process a message concerns. Messages concerning
+     * the same process are processed one after the other, even if they arrive
+     * on different queues, so that they do not overwrite each other’s changes
+     * of the process. The default implementation returns {@code null}, which
+     * means that the message may be processed at any time.
+     *
+     * @param ticket
+     *            the incoming message
+     * @return the ID of the process, or {@code null}
+     * @throws DAOException
+     *             if the process cannot be determined
+     * @throws JMSException
+     *             if the message cannot be read
+     */
+    protected Integer getProcessId(MapMessageObjectReader ticket) throws DAOException, JMSException {
+        return null;
+    }
+
     /**
      * Instantiating the class ActiveMQProcessor always requires to pass the
      * name of the queue it should be attached to. That means, your constructor
@@ -80,10 +124,20 @@ public abstract class ActiveMQProcessor implements MessageListener {
      * Since this will be the same for all processors which use MapMessages, I
      * extracted the portion into the abstract class.
      *
-     * @see javax.jms.MessageListener#onMessage(javax.jms.Message)
+     * <p>
+     * If processing fails, the message should be delivered again later,
+     * unless it was malformed. Errors are only reported to the results topic
+     * if the message will not be delivered again.
+     *
+     * @param arg
+     *            the incoming message
+     * @param lastDelivery
+     *            whether the message will not be delivered again if
+     *            processing fails
+     * @return whether the message is done with, false if it should be
+     *         delivered again
      */
-    @Override
-    public void onMessage(Message arg) {
+    boolean handleMessage(Message arg, boolean lastDelivery) {
         MapMessageObjectReader ticket;
         String ticketID = null;
 
@@ -102,17 +156,35 @@ public abstract class ActiveMQProcessor implements MessageListener {
             loggingConfig.put("id", ticketID);
             Helper.setActiveMQReporting(loggingConfig);
 
-            // process ticket
-            process(ticket);
-
-            // turn off logging again
-            Helper.setActiveMQReporting(null);
+            // process ticket, one after the other per process
+            Integer processId = getProcessId(ticket);
+            if (Objects.isNull(processId)) {
+                process(ticket);
+            } else {
+                synchronized (processLocks[Math.floorMod(processId, processLocks.length)]) {
+                    process(ticket);
+                }
+            }
 
             // if everything ‘s fine, report success
             new WebServiceResult(queueName, ticketID, ReportLevel.SUCCESS).send();
-        } catch (Exception e) {
-            // report any errors
+            return true;
+        } catch (IllegalArgumentException e) {
+            // a malformed ticket will not get better by delivering it again
             new WebServiceResult(queueName, ticketID, ReportLevel.FATAL, e.getMessage()).send();
+            return true;
+        } catch (Exception e) {
+            // report any errors, if this was the last try
+            if (lastDelivery) {
+                new WebServiceResult(queueName, ticketID, ReportLevel.FATAL, e.getMessage()).send();
+            } else {
+                logger.warn("Processing message \"{}@{}\" failed, it will be delivered again: {}", ticketID,
+                    queueName, e.getMessage());
+            }
+            return false;
+        } finally {
+            // turn off logging again
+            Helper.setActiveMQReporting(null);
         }
     }
 
@@ -126,25 +198,24 @@ public abstract class ActiveMQProcessor implements MessageListener {
     }
 
     /**
-     * The parent object which is there to check for new messages and to trigger
-     * the method onMessage() is saved inside the class, to have it lately for
-     * shutting down the service again.
+     * The parent objects which are there to check for new messages and to
+     * trigger the method handleMessage() are saved inside the class, to have
+     * them lately for shutting down the service again.
      *
      * @param checker
-     *            the MessageConsumer object responsible for checking messages
+     *            a MessageConsumer object responsible for checking messages
      */
-
     public void saveChecker(MessageConsumer checker) {
-        this.checker = checker;
+        this.checkers.add(checker);
     }
 
     /**
-     * This method is used to get back the message checking object upon
+     * This method is used to get back the message checking objects upon
      * shutdown.
      *
-     * @return the MessageConsumer object responsible for checking messages
+     * @return the MessageConsumer objects responsible for checking messages
      */
-    public MessageConsumer getChecker() {
-        return checker;
+    public List<MessageConsumer> getCheckers() {
+        return Collections.unmodifiableList(checkers);
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.goobi.mq;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Counts the messages processed from one queue, to see the throughput of the
+ * processors. The counts are logged regularly.
+ */
+public class QueueMetrics {
+    private static final Logger logger = LogManager.getLogger(QueueMetrics.class);
+
+    /**
+     * Number of acknowledged messages after which the counts are logged.
+     */
+    private static final int LOG_INTERVAL = 1000;
+
+    private final String queueName;
+    private final long started = System.nanoTime();
+    private final LongAdder acknowledged = new LongAdder();
+    private final LongAdder redelivered = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+
+    /**
+     * Creates the metrics of a queue.
+     *
+     * @param queueName
+     *            name of the queue
+     */
+    QueueMetrics(String queueName) {
+        this.queueName = queueName;
+    }
+
+    /**
+     * Counts a processed message.
+     *
+     * @param done
+     *            whether the message was acknowledged, false if it is
+     *            delivered again
+     * @param nanos
+     *            processing time in nanoseconds
+     */
+    void record(boolean done, long nanos) {
+        processingNanos.add(nanos);
+        if (done) {
+            acknowledged.increment();
+            if (acknowledged.sum() % LOG_INTERVAL == 0) {
+                logger.info(this);
+            }
+        } else {
+            redelivered.increment();
+        }
+    }
+
+    /**
+     * Returns the name of the queue.
+     *
+     * @return the queue name
+     */
+    public String getQueueName() {
+        return queueName;
+    }
+
+    /**
+     * Returns the number of messages which were processed or rejected and
+     * acknowledged.
+     *
+     * @return the number of acknowledged messages
+     */
+    public long getAcknowledged() {
+        return acknowledged.sum();
+    }
+
+    /**
+     * Returns the number of times processing a message failed and the message
+     * was handed back to be delivered again.
+     *
+     * @return the number of redeliveries
+     */
+    public long getRedelivered() {
+        return redelivered.sum();
+    }
+
+    /**
+     * Returns the number of acknowledged messages per second since the
+     * consumers were started.
+     *
+     * @return the throughput
+     */
+    public double getThroughput() {
+        double seconds = (System.nanoTime() - started) / (double) TimeUnit.SECONDS.toNanos(1);
+        return seconds > 0 ? getAcknowledged() / seconds : 0;
+    }
+
+    /**
+     * Returns the average time it took to process a message.
+     *
+     * @return the average processing time in milliseconds
+     */
+    public double getAverageProcessingMillis() {
+        long count = getAcknowledged() + getRedelivered();
+        return count > 0 ? processingNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1) / count : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Queue \"%s\": %d messages acknowledged, %d redelivered, %.2f messages/s, %.1f ms each",
+            queueName, getAcknowledged(), getRedelivered(), getThroughput(), getAverageProcessingMillis());
+    }
+}
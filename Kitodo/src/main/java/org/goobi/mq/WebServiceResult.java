@@ -76,20 +76,22 @@ public class WebServiceResult {
                 "Processing message \"" + id + '@' + queueName + "\" reports " + level.toLowerCase() + "."
                         + (Objects.nonNull(message) ? " (" + message + ")" : ""));
         } else {
+            // the session is shared by all consumers, but must not be used concurrently
             try {
-                MapMessage report = ActiveMQDirector.getSession().createMapMessage();
+                synchronized (ActiveMQDirector.getSession()) {
+                    MapMessage report = ActiveMQDirector.getSession().createMapMessage();
 
-                DateTime now = new DateTime();
-                report.setString("timestamp", ISODateTimeFormat.dateTime().print(now));
-                report.setString("queue", queueName);
-                report.setString("id", id);
-                report.setString("level", level.toLowerCase());
-                if (Objects.nonNull(message)) {
-                    report.setString("message", message);
-                }
-
-                ActiveMQDirector.getResultsTopic().send(report);
+                    DateTime now = new DateTime();
+                    report.setString("timestamp", ISODateTimeFormat.dateTime().print(now));
+                    report.setString("queue", queueName);
+                    report.setString("id", id);
+                    report.setString("level", level.toLowerCase());
+                    if (Objects.nonNull(message)) {
+                        report.setString("message", message);
+                    }
 
+                    ActiveMQDirector.getResultsTopic().send(report);
+                }
             } catch (JMSException | RuntimeException e) {
                 logger.fatal("Error sending report  for \"" + id + '@' + queueName + "\" (" + level.toLowerCase()
                         + (Objects.nonNull(message) ? ": " + message : "") + "): Giving up.", e);
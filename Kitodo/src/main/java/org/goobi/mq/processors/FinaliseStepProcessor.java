@@ -45,6 +45,20 @@ public class FinaliseStepProcessor extends ActiveMQProcessor {
         super(ConfigCore.getOptionalString(ParameterCore.ACTIVE_MQ_FINALIZE_STEP_QUEUE).orElse(null));
     }
 
+    /**
+     * Returns the ID of the process of the step to close. Two steps of the
+     * same process must not be closed at the same time, because closing a
+     * step changes the state of the other steps of the process.
+     *
+     * @param ticket
+     *            the incoming message
+     * @return the ID of the process
+     */
+    @Override
+    protected Integer getProcessId(MapMessageObjectReader ticket) throws DAOException, JMSException {
+        return ServiceManager.getTaskService().getById(ticket.getMandatoryInteger("id")).getProcess().getId();
+    }
+
     /**
      * This is the main routine processing incoming tickets. It gets an
      * CurrentTaskForm object, sets it to the appropriate step which is
@@ -0,0 +1,75 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.goobi.webapi.beans;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The position of a process in the list of processes, which is ordered by
+ * identifier and process ID. A client passes the cursor of the last process it
+ * has received to get the next page of processes. The cursor is opaque to the
+ * client.
+ */
+public class ProcessCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private String identifier;
+
+    private int processId;
+
+    /**
+     * Constructor.
+     *
+     * @param identifier
+     *            identifier of the process
+     * @param processId
+     *            database ID of the process
+     */
+    public ProcessCursor(String identifier, int processId) {
+        this.identifier = identifier;
+        this.processId = processId;
+    }
+
+    /**
+     * Constructor for a cursor passed by a client.
+     *
+     * @param cursor
+     *            as String
+     */
+    public ProcessCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            this.processId = Integer.parseInt(decoded.substring(0, separator));
+            this.identifier = decoded.substring(separator + 1);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Given string is not a valid cursor.", e);
+        }
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public int getProcessId() {
+        return processId;
+    }
+
+    @Override
+    public String toString() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((Integer.toString(processId) + SEPARATOR + identifier).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
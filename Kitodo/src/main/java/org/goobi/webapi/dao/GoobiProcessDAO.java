@@ -11,6 +11,7 @@
 
 package org.goobi.webapi.dao;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -20,12 +21,19 @@ import org.apache.logging.log4j.Logger;
 import org.goobi.webapi.beans.GoobiProcess;
 import org.goobi.webapi.beans.GoobiProcessStep;
 import org.goobi.webapi.beans.IdentifierPPN;
+import org.goobi.webapi.beans.ProcessCursor;
 import org.hibernate.Criteria;
 import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.StatelessSession;
 import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.Query;
 import org.hibernate.transform.Transformers;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.beans.Task;
@@ -34,6 +42,31 @@ import org.kitodo.data.database.persistence.HibernateUtil;
 public class GoobiProcessDAO {
 
     private static final Logger logger = LogManager.getLogger(GoobiProcessDAO.class);
+    private static final int FETCH_SIZE = 500;
+    private static final String PROCESSES_QUERY = "SELECT we.value, ve.value, p.id FROM Process p"
+            + " JOIN p.workpieces we JOIN p.templates ve"
+            + " WHERE we.title IN ('PPN digital a-Satz', 'PPN digital f-Satz') AND ve.title = 'Titel'";
+    private static final String PROCESSES_AFTER_CURSOR = " AND (we.value > :identifier"
+            + " OR (we.value = :identifier AND p.id > :processId))";
+    private static final String PROCESSES_ORDER = " ORDER BY we.value, p.id";
+
+    /**
+     * Is passed the processes read by {@link #scrollProcesses}.
+     */
+    @FunctionalInterface
+    public interface ProcessHandler {
+        /**
+         * Handles a process.
+         *
+         * @param process
+         *            the process read
+         * @param position
+         *            cursor to continue after this process
+         * @throws IOException
+         *             if the process cannot be written
+         */
+        void handle(GoobiProcess process, ProcessCursor position) throws IOException;
+    }
 
     /**
      * Private constructor to hide the implicit public one.
@@ -78,35 +111,57 @@ public class GoobiProcessDAO {
     }
 
     /**
-     * Get all processes.
+     * Reads processes in the order of their identifiers, one after the other,
+     * without keeping them in memory. The rows are read with a stateless
+     * session of their own, so that reading many processes does not fill the
+     * session cache of the current thread.
      *
-     * @return List of GoobiProcess objects
+     * @param after
+     *            cursor of the process to continue after, or null to start at
+     *            the beginning
+     * @param limit
+     *            maximum number of processes to read, 0 to read all
+     * @param handler
+     *            is passed each process as soon as it was read
+     * @throws IOException
+     *             if the processes cannot be read from the database, or if
+     *             the handler throws it
      */
-    public static List<GoobiProcess> getAllProcesses() {
-        Session session = HibernateUtil.getSession();
-        List<GoobiProcess> allProcesses = new ArrayList<>();
-
-        try {
-            Criteria criteria = session.createCriteria(Process.class).createAlias("templates", "v")
-                    .createAlias("templates.properties", "ve").createAlias("workpieces", "w")
-                    .createAlias("workpieces.properties", "we")
-                    .add(Restrictions.or(Restrictions.eq("we.title", "PPN digital a-Satz"),
-                            Restrictions.eq("we.title", "PPN digital f-Satz")))
-                    .add(Restrictions.eq("ve.title", "Titel")).addOrder(Order.asc("we.value"))
-                    .setProjection(Projections.projectionList().add(Projections.property("we.value"), "identifier")
-                            .add(Projections.property("ve.value"), "title"))
-                    .setResultTransformer(Transformers.aliasToBean(GoobiProcess.class));
-
-            @SuppressWarnings(value = "unchecked")
-            List<GoobiProcess> list = criteria.list();
-            if (Objects.nonNull(list) && !list.isEmpty()) {
-                allProcesses.addAll(list);
+    public static void scrollProcesses(ProcessCursor after, int limit, ProcessHandler handler) throws IOException {
+        SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor) HibernateUtil.getSession()
+                .getSessionFactory();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Query<Object[]> query = session.createQuery(
+                PROCESSES_QUERY + (Objects.nonNull(after) ? PROCESSES_AFTER_CURSOR : "") + PROCESSES_ORDER,
+                Object[].class);
+            if (Objects.nonNull(after)) {
+                query.setParameter("identifier", after.getIdentifier());
+                query.setParameter("processId", after.getProcessId());
+            }
+            if (limit > 0) {
+                query.setMaxResults(limit);
+            }
+            query.setReadOnly(true);
+            query.setFetchSize(getStreamingFetchSize(sessionFactory));
+            try (ScrollableResults rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    String identifier = (String) rows.get(0);
+                    handler.handle(new GoobiProcess(identifier, (String) rows.get(1)),
+                        new ProcessCursor(identifier, (Integer) rows.get(2)));
+                }
             }
         } catch (HibernateException e) {
-            logger.error(e.getMessage(), e);
+            throw new IOException(e.getMessage(), e);
         }
+    }
 
-        return allProcesses;
+    /**
+     * MySQL Connector/J only streams the rows of a result with this special
+     * fetch size. Otherwise, it reads the whole result into memory first.
+     */
+    private static int getStreamingFetchSize(SessionFactoryImplementor sessionFactory) {
+        return sessionFactory.getJdbcServices().getDialect() instanceof MySQLDialect ? Integer.MIN_VALUE
+                : FETCH_SIZE;
     }
 
     /**
@@ -13,33 +13,134 @@ package org.goobi.webapi.resources;
 
 import com.sun.jersey.api.NotFoundException;
 
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
 import org.goobi.webapi.beans.GoobiProcess;
 import org.goobi.webapi.beans.GoobiProcessStep;
 import org.goobi.webapi.beans.IdentifierPPN;
+import org.goobi.webapi.beans.ProcessCursor;
 import org.goobi.webapi.dao.GoobiProcessDAO;
 
 @Path("/processes")
 public class Processes {
 
+    /**
+     * Maximum number of processes on one page.
+     */
+    private static final int MAX_LIMIT = 10000;
+
     /**
      * Get Processes.
      *
-     * @return list of GoobiProcess objects
+     * <p>
+     * Without a limit, all processes are written as they are read from the
+     * database. With a limit, one page of processes is returned, starting
+     * after the process given as cursor. The link to the next page is sent in
+     * the {@code Link} header. Pages carry an entity tag, so that a client
+     * which already has the current page gets a 304 response without the
+     * processes.
+     *
+     * @param after
+     *            cursor of the last process of the previous page, or null for
+     *            the first page
+     * @param limit
+     *            maximum number of processes on the page, 0 for all processes
+     * @param request
+     *            the request, to evaluate the preconditions
+     * @param headers
+     *            the request headers, to select the media type
+     * @param uriInfo
+     *            the request URI, to build the link to the next page
+     * @return response writing the GoobiProcess objects
+     * @throws IOException
+     *             if the page cannot be read
      */
     @GET
     @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
-    public List<GoobiProcess> getProcesses() {
-        return new ArrayList<>(GoobiProcessDAO.getAllProcesses());
+    public Response getProcesses(@QueryParam("after") ProcessCursor after, @QueryParam("limit") int limit,
+            @Context Request request, @Context HttpHeaders headers, @Context UriInfo uriInfo) throws IOException {
+        MediaType mediaType = selectMediaType(headers);
+        if (limit <= 0) {
+            return Response.ok(new ProcessesOutput(mediaType,
+                handler -> GoobiProcessDAO.scrollProcesses(after, 0, handler)), mediaType).build();
+        }
+
+        List<GoobiProcess> page = new ArrayList<>();
+        AtomicReference<ProcessCursor> lastPosition = new AtomicReference<>();
+        GoobiProcessDAO.scrollProcesses(after, Math.min(limit, MAX_LIMIT), (process, position) -> {
+            page.add(process);
+            lastPosition.set(position);
+        });
+
+        EntityTag entityTag = new EntityTag(calculateEntityTag(after, page));
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (Objects.nonNull(notModified)) {
+            return notModified.build();
+        }
+        Response.ResponseBuilder response = Response.ok(new ProcessesOutput(mediaType, handler -> {
+            for (GoobiProcess process : page) {
+                handler.handle(process, null);
+            }
+        }), mediaType).tag(entityTag);
+        if (page.size() == Math.min(limit, MAX_LIMIT)) {
+            response.header("Link", "<" + uriInfo.getRequestUriBuilder()
+                    .replaceQueryParam("after", lastPosition.get()).build() + ">; rel=\"next\"");
+        }
+        return response.build();
+    }
+
+    /**
+     * Selects the media type to write, JSON unless the client prefers XML.
+     */
+    private static MediaType selectMediaType(HttpHeaders headers) {
+        for (MediaType acceptable : headers.getAcceptableMediaTypes()) {
+            if (acceptable.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+                return MediaType.APPLICATION_JSON_TYPE;
+            }
+            if (acceptable.isCompatible(MediaType.APPLICATION_XML_TYPE)) {
+                return MediaType.APPLICATION_XML_TYPE;
+            }
+        }
+        return MediaType.APPLICATION_JSON_TYPE;
+    }
+
+    /**
+     * Calculates the entity tag of a page from its content.
+     */
+    private static String calculateEntityTag(ProcessCursor after, List<GoobiProcess> page) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(Objects.toString(after).getBytes(StandardCharsets.UTF_8));
+            for (GoobiProcess process : page) {
+                digest.update((process.getIdentifier() + '\n' + process.getTitle() + '\n')
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            return new BigInteger(1, digest.digest()).toString(Character.MAX_RADIX);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-1
+            throw new IllegalStateException(e);
+        }
     }
 
     /**
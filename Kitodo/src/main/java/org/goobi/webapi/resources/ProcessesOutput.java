@@ -0,0 +1,170 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.goobi.webapi.resources;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.goobi.webapi.beans.GoobiProcess;
+import org.goobi.webapi.dao.GoobiProcessDAO.ProcessHandler;
+
+/**
+ * Writes processes to the response as they are passed in, in JSON or XML. The
+ * format is the same as the one of a list of {@link GoobiProcess} objects
+ * written by Jersey. In its JSON notation, an empty list is written as
+ * {@code null} and a list with one process holds the process as object
+ * instead of an array.
+ */
+class ProcessesOutput implements StreamingOutput {
+
+    private static final String LIST_ELEMENT = "goobiProcesses";
+    private static final String PROCESS_ELEMENT = "goobiProcess";
+    private static final String IDENTIFIER = "identifier";
+    private static final String TITLE = "title";
+
+    /**
+     * Passes the processes to write.
+     */
+    @FunctionalInterface
+    interface Source {
+        /**
+         * Passes all processes to the handler.
+         *
+         * @param handler
+         *            handler to pass the processes to
+         * @throws IOException
+         *             if the processes cannot be read, or if the handler
+         *             throws it
+         */
+        void read(ProcessHandler handler) throws IOException;
+    }
+
+    private final MediaType mediaType;
+    private final Source source;
+
+    /**
+     * Creates a new output.
+     *
+     * @param mediaType
+     *            media type to write, JSON or XML
+     * @param source
+     *            passes the processes to write
+     */
+    ProcessesOutput(MediaType mediaType, Source source) {
+        this.mediaType = mediaType;
+        this.source = source;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        if (MediaType.APPLICATION_XML_TYPE.isCompatible(mediaType)) {
+            writeXml(output);
+        } else {
+            writeJson(output);
+        }
+    }
+
+    private void writeJson(OutputStream output) throws IOException {
+        JsonGenerator generator = Json.createGenerator(output);
+        // the first process is held back until it is known whether it is
+        // the only one
+        AtomicReference<GoobiProcess> first = new AtomicReference<>();
+        AtomicInteger count = new AtomicInteger();
+        source.read((process, position) -> {
+            int number = count.incrementAndGet();
+            if (number == 1) {
+                first.set(process);
+                return;
+            }
+            if (number == 2) {
+                generator.writeStartObject().writeStartArray(PROCESS_ELEMENT);
+                writeJsonProcess(generator, null, first.get());
+            }
+            writeJsonProcess(generator, null, process);
+        });
+        if (count.get() == 0) {
+            output.write("null".getBytes(StandardCharsets.UTF_8));
+            output.flush();
+            return;
+        }
+        if (count.get() == 1) {
+            generator.writeStartObject();
+            writeJsonProcess(generator, PROCESS_ELEMENT, first.get());
+        } else {
+            generator.writeEnd();
+        }
+        generator.writeEnd();
+        generator.flush();
+    }
+
+    private static void writeJsonProcess(JsonGenerator generator, String name, GoobiProcess process) {
+        if (Objects.nonNull(name)) {
+            generator.writeStartObject(name);
+        } else {
+            generator.writeStartObject();
+        }
+        writeJsonField(generator, IDENTIFIER, process.getIdentifier());
+        writeJsonField(generator, TITLE, process.getTitle());
+        generator.writeEnd();
+    }
+
+    private static void writeJsonField(JsonGenerator generator, String name, String value) {
+        if (Objects.nonNull(value)) {
+            generator.write(name, value);
+        }
+    }
+
+    private void writeXml(OutputStream output) throws IOException {
+        try {
+            XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(output,
+                StandardCharsets.UTF_8.name());
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement(LIST_ELEMENT);
+            source.read((process, position) -> {
+                try {
+                    writer.writeStartElement(PROCESS_ELEMENT);
+                    writeXmlElement(writer, IDENTIFIER, process.getIdentifier());
+                    writeXmlElement(writer, TITLE, process.getTitle());
+                    writer.writeEndElement();
+                } catch (XMLStreamException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            });
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static void writeXmlElement(XMLStreamWriter writer, String name, String value)
+            throws XMLStreamException {
+        if (Objects.nonNull(value)) {
+            writer.writeStartElement(name);
+            writer.writeCharacters(value);
+            writer.writeEndElement();
+        }
+    }
+}
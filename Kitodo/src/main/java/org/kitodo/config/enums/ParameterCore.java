@@ -219,6 +219,13 @@ public enum ParameterCore implements ParameterInterface {
      */
     DONE_DIRECTORY_NAME(new Parameter<>("image.doneDirectoryName", "fertig/")),
 
+    /**
+     * Number of threads which generate images in parallel. Each thread
+     * generates the derivatives of one source image at a time. Integer,
+     * defaults to 1.
+     */
+    IMAGE_GENERATOR_THREADS(new Parameter<>("image.generatorThreads", 1)),
+
     /*
      * VISUAL APPEARANCE
      *
@@ -532,6 +539,19 @@ public enum ParameterCore implements ParameterInterface {
      */
     EXPORT_WITHOUT_TIME_LIMIT(new Parameter<>("exportWithoutTimeLimit", true)),
 
+    /**
+     * Number of files copied at the same time during an export to the DMS.
+     * Integer, defaults to {@code 4}.
+     */
+    EXPORT_TRANSFER_THREADS(new Parameter<>("exportTransferThreads", 4)),
+
+    /**
+     * Whether during an export to the DMS the files are hard-linked instead of
+     * copied, if the export destination is on the same file system. Boolean,
+     * defaults to {@code false}.
+     */
+    EXPORT_WITH_HARD_LINKS(new Parameter<>("exportWithHardLinks", false)),
+
     /*
      * REMOTE SERVICES
      *
@@ -630,12 +650,74 @@ public enum ParameterCore implements ParameterInterface {
     ACTIVE_MQ_RESULTS_TTL(new Parameter<>("activeMQ.results.timeToLive",
             TimeUnit.MILLISECONDS.convert(7, TimeUnit.DAYS))),
 
+    /**
+     * Number of consumers reading each queue at the same time.
+     */
+    ACTIVE_MQ_CONSUMERS(new Parameter<>("activeMQ.consumers", 4)),
+
+    /**
+     * Number of messages each consumer fetches in advance.
+     */
+    ACTIVE_MQ_PREFETCH(new Parameter<>("activeMQ.prefetch", 1)),
+
+    /**
+     * Number of times a message whose processing failed is delivered again.
+     */
+    ACTIVE_MQ_MAX_REDELIVERIES(new Parameter<>("activeMQ.maxRedeliveries", 5)),
+
+    /**
+     * Long, value in milliseconds. Delay before a message is delivered again
+     * for the first time, doubled with each further delivery.
+     */
+    ACTIVE_MQ_REDELIVERY_DELAY(new Parameter<>("activeMQ.redeliveryDelay", TimeUnit.SECONDS.toMillis(1))),
+
     /*
      * Elasticsearch properties
      */
 
     ELASTICSEARCH_BATCH(new Parameter<>("elasticsearch.batch", 500)),
-    ELASTICSEARCH_INDEXLIMIT(new Parameter<>("elasticsearch.indexLimit", 5000));
+    ELASTICSEARCH_INDEXLIMIT(new Parameter<>("elasticsearch.indexLimit", 5000)),
+
+    /**
+     * Number of threads which index objects of one type in parallel. Each
+     * thread indexes a range of ids with about elasticsearch.indexLimit
+     * objects. Integer, defaults to 4.
+     */
+    ELASTICSEARCH_INDEX_THREADS(new Parameter<>("elasticsearch.indexThreads", 4)),
+
+    /**
+     * Estimated maximal size of one bulk request sent to the index while
+     * indexing. Long, defaults to 5 MiB.
+     */
+    ELASTICSEARCH_BULK_MAX_BYTES(new Parameter<>("elasticsearch.bulkMaxBytes", 5L * 1024 * 1024)),
+
+    /**
+     * If set to true, saving an object only writes it to the database with the
+     * index action INDEX. A background dispatcher sends these objects to the
+     * index in bulk requests. Boolean, defaults to {@code false}.
+     */
+    ELASTICSEARCH_OUTBOX(new Parameter<>("elasticsearch.outbox", false)),
+
+    /**
+     * Time between two runs of the index outbox dispatcher. Long, defaults to
+     * 1000 ms.
+     */
+    ELASTICSEARCH_OUTBOX_INTERVAL_MILLIS(new Parameter<>("elasticsearch.outbox.intervalMillis",
+            TimeUnit.MILLISECONDS.convert(1, TimeUnit.SECONDS))),
+
+    /**
+     * Maximal time the index outbox dispatcher waits before retrying, if the
+     * index is not available. Long, defaults to 5 minutes.
+     */
+    ELASTICSEARCH_OUTBOX_MAX_BACKOFF_MILLIS(new Parameter<>("elasticsearch.outbox.maxBackoffMillis",
+            TimeUnit.MILLISECONDS.convert(5, TimeUnit.MINUTES))),
+
+    /**
+     * Number of times the index outbox dispatcher tries to send an object which
+     * fails while other objects of the same type can be sent. Then the object
+     * is skipped until the next start. Integer, defaults to 5.
+     */
+    ELASTICSEARCH_OUTBOX_MAX_ATTEMPTS(new Parameter<>("elasticsearch.outbox.maxAttempts", 5));
 
     private Parameter parameter;
 
@@ -13,8 +13,10 @@ package org.kitodo.config.xml.fileformats;
 
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -28,6 +30,7 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.kitodo.config.KitodoConfig;
 
 /**
@@ -42,11 +45,18 @@ public class FileFormatsConfig {
     private static final File CONFIG_FILE = new File(
             Paths.get(KitodoConfig.getKitodoConfigDirectory(), "kitodo_fileFormats.xml").toString());
 
+    /**
+     * The file formats last read, with the modification time of the file when
+     * it was read.
+     */
+    private static volatile Pair<Long, List<FileFormat>> cachedFileFormats;
+
     @XmlElement(required = true)
     protected List<FileFormat> fileFormat;
 
     /**
-     * Returns the list of configured file formats.
+     * Returns the list of configured file formats. The file is only read again
+     * if it has been modified since it was last read.
      *
      * @return the configured file formats
      * @throws JAXBException
@@ -54,9 +64,16 @@ public class FileFormatsConfig {
      *             incorrect
      */
     public static List<FileFormat> getFileFormats() throws JAXBException {
+        long lastModified = CONFIG_FILE.lastModified();
+        Pair<Long, List<FileFormat>> localReference = cachedFileFormats;
+        if (Objects.nonNull(localReference) && localReference.getKey() == lastModified) {
+            return localReference.getValue();
+        }
         Unmarshaller fileFormatsConfig = JAXBContext.newInstance(FileFormatsConfig.class).createUnmarshaller();
         FileFormatsConfig read = (FileFormatsConfig) fileFormatsConfig.unmarshal(CONFIG_FILE);
-        return read.fileFormat;
+        List<FileFormat> fileFormats = Collections.unmodifiableList(read.fileFormat);
+        cachedFileFormats = Pair.of(lastModified, fileFormats);
+        return fileFormats;
     }
 
     /**
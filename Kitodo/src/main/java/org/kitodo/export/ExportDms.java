@@ -14,10 +14,14 @@ package org.kitodo.export;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.configuration.ConfigurationException;
@@ -446,25 +450,27 @@ public class ExportDms extends ExportMets {
                 .filter(Folder::isCopyFolder).map(folder -> new Subfolder(process, folder))
                 .collect(Collectors.toList());
         VariableReplacer variableReplacer = new VariableReplacer(null, null, process, null);
+        ExportFileTransfer transfer = new ExportFileTransfer(
+                ConfigCore.getIntParameterOrDefaultValue(ParameterCore.EXPORT_TRANSFER_THREADS),
+                ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.EXPORT_WITH_HARD_LINKS));
 
         for (Subfolder processDir : processDirs) {
             URI dstDir = destination.resolve(variableReplacer.replace(processDir.getFolder().getRelativePath()));
             fileService.createDirectories(dstDir);
 
-            Collection<URI> srcs = processDir.listContents().values();
-            int progress = 0;
-            for (URI src : srcs) {
+            List<Path> srcs = processDir.listContents().values().stream().map(Paths::get)
+                    .collect(Collectors.toList());
+            AtomicInteger progress = new AtomicInteger();
+            transfer.transfer(srcs, fileService.getFile(dstDir).toPath(), "process-" + process.getId(), src -> {
                 if (Objects.nonNull(exportDmsTask)) {
-                    exportDmsTask.setWorkDetail(fileService.getFileName(src));
-                }
-                fileService.copyFileToDirectory(src, dstDir);
-                if (Objects.nonNull(exportDmsTask)) {
-                    exportDmsTask.setProgress((int) ((progress++ + 1) * 98d / processDirs.size() / srcs.size() + 1));
+                    exportDmsTask.setWorkDetail(src.getFileName().toString());
+                    exportDmsTask.setProgress(
+                        (int) (progress.incrementAndGet() * 98d / processDirs.size() / srcs.size() + 1));
                     if (exportDmsTask.isInterrupted()) {
                         throw new InterruptedException();
                     }
                 }
-            }
+            });
         }
     }
 }
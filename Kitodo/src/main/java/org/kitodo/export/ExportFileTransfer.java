@@ -0,0 +1,287 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Transfers the files of a folder to the export destination. Several files are
+ * copied at the same time. While a file is copied, its checksum is calculated
+ * and written to a manifest file in the target directory, in the format of
+ * {@code sha256sum}. The manifest is named after the task and deleted when the
+ * transfer is complete. If a transfer was interrupted, the next transfer of
+ * the same task skips the files which are listed in the manifest and still
+ * have the size and the modification time of their source. Since the target
+ * directory may be shared with other exports, files are never skipped
+ * without such a manifest.
+ *
+ * <p>
+ * If configured, files are hard-linked instead of copied when source and
+ * target are on the same file system. This is only safe if the export
+ * destination never changes files in place.
+ */
+class ExportFileTransfer {
+    private static final Logger logger = LogManager.getLogger(ExportFileTransfer.class);
+
+    /**
+     * Prefix and suffix of the manifest file name in the target directory.
+     */
+    private static final String MANIFEST_FILE_PREFIX = ".transfer-";
+    private static final String MANIFEST_FILE_SUFFIX = "-sha256.txt";
+
+    /**
+     * Size of the buffer used to copy a file.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    /**
+     * Separates the checksum and the file name in a line of the manifest.
+     */
+    private static final String SEPARATOR = "  ";
+
+    /**
+     * Is informed about each transferred file.
+     */
+    @FunctionalInterface
+    interface Listener {
+        /**
+         * Called after a file was transferred, in the thread which started
+         * the transfer.
+         *
+         * @param source
+         *            the file which was transferred
+         * @throws InterruptedException
+         *             to cancel the transfer
+         */
+        void transferred(Path source) throws InterruptedException;
+    }
+
+    private final int threads;
+    private final boolean hardLinks;
+
+    /**
+     * Creates a new file transfer.
+     *
+     * @param threads
+     *            number of files copied at the same time
+     * @param hardLinks
+     *            whether files are hard-linked if possible
+     */
+    ExportFileTransfer(int threads, boolean hardLinks) {
+        this.threads = Math.max(1, threads);
+        this.hardLinks = hardLinks;
+    }
+
+    /**
+     * Returns the name of the manifest file of a task.
+     *
+     * @param taskName
+     *            name of the task, unique among the tasks which transfer files
+     *            to the same directory
+     * @return the file name of the manifest
+     */
+    static String getManifestFileName(String taskName) {
+        return MANIFEST_FILE_PREFIX + taskName + MANIFEST_FILE_SUFFIX;
+    }
+
+    /**
+     * Transfers files to a target directory. The target directory must exist.
+     * Existing files are overwritten, unless they are listed in the manifest
+     * of a previous, interrupted transfer of the same task and are unchanged
+     * since. If the transfer is interrupted or fails, the manifest lists the
+     * files transferred so far. Otherwise it is deleted.
+     *
+     * @param sources
+     *            files to transfer
+     * @param targetDirectory
+     *            directory to transfer the files to
+     * @param taskName
+     *            name of the task, unique among the tasks which transfer files
+     *            to the same directory
+     * @param listener
+     *            is informed about each transferred file
+     * @throws IOException
+     *             if a file cannot be transferred
+     * @throws InterruptedException
+     *             if the transfer was interrupted
+     */
+    void transfer(Collection<Path> sources, Path targetDirectory, String taskName, Listener listener)
+            throws IOException, InterruptedException {
+        Path manifest = targetDirectory.resolve(getManifestFileName(taskName));
+        Map<String, String> checksums = readManifest(manifest);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, sources.size())));
+        try (BufferedWriter manifestWriter = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            CompletionService<Pair<Path, String>> completionService = new ExecutorCompletionService<>(executor);
+            int pending = 0;
+            for (Path source : sources) {
+                String fileName = source.getFileName().toString();
+                Path target = targetDirectory.resolve(fileName);
+                if (checksums.containsKey(fileName) && isUnchangedCopy(source, target)) {
+                    listener.transferred(source);
+                } else {
+                    completionService.submit(() -> Pair.of(source, transfer(source, target)));
+                    pending++;
+                }
+            }
+            for (; pending > 0; pending--) {
+                Pair<Path, String> result = getResult(completionService);
+                manifestWriter.write(result.getValue() + SEPARATOR + result.getKey().getFileName());
+                manifestWriter.newLine();
+                manifestWriter.flush();
+                listener.transferred(result.getKey());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Files.delete(manifest);
+    }
+
+    /**
+     * Transfers one file.
+     *
+     * @return the checksum of the file
+     */
+    private String transfer(Path source, Path target) throws IOException {
+        if (hardLinks && Files.getFileStore(source).equals(Files.getFileStore(target.getParent()))) {
+            try {
+                Files.deleteIfExists(target);
+                Files.createLink(target, source);
+                return checksum(source);
+            } catch (UnsupportedOperationException | IOException e) {
+                logger.debug("Cannot link {} to {}, copying instead: {}", target, source, e.getMessage());
+            }
+        }
+        return copy(source, target);
+    }
+
+    /**
+     * Returns whether the target is still the copy of the source made by a
+     * previous transfer. Copies get the modification time of their source, and
+     * links share it.
+     */
+    private static boolean isUnchangedCopy(Path source, Path target) throws IOException {
+        return Files.isRegularFile(target) && Files.size(target) == Files.size(source)
+                && Files.getLastModifiedTime(target).equals(Files.getLastModifiedTime(source));
+    }
+
+    private static Pair<Path, String> getResult(CompletionService<Pair<Path, String>> completionService)
+            throws IOException, InterruptedException {
+        try {
+            return completionService.take().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Copies a file and calculates its checksum on the fly. The file is copied
+     * through a buffer instead of with {@code FileChannel.transferTo()}, which
+     * would not let the data pass through the digest.
+     *
+     * @return the checksum of the file
+     */
+    private static String copy(Path source, Path target) throws IOException {
+        MessageDigest digest = createDigest();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.rewind();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        Files.setLastModifiedTime(target, Files.getLastModifiedTime(source));
+        return toHex(digest.digest());
+    }
+
+    private static String checksum(Path file) throws IOException {
+        MessageDigest digest = createDigest();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Reads the manifest of a previous transfer.
+     *
+     * @return checksums by file name, empty if there is no manifest
+     */
+    private static Map<String, String> readManifest(Path manifest) throws IOException {
+        Map<String, String> checksums = new HashMap<>();
+        if (!Files.isRegularFile(manifest)) {
+            return checksums;
+        }
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            int separator = line.indexOf(SEPARATOR);
+            if (separator > 0) {
+                checksums.put(line.substring(separator + SEPARATOR.length()), line.substring(0, separator));
+            }
+        }
+        return checksums;
+    }
+}
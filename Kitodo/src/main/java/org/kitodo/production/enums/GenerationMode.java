@@ -11,8 +11,10 @@
 
 package org.kitodo.production.enums;
 
+import java.util.Map;
 import java.util.function.Predicate;
 
+import org.kitodo.api.validation.ValidationResult;
 import org.kitodo.production.model.Subfolder;
 import org.kitodo.production.services.image.MissingImagesFilterPredicate;
 import org.kitodo.production.services.image.MissingOrDamagedImagesFilterPredicate;
@@ -50,6 +52,12 @@ public enum GenerationMode {
         public Predicate<Subfolder> getFilter(String canonical) {
             return new MissingOrDamagedImagesFilterPredicate(canonical);
         }
+
+        @Override
+        public Predicate<Subfolder> getFilter(String canonical,
+                Map<Subfolder, Map<String, ValidationResult>> validationResults) {
+            return new MissingOrDamagedImagesFilterPredicate(canonical, validationResults);
+        }
     };
 
     /**
@@ -60,4 +68,20 @@ public enum GenerationMode {
      * @return the filter for the generator variant
      */
     public abstract Predicate<Subfolder> getFilter(String canonical);
+
+    /**
+     * Returns the corresponding filter for the generator variant, which uses
+     * the results of validating the folders in advance, if it validates.
+     *
+     * @param canonical
+     *            canonical part of the file name
+     * @param validationResults
+     *            results of validating the folders, by folder and canonical
+     *            part of the file name
+     * @return the filter for the generator variant
+     */
+    public Predicate<Subfolder> getFilter(String canonical,
+            Map<Subfolder, Map<String, ValidationResult>> validationResults) {
+        return getFilter(canonical);
+    }
 }
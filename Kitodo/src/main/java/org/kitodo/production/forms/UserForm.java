@@ -44,6 +44,7 @@ import org.kitodo.production.helper.Helper;
 import org.kitodo.production.model.LazyDTOModel;
 import org.kitodo.production.security.DynamicAuthenticationProvider;
 import org.kitodo.production.security.SecuritySession;
+import org.kitodo.production.security.SecurityUserDetails;
 import org.kitodo.production.security.password.SecurityPasswordEncoder;
 import org.kitodo.production.security.password.ValidPassword;
 import org.kitodo.production.services.ServiceManager;
@@ -149,8 +150,10 @@ public class UserForm extends BaseForm {
                 }
                 userService.saveToDatabase(this.userObject);
 
-                if (userService.getAuthenticatedUser().getId().equals(this.userObject.getId())) {
+                SecurityUserDetails authenticatedUser = userService.getAuthenticatedUser();
+                if (authenticatedUser.getId().equals(this.userObject.getId())) {
                     loginForm.setLoggedUser(this.userObject);
+                    authenticatedUser.updateAuthorities(this.userObject);
                 }
 
                 return userListPath;
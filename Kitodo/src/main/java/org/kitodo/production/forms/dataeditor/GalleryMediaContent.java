@@ -11,28 +11,17 @@
 
 package org.kitodo.production.forms.dataeditor;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
-import javax.faces.context.FacesContext;
-import javax.faces.event.PhaseId;
-
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.kitodo.api.dataformat.View;
-import org.kitodo.production.services.ServiceManager;
-import org.primefaces.model.DefaultStreamedContent;
-import org.primefaces.model.StreamedContent;
+import org.kitodo.production.model.Subfolder;
+import org.kitodo.production.servlet.MediaServlet;
 
 /**
  * A single media content in the media gallery.
  */
 public class GalleryMediaContent {
-    private static final Logger logger = LogManager.getLogger(GalleryMediaContent.class);
     /**
      * Gallery panel in which the medium is displayed.
      */
@@ -108,13 +97,18 @@ public class GalleryMediaContent {
     }
 
     /**
-     * Returns the media content. This is the method that is called when the web
-     * browser wants to retrieve the media file itself.
+     * Returns the URL of the media content. This is the URL the web browser
+     * uses to retrieve the media file itself.
      *
-     * @return a Primefaces object that handles the output of media data
+     * @return the context-relative URL of the media file, {@code null} if
+     *         there is no media view
      */
-    public StreamedContent getMediaViewData() {
-        return sendData(mediaViewUri, panel.getMediaViewMimeType());
+    public String getMediaViewUrl() {
+        if (Objects.isNull(mediaViewUri)) {
+            return null;
+        }
+        Subfolder mediaViewFolder = panel.getMediaViewFolder();
+        return MediaServlet.getUrl(mediaViewFolder, mediaViewFolder.getCanonical(mediaViewUri));
     }
 
     /**
@@ -136,13 +130,15 @@ public class GalleryMediaContent {
     }
 
     /**
-     * Returns the media content of the preview media. This is the method that
-     * is called through the gallery panel using a media ID.
+     * Returns the URL of the preview media. The URL contains the modification
+     * time of the file, so that the web browser can keep the file until it
+     * changes.
      *
-     * @return a Primefaces object that handles the output of media data
+     * @return the context-relative URL of the preview file, {@code null} if
+     *         there is no preview
      */
-    StreamedContent getPreviewData() {
-        return sendData(previewUri, panel.getPreviewMimeType());
+    public String getPreviewUrl() {
+        return Objects.nonNull(previewUri) ? MediaServlet.getUrl(panel.getPreviewFolder(), id) : null;
     }
 
     /**
@@ -171,42 +167,6 @@ public class GalleryMediaContent {
         return Objects.nonNull(previewUri);
     }
 
-    /**
-     * Method for output of URL-referenced media content.
-     *
-     * @param uri
-     *            internal URI of the media file to be transferred
-     * @param mimeType
-     *            the Internet MIME type of the media file
-     * @return a Primefaces object that handles the output of media data
-     */
-    private StreamedContent sendData(URI uri, String mimeType) {
-        /*
-         * During the construction of the HTML page, only an URL for the media
-         * file is generated.
-         */
-        if (FacesContext.getCurrentInstance().getCurrentPhaseId() == PhaseId.RENDER_RESPONSE) {
-            return new DefaultStreamedContent();
-        }
-
-        /*
-         * Output of media data when the browser retrieves this URL. Note that
-         * we are NOT ALLOWED TO close the InputStream at this point. Faces does
-         * that after transferring the data.
-         */
-        try {
-            InputStream previewData = ServiceManager.getFileService().read(uri);
-            return new DefaultStreamedContent(previewData, mimeType);
-        } catch (IOException e) {
-            logger.catching(e);
-            String errorpage = "<html>" + System.lineSeparator() + "<h1>Error!</h1>" + System.lineSeparator() + "<p>"
-                    + e.getClass().getSimpleName() + ": " + e.getMessage() + "</p>" + System.lineSeparator() + "</html>"
-                    + System.lineSeparator();
-            ByteArrayInputStream errorPage = new ByteArrayInputStream(errorpage.getBytes(StandardCharsets.UTF_8));
-            return new DefaultStreamedContent(errorPage, "text/html", "errorpage.html", "UTF-8");
-        }
-    }
-
     public View getView() {
         return view;
     }
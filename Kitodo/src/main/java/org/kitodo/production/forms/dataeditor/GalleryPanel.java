@@ -14,7 +14,6 @@ package org.kitodo.production.forms.dataeditor;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale.LanguageRange;
@@ -27,7 +26,7 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import javax.faces.context.FacesContext;
-import javax.faces.event.PhaseId;
+import javax.servlet.http.HttpSession;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -43,9 +42,8 @@ import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.beans.Project;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.production.model.Subfolder;
+import org.kitodo.production.servlet.MediaServlet;
 import org.primefaces.event.DragDropEvent;
-import org.primefaces.model.DefaultStreamedContent;
-import org.primefaces.model.StreamedContent;
 
 /**
  * Backing bean for the gallery panel of the metadata editor.
@@ -84,7 +82,6 @@ public class GalleryPanel {
     private List<GalleryMediaContent> medias = Collections.emptyList();
 
     private MediaVariant mediaViewVariant;
-    private Map<String, GalleryMediaContent> previewImageResolver = new HashMap<>();
     private MediaVariant previewVariant;
     private String selectionType = "";
     private Pair<MediaUnit, IncludedStructuralElement> lastSelection;
@@ -92,6 +89,7 @@ public class GalleryPanel {
     private List<GalleryStripe> stripes;
 
     private Subfolder previewFolder;
+    private Subfolder mediaViewFolder;
 
     private boolean isDragged = false;
 
@@ -134,32 +132,12 @@ public class GalleryPanel {
         return medias;
     }
 
-    String getMediaViewMimeType() {
-        return mediaViewVariant.getMimeType();
+    Subfolder getMediaViewFolder() {
+        return mediaViewFolder;
     }
 
-    /**
-     * Returns the media content of the preview media. This is the method that
-     * is called when the web browser wants to retrieve the media file itself.
-     *
-     * @return a Primefaces object that handles the output of media data
-     */
-    public StreamedContent getPreviewData() {
-        FacesContext context = FacesContext.getCurrentInstance();
-        if (context.getCurrentPhaseId() != PhaseId.RENDER_RESPONSE) {
-            String id = context.getExternalContext().getRequestParameterMap().get("id");
-            GalleryMediaContent mediaContent = previewImageResolver.get(id);
-            if (Objects.nonNull(mediaContent)) {
-                logger.trace("Serving image request {}", id);
-                return mediaContent.getPreviewData();
-            }
-            logger.debug("Cannot serve image request, id = {}", id);
-        }
-        return new DefaultStreamedContent();
-    }
-
-    String getPreviewMimeType() {
-        return previewVariant.getMimeType();
+    Subfolder getPreviewFolder() {
+        return previewFolder;
     }
 
     List<LanguageRange> getPriorityList() {
@@ -364,17 +342,15 @@ public class GalleryPanel {
 
         medias = new ArrayList<>(mediaUnits.size());
         stripes = new ArrayList<>();
-        previewImageResolver = new HashMap<>();
 
         previewFolder = new Subfolder(process, project.getPreview());
+        mediaViewFolder = Objects.nonNull(mediaViewSettings) ? new Subfolder(process, mediaViewSettings) : null;
+        grantMediaAccess();
         for (MediaUnit mediaUnit : mediaUnits) {
             View wholeMediaUnitView = new View();
             wholeMediaUnitView.setMediaUnit(mediaUnit);
             GalleryMediaContent mediaContent = createGalleryMediaContent(wholeMediaUnitView);
             medias.add(mediaContent);
-            if (mediaContent.isShowingInPreview()) {
-                previewImageResolver.put(mediaContent.getId(), mediaContent);
-            }
         }
 
         addStripesRecursive(dataEditor.getWorkpiece().getRootElement());
@@ -384,6 +360,25 @@ public class GalleryPanel {
         }
     }
 
+    /**
+     * Allows the session to retrieve the files of the preview and media view
+     * folders of the process from the media servlet. The data editor can only
+     * be opened by users who may see the images of the process.
+     */
+    private void grantMediaAccess() {
+        FacesContext context = FacesContext.getCurrentInstance();
+        if (Objects.isNull(context)) {
+            return;
+        }
+        HttpSession session = (HttpSession) context.getExternalContext().getSession(true);
+        if (Objects.nonNull(previewFolder.getFolder())) {
+            MediaServlet.grantAccess(session, previewFolder);
+        }
+        if (Objects.nonNull(mediaViewFolder)) {
+            MediaServlet.grantAccess(session, mediaViewFolder);
+        }
+    }
+
     void updateStripes() {
         stripes = new ArrayList<>();
         addStripesRecursive(dataEditor.getWorkpiece().getRootElement());
@@ -410,9 +405,6 @@ public class GalleryPanel {
             for (GalleryMediaContent galleryMediaContent : medias) {
                 if (Objects.equals(view.getMediaUnit(), galleryMediaContent.getView().getMediaUnit())) {
                     galleryStripe.getMedias().add(galleryMediaContent);
-                    if (galleryMediaContent.isShowingInPreview()) {
-                        previewImageResolver.put(galleryMediaContent.getId(), galleryMediaContent);
-                    }
                     break;
                 }
             }
@@ -12,109 +12,128 @@
 package org.kitodo.production.helper;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.kitodo.config.ConfigCore;
 import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.beans.BaseIndexedBean;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
 import org.kitodo.production.services.data.base.SearchService;
 
-public class IndexWorker implements Runnable {
+/**
+ * Indexes all objects of one type with ids in a given range. The objects are
+ * loaded page by page, ordered by id, where the last id of a page is the lower
+ * bound of the next one. While the documents of one page are sent to the index
+ * by the bulk sender, the next page is already loaded and converted, so that at
+ * most one bulk request per worker is in flight. If loading or sending fails,
+ * the worker stops and throws the exception to the indexing service.
+ */
+public class IndexWorker implements Callable<Integer> {
 
-    private int indexedObjects = 0;
-    private int startIndexing;
+    private volatile int indexedObjects = 0;
+    private final int afterId;
+    private final int toId;
     private boolean indexAllObjects = true;
     private SearchService searchService;
-    private static final Logger logger = LogManager.getLogger(IndexWorker.class);
+    private ExecutorService bulkSender;
 
     /**
      * Constructor initializing an IndexWorker object with the given SearchService
-     * and list of objects that will be indexed.
+     * and range of ids of objects that will be indexed.
      *
      * @param searchService
      *            SearchService instance used for indexing
+     * @param afterId
+     *            exclusive lower bound of the ids of the objects to index
+     * @param toId
+     *            inclusive upper bound of the ids of the objects to index
+     * @param bulkSender
+     *            executor which sends the bulk requests to the index
      */
-    public IndexWorker(SearchService searchService) {
+    public IndexWorker(SearchService searchService, int afterId, int toId, ExecutorService bulkSender) {
         this.searchService = searchService;
-        this.startIndexing = 0;
+        this.afterId = afterId;
+        this.toId = toId;
+        this.bulkSender = bulkSender;
     }
 
     /**
-     * Constructor initializing an IndexWorker object with the given SearchService
-     * and list of objects that will be indexed.
+     * Indexes the objects of the id range.
      *
-     * @param searchService
-     *            SearchService instance used for indexing
+     * @return the number of indexed objects
+     * @throws CustomResponseException
+     *             if the index rejects a bulk request
+     * @throws DAOException
+     *             if the objects cannot be loaded
+     * @throws InterruptedException
+     *             if indexing was cancelled
      */
-    public IndexWorker(SearchService searchService, int startIndexing) {
-        this.searchService = searchService;
-        this.startIndexing = startIndexing;
-    }
-
     @Override
-    @SuppressWarnings("unchecked")
-    public void run() {
+    public Integer call() throws CustomResponseException, DAOException, InterruptedException {
         this.indexedObjects = 0;
         int batchSize = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_BATCH);
-        int indexLimit = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_INDEXLIMIT);
+        long maxBytes = ConfigCore.getLongParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_BULK_MAX_BYTES);
+        Future<Integer> pendingBulk = null;
         try {
-            int amountToIndex = getAmountToIndex();
-
-            if (amountToIndex < batchSize) {
-                if (indexAllObjects) {
-                    indexObjects(searchService.getAll());
-                } else {
-                    indexObjects(searchService.getAllNotIndexed());
-                }
-            } else {
-                if (amountToIndex > indexLimit) {
-                    amountToIndex = indexLimit;
-                }
-                while (this.indexedObjects < amountToIndex) {
-                    indexChunks(batchSize);
-                }
+            int lastId = afterId;
+            List<BaseIndexedBean> objectsToIndex = getObjectsToIndex(lastId, batchSize);
+            while (!objectsToIndex.isEmpty()) {
+                lastId = objectsToIndex.get(objectsToIndex.size() - 1).getId();
+                Map<Integer, Map<String, Object>> documents = createDocuments(objectsToIndex);
+                waitForBulk(pendingBulk);
+                pendingBulk = bulkSender.submit(() -> {
+                    searchService.addDocumentsToIndex(documents, maxBytes);
+                    return documents.size();
+                });
+                objectsToIndex = getObjectsToIndex(lastId, batchSize);
+            }
+            waitForBulk(pendingBulk);
+            pendingBulk = null;
+            return indexedObjects;
+        } finally {
+            if (Objects.nonNull(pendingBulk)) {
+                pendingBulk.cancel(false);
             }
-        } catch (CustomResponseException | DAOException e) {
-            logger.error(e.getMessage(), e);
         }
     }
 
-    private int getAmountToIndex() throws DAOException {
+    @SuppressWarnings("unchecked")
+    private List<BaseIndexedBean> getObjectsToIndex(int lastId, int batchSize) throws DAOException {
         if (indexAllObjects) {
-            return searchService.countDatabaseRows().intValue() - this.startIndexing;
+            return searchService.getAllInIdRange(lastId, toId, batchSize);
         } else {
-            return searchService.countNotIndexedDatabaseRows().intValue() - this.startIndexing;
+            return searchService.getAllNotIndexedInIdRange(lastId, toId, batchSize);
         }
     }
 
     @SuppressWarnings("unchecked")
-    private void indexChunks(int batchSize) throws CustomResponseException, DAOException {
-        List<Object> objectsToIndex;
-        int indexLimit = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_INDEXLIMIT);
-        while (this.indexedObjects < indexLimit) {
-            int offset = this.indexedObjects + this.startIndexing;
+    private Map<Integer, Map<String, Object>> createDocuments(List<BaseIndexedBean> objectsToIndex) {
+        return searchService.createDocuments(objectsToIndex);
+    }
 
-            if (indexAllObjects) {
-                objectsToIndex = searchService.getAll(offset, batchSize);
-            } else {
-                objectsToIndex = searchService.getAllNotIndexed(offset, batchSize);
+    private void waitForBulk(Future<Integer> bulk) throws CustomResponseException, InterruptedException {
+        if (Objects.isNull(bulk)) {
+            return;
+        }
+        try {
+            this.indexedObjects = this.indexedObjects + bulk.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CustomResponseException) {
+                throw (CustomResponseException) e.getCause();
             }
-            if (objectsToIndex.isEmpty()) {
-                break;
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-
-            indexObjects(objectsToIndex);
+            throw new CustomResponseException(e);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private void indexObjects(List<Object> objectsToIndex) throws CustomResponseException, DAOException {
-        this.searchService.addAllObjectsToIndex(objectsToIndex);
-        this.indexedObjects = this.indexedObjects + objectsToIndex.size();
-    }
-
     /**
      * Return the number of objects that have already been indexed during the
      * current indexing process.
@@ -122,7 +141,7 @@ public class IndexWorker implements Runnable {
      * @return int the number of objects indexed during the current indexing run
      */
     public int getIndexedObjects() {
-        return indexedObjects + startIndexing;
+        return indexedObjects;
     }
 
     /**
@@ -35,6 +35,7 @@ import org.kitodo.production.helper.Helper;
 import org.kitodo.production.helper.WebDav;
 import org.kitodo.production.helper.metadata.ImageHelper;
 import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.services.data.base.UnitOfWork;
 import org.kitodo.production.services.workflow.WorkflowControllerService;
 
 public class BatchTaskHelper extends BatchHelper {
@@ -182,22 +183,49 @@ public class BatchTaskHelper extends BatchHelper {
      * @return String
      */
     public String closeBatchTasksByUser() {
-        for (Task task : this.steps) {
+        // all tasks are saved in one transaction and sent to the index at once
+        try {
+            UnitOfWork.run(() -> {
+                for (Task task : this.steps) {
+                    try {
+                        boolean valid = isTaskValid(task);
+
+                        if (valid) {
+                            this.myDav.uploadFromHome(task.getProcess());
+                            task.setEditType(TaskEditType.MANUAL_MULTI);
+                            new WorkflowControllerService().close(task);
+                        }
+                    } catch (IOException e) {
+                        Helper.setErrorMessage(e.getLocalizedMessage(), logger, e);
+                    }
+                }
+            });
+        } catch (DataException | IOException e) {
+            Helper.setErrorMessage(e.getLocalizedMessage(), logger, e);
+            reloadSteps();
+        }
 
-            try {
-                boolean valid = isTaskValid(task);
+        return "";
+    }
 
-                if (valid) {
-                    this.myDav.uploadFromHome(task.getProcess());
-                    task.setEditType(TaskEditType.MANUAL_MULTI);
-                    new WorkflowControllerService().close(task);
+    /**
+     * Reads the tasks again after the unit of work was rolled back, since the
+     * tasks in memory still show the changes which were not saved.
+     */
+    private void reloadSteps() {
+        List<Task> reloadedSteps = new ArrayList<>(this.steps.size());
+        try {
+            for (Task step : this.steps) {
+                Task reloadedStep = ServiceManager.getTaskService().getById(step.getId());
+                reloadedSteps.add(reloadedStep);
+                if (step.equals(this.currentStep)) {
+                    this.currentStep = reloadedStep;
                 }
-            } catch (DataException | IOException e) {
-                Helper.setErrorMessage(e.getLocalizedMessage(), logger, e);
             }
+            this.steps = reloadedSteps;
+        } catch (DAOException e) {
+            Helper.setErrorMessage(e.getLocalizedMessage(), logger, e);
         }
-
-        return "";
     }
 
     private boolean isTaskValid(Task task) {
@@ -0,0 +1,167 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper.metadata;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the descriptive metadata sections of a METS file for the index. The
+ * file is read as a stream and only the {@code dmdSec} elements below the root
+ * element are converted, all other sections are skipped.
+ *
+ * <p>
+ * An element is converted to a map of its attributes, namespace declarations
+ * and child elements, keyed by their names without prefix. Repeated keys are
+ * collected in a list and text content is stored under the key
+ * {@code content}. An element without attributes and child elements is
+ * converted to its text.
+ */
+public class MetsDmdSecExtractor {
+
+    private static final String CONTENT = "content";
+    private static final String DMD_SEC = "dmdSec";
+    private static final String METS = "mets";
+    private static final String XMLNS = "xmlns";
+
+    private static final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private MetsDmdSecExtractor() {
+
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Extract the descriptive metadata sections from given METS file.
+     *
+     * @param metsFile
+     *            stream of the METS file, it is not closed by this method
+     * @return list of converted dmdSec elements, empty if the root element is
+     *         not mets
+     * @throws XMLStreamException
+     *             if the file is not well-formed
+     */
+    public static List<Map<String, Object>> extract(InputStream metsFile) throws XMLStreamException {
+        List<Map<String, Object>> dmdSecs = new ArrayList<>();
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(metsFile);
+        try {
+            reader.nextTag();
+            if (!METS.equals(reader.getLocalName())) {
+                return dmdSecs;
+            }
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                if (DMD_SEC.equals(reader.getLocalName())) {
+                    Object dmdSec = readElement(reader);
+                    if (dmdSec instanceof Map) {
+                        dmdSecs.add(toMap(dmdSec));
+                    }
+                } else {
+                    skipElement(reader);
+                }
+            }
+            return dmdSecs;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Convert the element at which the reader stands. Afterwards, the reader
+     * stands at the end of the element.
+     */
+    private static Object readElement(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, Object> element = new HashMap<>();
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            String key = Objects.isNull(prefix) || prefix.isEmpty() ? XMLNS : prefix;
+            accumulate(element, key, reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            accumulate(element, reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+
+        StringBuilder text = new StringBuilder();
+        while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+            switch (reader.getEventType()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    accumulate(element, reader.getLocalName(), readElement(reader));
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    text.append(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        String content = text.toString().trim();
+        if (element.isEmpty()) {
+            return content;
+        }
+        if (!content.isEmpty()) {
+            accumulate(element, CONTENT, content);
+        }
+        return element;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void accumulate(Map<String, Object> element, String key, Object value) {
+        Object existing = element.get(key);
+        if (Objects.isNull(existing)) {
+            element.put(key, value);
+        } else if (existing instanceof List) {
+            ((List<Object>) existing).add(value);
+        } else {
+            List<Object> values = new ArrayList<>();
+            values.add(existing);
+            values.add(value);
+            element.put(key, values);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toMap(Object element) {
+        return (Map<String, Object>) element;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.model;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import org.kitodo.production.services.ServiceManager;
+
+/**
+ * Keeps the contents of recently listed directories. A listing is valid as
+ * long as the modification time of the directory is unchanged, because it
+ * changes when files are added, deleted or renamed. Since the modification
+ * time has a limited resolution on some file systems, a listing is only kept
+ * if the directory was last modified some time before it was listed.
+ */
+class DirectoryListingCache {
+
+    /**
+     * Maximum number of directories kept.
+     */
+    private static final int MAX_DIRECTORIES = 500;
+
+    /**
+     * Minimum age of the last modification of a directory to keep its
+     * listing, in milliseconds.
+     */
+    private static final long MIN_AGE = 2000;
+
+    /**
+     * Listed directories, by URI, least recently used first.
+     */
+    private static final Map<URI, Listing> listings = new LinkedHashMap<URI, Listing>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Entry<URI, Listing> eldest) {
+            return size() > MAX_DIRECTORIES;
+        }
+    };
+
+    /**
+     * The contents of a directory at the time of its last modification.
+     */
+    private static class Listing {
+        private final long lastModified;
+        private final List<URI> contents;
+
+        Listing(long lastModified, List<URI> contents) {
+            this.lastModified = lastModified;
+            this.contents = contents;
+        }
+    }
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private DirectoryListingCache() {
+    }
+
+    /**
+     * Returns the URIs of all files and directories in a directory, relative
+     * to the Kitodo data directory.
+     *
+     * @param directory
+     *            absolute URI of the directory
+     * @return the contents of the directory
+     */
+    static List<URI> getSubUris(URI directory) {
+        long lastModified = new File(directory).lastModified();
+        synchronized (listings) {
+            Listing listing = listings.get(directory);
+            if (Objects.nonNull(listing) && listing.lastModified == lastModified) {
+                return listing.contents;
+            }
+        }
+        List<URI> contents = Collections.unmodifiableList(ServiceManager.getFileService().getSubUris(directory));
+        if (System.currentTimeMillis() - lastModified >= MIN_AGE
+                && lastModified == new File(directory).lastModified()) {
+            synchronized (listings) {
+                listings.put(directory, new Listing(lastModified, contents));
+            }
+        }
+        return contents;
+    }
+}
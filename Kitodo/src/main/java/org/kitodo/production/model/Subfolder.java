@@ -12,12 +12,12 @@
 package org.kitodo.production.model;
 
 import java.io.File;
-import java.io.FilenameFilter;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.net.URI;
 import java.nio.file.Paths;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeMap;
 import java.util.function.Function;
@@ -37,8 +37,6 @@ import org.kitodo.data.database.beans.Folder;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.production.helper.VariableReplacer;
 import org.kitodo.production.metadata.comparator.MetadataImageComparator;
-import org.kitodo.production.services.ServiceManager;
-import org.kitodo.production.services.file.FileService;
 
 /**
  * A subfolder is a folder in the file system below the process folder that
@@ -60,7 +58,6 @@ import org.kitodo.production.services.file.FileService;
  * institutions to migrate the files.
  */
 public class Subfolder {
-    private final FileService fileService = ServiceManager.getFileService();
     /**
      * The general metrics of this kind of subfolder. So to say its type.
      */
@@ -78,6 +75,12 @@ public class Subfolder {
      */
     private final VariableReplacer variableReplacer;
 
+    /**
+     * The directory to search and the pattern to which the file names must
+     * correspond. It is determined on first use.
+     */
+    private Pair<URI, Pattern> directoryAndFileNamePattern;
+
     /**
      * Creates a new subfolder.
      * 
@@ -158,6 +161,23 @@ public class Subfolder {
         return Pair.of(directory, Pattern.compile(pattern));
     }
 
+    /**
+     * Returns the directory to search and the search pattern. They are
+     * determined only once, because replacing the variables and compiling the
+     * pattern is expensive compared to matching a file name.
+     *
+     * @return search request consisting of an indication of the folder to be
+     *         searched and a pattern to which the file names must correspond
+     */
+    private Pair<URI, Pattern> getDirectoryAndFileNamePattern() {
+        Pair<URI, Pattern> localReference = directoryAndFileNamePattern;
+        if (Objects.isNull(localReference)) {
+            localReference = determineDirectoryAndFileNamePattern();
+            directoryAndFileNamePattern = localReference;
+        }
+        return localReference;
+    }
+
     /**
      * Determines the directory to search and the search pattern.
      *
@@ -184,7 +204,7 @@ public class Subfolder {
      * @return the canonical part of the file name
      */
     public String getCanonical(URI uri) {
-        return createKeyMapperForPattern(determineDirectoryAndFileNamePattern().getRight()).apply(uri);
+        return createKeyMapperForPattern(getDirectoryAndFileNamePattern().getRight()).apply(uri);
     }
 
     /**
@@ -216,6 +236,15 @@ public class Subfolder {
         return folder;
     }
 
+    /**
+     * Returns the process whose files are stored in the subfolder.
+     *
+     * @return the process
+     */
+    public Process getProcess() {
+        return process;
+    }
+
     /**
      * Returns the relative path to the directory storing the files.
      * 
@@ -288,11 +317,13 @@ public class Subfolder {
      * @return map of canonical file name parts to URIs
      */
     public Map<String, URI> listContents() {
-        return listDirectory(determineDirectoryAndFileNamePattern());
+        return listDirectory(getDirectoryAndFileNamePattern());
     }
 
     /**
-     * Search for files with the file management interface.
+     * Search for files with the file management interface. The listing of the
+     * directory is taken from the {@link DirectoryListingCache} if the
+     * directory has not been changed since.
      *
      * @param query
      *            search request consisting of an indication of the folder to be
@@ -300,8 +331,9 @@ public class Subfolder {
      * @return a map from the canonical file name part to the URI
      */
     private Map<String, URI> listDirectory(Pair<URI, Pattern> query) {
-        FilenameFilter filter = (dir, name) -> query.getRight().matcher(name).matches();
-        Stream<URI> relativeURIs = fileService.getSubUris(filter, query.getLeft()).parallelStream();
+        Pattern pattern = query.getRight();
+        Stream<URI> relativeURIs = DirectoryListingCache.getSubUris(query.getLeft()).parallelStream()
+                .filter(uri -> pattern.matcher(FilenameUtils.getName(uri.getPath())).matches());
         Stream<URI> absoluteURIs = relativeURIs
                 .map(uri -> new File(FilenameUtils.concat(ConfigCore.getKitodoDataDirectory(), uri.getPath())).toURI());
         Function<URI, String> keyMapper = createKeyMapperForPattern(query.getRight());
@@ -19,6 +19,7 @@ import java.net.URI;
 import java.time.LocalDate;
 import java.time.MonthDay;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -58,11 +59,20 @@ import org.kitodo.production.process.field.AdditionalField;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.data.ProcessService;
 import org.kitodo.production.services.data.RulesetService;
+import org.kitodo.production.services.data.base.UnitOfWork;
 import org.kitodo.production.services.dataformat.MetsService;
 import org.kitodo.production.services.file.FileService;
 
 /**
  * A generator for newspaper processes.
+ *
+ * <p>
+ * The issue processes are created in bulk: each one is inserted into the
+ * database once, without saving its year and overall process again, and
+ * without being sent to the index. When a year is complete, the METS files of
+ * the year and of the overall process are written, the year process and the
+ * overall process are saved once, and the issue processes of the year are
+ * sent to the index in bulk requests.
  */
 public class NewspaperProcessesGenerator extends ProcessGenerator {
     private static final Logger logger = LogManager.getLogger(NewspaperProcessesGenerator.class);
@@ -211,6 +221,12 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
      */
     private Workpiece yearWorkpiece;
 
+    /**
+     * Ids of the issue processes of the current year, which have not been
+     * sent to the index yet.
+     */
+    private final List<Integer> yearIssueProcessIds = new ArrayList<>();
+
     /**
      * Creates a new newspaper process generator.
      *
@@ -461,12 +477,12 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         generateProcess(overallProcess.getTemplate().getId(), overallProcess.getProject().getId());
         String title = titleGenerator.generateTitle(titleDefinition, firstIssue.getGenericFields());
         getGeneratedProcess().setTitle(title);
-        processService.save(getGeneratedProcess());
-        processService.refresh(getGeneratedProcess());
         getGeneratedProcess().setParent(yearProcess);
+        processService.saveWithoutParentsAndIndex(getGeneratedProcess());
+        processService.refresh(getGeneratedProcess());
         yearProcess.getChildren().add(getGeneratedProcess());
         createMetadataFileForProcess(individualIssuesForProcess);
-        processService.save(getGeneratedProcess());
+        yearIssueProcessIds.add(getGeneratedProcess().getId());
 
         if (logger.isTraceEnabled()) {
             logger.trace("Creating newspaper process {} took {} ms", title,
@@ -565,7 +581,11 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         final long begin = System.nanoTime();
 
         metsService.saveWorkpiece(yearWorkpiece, yearMetadataFileUri);
+        metsService.saveWorkpiece(overallWorkpiece, overallMetadataFileUri);
+        // saves the overall process, too
         processService.save(yearProcess);
+        UnitOfWork.sendToIndex(processService, yearIssueProcessIds);
+        yearIssueProcessIds.clear();
 
         this.yearProcess = null;
         this.yearWorkpiece = null;
@@ -624,12 +644,10 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
 
         generateProcess(overallProcess.getTemplate().getId(), overallProcess.getProject().getId());
         getGeneratedProcess().setTitle(overallProcess.getTitle() + '_' + yearMark.replace('/', '-'));
+        getGeneratedProcess().setParent(overallProcess);
         processService.save(getGeneratedProcess());
         processService.refresh(getGeneratedProcess());
-
-        getGeneratedProcess().setParent(overallProcess);
         overallProcess.getChildren().add(getGeneratedProcess());
-        processService.save(getGeneratedProcess());
 
         fileService.createProcessLocation(getGeneratedProcess());
         final URI metadataFileUri = processService.getMetadataFileUri(getGeneratedProcess());
@@ -682,9 +700,12 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
     private void finish() throws DataException, IOException {
         final long begin = System.nanoTime();
 
-        saveAndCloseCurrentYearProcess();
-        metsService.saveWorkpiece(overallWorkpiece, overallMetadataFileUri);
-        processService.save(overallProcess);
+        if (Objects.nonNull(currentYear)) {
+            saveAndCloseCurrentYearProcess();
+        } else {
+            metsService.saveWorkpiece(overallWorkpiece, overallMetadataFileUri);
+            processService.save(overallProcess);
+        }
 
         if (logger.isTraceEnabled()) {
             logger.trace("Finish took {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
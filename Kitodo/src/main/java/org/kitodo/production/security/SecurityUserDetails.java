@@ -11,15 +11,19 @@
 
 package org.kitodo.production.security;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 import org.kitodo.data.database.beans.Authority;
 import org.kitodo.data.database.beans.Client;
 import org.kitodo.data.database.beans.Role;
 import org.kitodo.data.database.beans.User;
 import org.kitodo.production.services.ServiceManager;
+import org.kitodo.security.AuthoritySet;
+import org.kitodo.security.AuthoritySetProvider;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -28,10 +32,11 @@ import org.springframework.stereotype.Service;
 /**
  * The implementation of Spring Security's UserDetails interface which is used
  * to population the current authentication with security information (e.g.
- * authorities, account expired or locked, ...).
+ * authorities, account expired or locked, ...). The authorities are compiled
+ * once from the roles of the user and kept until the roles change.
  */
 @Service
-public class SecurityUserDetails extends User implements UserDetails {
+public class SecurityUserDetails extends User implements UserDetails, AuthoritySetProvider {
 
     /**
      * The client which was selected by user after login.
@@ -39,6 +44,12 @@ public class SecurityUserDetails extends User implements UserDetails {
     private Client sessionClient;
     private User user;
 
+    /**
+     * The compiled authorities. They are not serialized with the session, but
+     * compiled again on first use after the session was restored.
+     */
+    private transient volatile AuthoritySet authoritySet;
+
     public SecurityUserDetails(final User user) {
         super(user);
         this.user = user;
@@ -46,8 +57,41 @@ public class SecurityUserDetails extends User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
+        return getAuthoritySet().getAuthorities();
+    }
+
+    @Override
+    public AuthoritySet getAuthoritySet() {
+        AuthoritySet localReference = authoritySet;
+        if (Objects.isNull(localReference)) {
+            synchronized (this) {
+                localReference = authoritySet;
+                if (Objects.isNull(localReference)) {
+                    localReference = new AuthoritySet(compileAuthorities());
+                    authoritySet = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Takes over the roles of a changed user. The authorities are compiled
+     * again on the next check.
+     *
+     * @param user
+     *            the changed user
+     */
+    public void updateAuthorities(User user) {
+        synchronized (this) {
+            this.user = user;
+            this.authoritySet = null;
+        }
+    }
+
+    private Set<SimpleGrantedAuthority> compileAuthorities() {
         List<Role> roles = this.user.getRoles();
-        List<SimpleGrantedAuthority> userAuthorities = new ArrayList<>();
+        Set<SimpleGrantedAuthority> userAuthorities = new LinkedHashSet<>();
 
         for (Role role : roles) {
             List<Authority> authorities = role.getAuthorities();
@@ -64,30 +108,18 @@ public class SecurityUserDetails extends User implements UserDetails {
         return userAuthorities;
     }
 
-    private void insertGlobalAuthorities(List<SimpleGrantedAuthority> userAuthorities, Authority authority) {
+    private void insertGlobalAuthorities(Set<SimpleGrantedAuthority> userAuthorities, Authority authority) {
         String authorityTitle = authority.getTitle()
                 .replace(ServiceManager.getAuthorityService().getGlobalAuthoritySuffix(), "");
-        SimpleGrantedAuthority simpleGrantedAuthority = new SimpleGrantedAuthority(authorityTitle + "_GLOBAL");
-        if (!userAuthorities.contains(simpleGrantedAuthority)) {
-            userAuthorities.add(simpleGrantedAuthority);
-        }
+        userAuthorities.add(new SimpleGrantedAuthority(authorityTitle + "_GLOBAL"));
     }
 
-    private void insertClientAuthorities(List<SimpleGrantedAuthority> userAuthorities, Authority authority,
+    private void insertClientAuthorities(Set<SimpleGrantedAuthority> userAuthorities, Authority authority,
             int clientId) {
         String authorityTitle = authority.getTitle()
                 .replace(ServiceManager.getAuthorityService().getClientAuthoritySuffix(), "");
-
-        SimpleGrantedAuthority simpleGrantedAuthority = new SimpleGrantedAuthority(authorityTitle + "_CLIENT_ANY");
-        if (!userAuthorities.contains(simpleGrantedAuthority)) {
-            userAuthorities.add(simpleGrantedAuthority);
-        }
-
-        SimpleGrantedAuthority simpleGrantedAuthorityWithId = new SimpleGrantedAuthority(
-                authorityTitle + "_CLIENT_" + clientId);
-        if (!userAuthorities.contains(simpleGrantedAuthorityWithId)) {
-            userAuthorities.add(simpleGrantedAuthorityWithId);
-        }
+        userAuthorities.add(new SimpleGrantedAuthority(authorityTitle + "_CLIENT_ANY"));
+        userAuthorities.add(new SimpleGrantedAuthority(authorityTitle + "_CLIENT_" + clientId));
     }
 
     /**
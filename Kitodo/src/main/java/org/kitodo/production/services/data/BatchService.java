@@ -161,6 +161,15 @@ public class BatchService extends TitleSearchService<Batch, BatchDTO, BatchDAO>
         return batchDTO;
     }
 
+    @Override
+    protected void loadRelatedDocuments(List<Map<String, Object>> jsonObjects, boolean related)
+            throws DataException {
+        if (!related) {
+            loadDocuments(ServiceManager.getProcessService(),
+                getRelatedIds(jsonObjects, BatchTypeField.PROCESSES.getKey()), true);
+        }
+    }
+
     private void convertRelatedJSONObjects(Map<String, Object> jsonObject, BatchDTO batchDTO) throws DataException {
         batchDTO.setProcesses(convertRelatedJSONObjectToDTO(jsonObject, BatchTypeField.PROCESSES.getKey(),
             ServiceManager.getProcessService()));
@@ -31,7 +31,6 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.DecimalFormat;
@@ -57,6 +56,7 @@ import java.util.stream.Collectors;
 
 import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
+import javax.xml.stream.XMLStreamException;
 
 import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.io.IOUtils;
@@ -80,9 +80,7 @@ import org.elasticsearch.search.sort.SortBuilder;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
 import org.goobi.production.flow.helper.SearchResultGeneration;
-import org.json.JSONArray;
 import org.json.JSONObject;
-import org.json.XML;
 import org.kitodo.api.dataformat.IncludedStructuralElement;
 import org.kitodo.api.docket.DocketData;
 import org.kitodo.api.docket.DocketInterface;
@@ -119,6 +117,7 @@ import org.kitodo.production.enums.ObjectType;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.production.helper.metadata.ImageHelper;
 import org.kitodo.production.helper.metadata.MetadataHelper;
+import org.kitodo.production.helper.metadata.MetsDmdSecExtractor;
 import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyDocStructHelperInterface;
 import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyMetadataHelper;
 import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyMetadataTypeHelper;
@@ -129,6 +128,8 @@ import org.kitodo.production.metadata.copier.CopierData;
 import org.kitodo.production.metadata.copier.DataCopier;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.data.base.ProjectSearchService;
+import org.kitodo.production.services.data.base.SearchService;
+import org.kitodo.production.services.data.base.UnitOfWork;
 import org.kitodo.production.services.file.FileService;
 import org.kitodo.serviceloader.KitodoServiceLoader;
 
@@ -215,11 +216,34 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         super.save(process);
     }
 
+    /**
+     * Saves a process to the database only. Its parents are not saved, and the
+     * process is marked for indexing, but not sent to the index. This is meant
+     * for creating many processes at once: their parents are saved once
+     * afterwards, and the processes are sent to the index together with
+     * {@link UnitOfWork#sendToIndex(SearchService, Collection)}.
+     *
+     * @param process
+     *            process to save
+     * @throws DataException
+     *             if the process cannot be saved
+     */
+    public void saveWithoutParentsAndIndex(Process process) throws DataException {
+        process.setIndexAction(IndexAction.INDEX);
+        try {
+            saveToDatabase(process);
+        } catch (DAOException e) {
+            throw new DataException(e);
+        }
+    }
+
     @Override
     public void saveToIndex(Process process, boolean forceRefresh)
             throws CustomResponseException, DataException, IOException {
-        process.setMetadata(getMetadataForIndex(process));
-        super.saveToIndex(process, forceRefresh);
+        if (Objects.nonNull(process) && !UnitOfWork.collectIndexRequest(this, process)) {
+            process.setMetadata(getMetadataForIndex(process));
+            super.saveToIndex(process, forceRefresh);
+        }
     }
 
     @Override
@@ -230,6 +254,14 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         super.addAllObjectsToIndex(processes);
     }
 
+    @Override
+    public Map<Integer, Map<String, Object>> createDocuments(List<Process> processes) {
+        for (Process process : processes) {
+            process.setMetadata(getMetadataForIndex(process, true));
+        }
+        return super.createDocuments(processes);
+    }
+
     /**
      * MetadataType aus Preferences eines Prozesses ermitteln.
      *
@@ -833,6 +865,19 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         return processDTO;
     }
 
+    @Override
+    protected void loadRelatedDocuments(List<Map<String, Object>> jsonObjects, boolean related)
+            throws DataException {
+        loadDocuments(ServiceManager.getPropertyService(),
+            getRelatedIds(jsonObjects, ProcessTypeField.PROPERTIES.getKey()), true);
+        if (!related) {
+            loadDocuments(ServiceManager.getProjectService(), getIds(jsonObjects, ProcessTypeField.PROJECT_ID.getKey()),
+                false);
+            loadDocuments(ServiceManager.getTaskService(), getRelatedIds(jsonObjects, ProcessTypeField.TASKS.getKey()),
+                true);
+        }
+    }
+
     private void convertRelatedJSONObjects(Map<String, Object> jsonObject, ProcessDTO processDTO) throws DataException {
         int project = ProcessTypeField.PROJECT_ID.getIntValue(jsonObject);
         if (project > 0) {
@@ -2206,61 +2251,17 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         return getMetadataForIndex(process, false);
     }
 
-    @SuppressWarnings("unchecked")
     private List<Map<String, Object>> getMetadataForIndex(Process process, boolean forIndexingAll) {
         try (InputStream metadataFile = ServiceManager.getFileService().readMetadataFile(process, forIndexingAll)) {
-            JSONObject xmlJSONObject = XML.toJSONObject(IOUtils.toString(metadataFile, StandardCharsets.UTF_8));
-            Map<String, Object> json = iterateOverJsonObject(xmlJSONObject);
-            if (json.keySet().contains("mets")) {
-                Map<String, Object> mets = (Map<String, Object>) json.get("mets");
-                Object dmdSec = mets.get("dmdSec");
-                List<Map<String, Object>> metadata = new ArrayList<>();
-                if (dmdSec instanceof List) {
-                    metadata = (List<Map<String, Object>>) dmdSec;
-                } else if (dmdSec instanceof Map) {
-                    metadata.add((Map<String, Object>) dmdSec);
-                }
-                return metadata;
-            }
+            return MetsDmdSecExtractor.extract(metadataFile);
         } catch (NullPointerException | IOException e) {
             logger.info("File was not found: " + e.getMessage(), e);
+        } catch (XMLStreamException e) {
+            logger.error("Metadata file of process " + process.getId() + " could not be read: " + e.getMessage(), e);
         }
         return new ArrayList<>();
     }
 
-    private Map<String, Object> iterateOverJsonObject(JSONObject xmlJSONObject) {
-        Iterator<String> keys = xmlJSONObject.keys();
-
-        Map<String, Object> json = new HashMap<>();
-        while (keys.hasNext()) {
-            String key = keys.next();
-            Object value = xmlJSONObject.get(key);
-            if (value instanceof String) {
-                json.put(prepareKey(key), value);
-            } else if (value instanceof JSONObject) {
-                JSONObject jsonObject = (JSONObject) value;
-                Map<String, Object> map = iterateOverJsonObject(jsonObject);
-                json.put(prepareKey(key), map);
-            } else if (value instanceof JSONArray) {
-                JSONArray jsonArray = (JSONArray) value;
-                List<Map<String, Object>> arrayMap = new ArrayList<>();
-                for (int i = 0; i < jsonArray.length(); i++) {
-                    Map<String, Object> map = iterateOverJsonObject(jsonArray.getJSONObject(i));
-                    arrayMap.add(map);
-                }
-                json.put(prepareKey(key), arrayMap);
-            }
-        }
-        return json;
-    }
-
-    private String prepareKey(String key) {
-        if (key.contains(":")) {
-            return key.substring(key.indexOf(':') + 1);
-        }
-        return key;
-    }
-
     /**
      * Retrieve and return process property value of property with given name
      * 'propertyName' from given ProcessDTO 'process'.
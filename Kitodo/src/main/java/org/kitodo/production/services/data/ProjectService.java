@@ -230,6 +230,15 @@ public class ProjectService extends ClientSearchService<Project, ProjectDTO, Pro
         return templateDTOS;
     }
 
+    @Override
+    protected void loadRelatedDocuments(List<Map<String, Object>> jsonObjects, boolean related)
+            throws DataException {
+        if (!related) {
+            loadDocuments(ServiceManager.getTemplateService(),
+                getRelatedIds(jsonObjects, ProjectTypeField.TEMPLATES.getKey()), true);
+        }
+    }
+
     private void convertRelatedJSONObjects(Map<String, Object> jsonObject, ProjectDTO projectDTO) throws DataException {
         // TODO: not clear if project lists will need it
         projectDTO.setUsers(new ArrayList<>());
@@ -326,6 +335,22 @@ public class ProjectService extends ClientSearchService<Project, ProjectDTO, Pro
         return idsQueryBuilder;
     }
 
+    /**
+     * Check if project with given id is assigned to current user.
+     *
+     * @param projectId
+     *            id of project
+     * @return true if project is assigned to current user
+     */
+    public boolean isProjectOfCurrentUser(Integer projectId) {
+        for (Project project : ServiceManager.getUserService().getAuthenticatedUser().getProjects()) {
+            if (Objects.equals(project.getId(), projectId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Find all Projects for Current User.
      * @return A list of all Projects assigned tot he current user
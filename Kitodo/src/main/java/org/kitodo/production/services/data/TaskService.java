@@ -315,6 +315,13 @@ public class TaskService extends ProjectSearchService<Task, TaskDTO, TaskDAO> {
         return taskDTO;
     }
 
+    @Override
+    protected void loadRelatedDocuments(List<Map<String, Object>> jsonObjects, boolean related)
+            throws DataException {
+        loadDocuments(ServiceManager.getProcessService(), getIds(jsonObjects, TaskTypeField.PROCESS_ID.getKey()),
+            true);
+    }
+
     /**
      * Convert date of processing begin to formatted String.
      *
@@ -203,6 +203,21 @@ public class TemplateService extends ClientSearchService<Template, TemplateDTO,
         return templateDTO;
     }
 
+    @Override
+    protected void loadRelatedDocuments(List<Map<String, Object>> jsonObjects, boolean related)
+            throws DataException {
+        loadDocuments(ServiceManager.getDocketService(), getIds(jsonObjects, TemplateTypeField.DOCKET.getKey()),
+            false);
+        loadDocuments(ServiceManager.getRulesetService(), getIds(jsonObjects, TemplateTypeField.RULESET.getKey()),
+            false);
+        loadDocuments(ServiceManager.getTaskService(), getRelatedIds(jsonObjects, TemplateTypeField.TASKS.getKey()),
+            true);
+        if (!related) {
+            loadDocuments(ServiceManager.getProjectService(),
+                getRelatedIds(jsonObjects, TemplateTypeField.PROJECTS.getKey()), true);
+        }
+    }
+
     private void convertRelatedJSONObjects(Map<String, Object> jsonObject, TemplateDTO templateDTO)
             throws DataException {
         templateDTO.setProjects(convertRelatedJSONObjectToDTO(jsonObject, TemplateTypeField.PROJECTS.getKey(),
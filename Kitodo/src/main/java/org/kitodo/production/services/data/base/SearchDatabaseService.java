@@ -187,6 +187,41 @@ public abstract class SearchDatabaseService<T extends BaseBean, S extends BaseDA
         return dao.getAll(offset, size);
     }
 
+    /**
+     * Get list of objects from database with ids in given range, ordered by id.
+     * Use it instead of {@link #getAll(int, int)} for paging through large
+     * tables.
+     *
+     * @param afterId
+     *            exclusive lower bound of the ids
+     * @param toId
+     *            inclusive upper bound of the ids
+     * @param size
+     *            amount of results
+     * @return list of objects from database in given range
+     */
+    public List<T> getAllInIdRange(int afterId, int toId, int size) throws DAOException {
+        return dao.getAllInIdRange(afterId, toId, size);
+    }
+
+    /**
+     * Get the smallest id of all objects in database.
+     *
+     * @return smallest id or 0 if there are no objects
+     */
+    public int getMinId() throws DAOException {
+        return dao.getMinId();
+    }
+
+    /**
+     * Get the highest id of all objects in database.
+     *
+     * @return highest id or 0 if there are no objects
+     */
+    public int getMaxId() throws DAOException {
+        return dao.getMaxId();
+    }
+
     /**
      * Evict given bean object.
      *
@@ -19,7 +19,10 @@ import static org.elasticsearch.index.query.QueryBuilders.termsQuery;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -27,7 +30,6 @@ import java.util.Objects;
 import java.util.Set;
 
 import javax.json.JsonObject;
-import javax.ws.rs.HttpMethod;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -55,6 +57,7 @@ import org.kitodo.data.exceptions.DataException;
 import org.kitodo.production.dto.BaseDTO;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.production.services.data.ProjectService;
+import org.kitodo.production.services.index.IndexOutbox;
 import org.primefaces.model.SortOrder;
 
 /**
@@ -65,6 +68,21 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         extends SearchDatabaseService<T, V> {
 
     private static final Logger logger = LogManager.getLogger(SearchService.class);
+
+    /**
+     * Maximal amount of ids in one query for related objects.
+     */
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    /**
+     * Documents of related objects loaded during the conversion of found
+     * objects to DTOs, mapped by type and id. It works as identity map for the
+     * current thread, so that no related object is loaded twice while a list is
+     * converted.
+     */
+    private static final ThreadLocal<Map<String, Map<Integer, Map<String, Object>>>> relatedDocuments
+            = new ThreadLocal<>();
+
     protected Searcher searcher;
     protected Indexer indexer;
     protected BaseType type;
@@ -130,6 +148,22 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         return dao.getAllNotIndexed(offset, size);
     }
 
+    /**
+     * Get not indexed objects from database with ids in given range, ordered by
+     * id. Not indexed means that row has index action INDEX or NULL.
+     *
+     * @param afterId
+     *            exclusive lower bound of the ids
+     * @param toId
+     *            inclusive upper bound of the ids
+     * @param size
+     *            amount of results
+     * @return list of not indexed objects from database in given range
+     */
+    public List<T> getAllNotIndexedInIdRange(int afterId, int toId, int size) throws DAOException {
+        return dao.getAllNotIndexedInIdRange(afterId, toId, size);
+    }
+
     /**
      * Get all DTO objects from index an convert them for frontend wit all
      * relations.
@@ -152,10 +186,8 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
     @SuppressWarnings("unchecked")
     public void saveToIndex(T baseIndexedBean, boolean forceRefresh)
             throws CustomResponseException, DataException, IOException {
-
-        indexer.setMethod(HttpMethod.PUT);
-        if (Objects.nonNull(baseIndexedBean)) {
-            indexer.performSingleRequest(baseIndexedBean, type, forceRefresh);
+        if (Objects.nonNull(baseIndexedBean) && !UnitOfWork.collectIndexRequest(this, baseIndexedBean)) {
+            indexer.performIndexRequest(baseIndexedBean, type, forceRefresh);
         }
     }
 
@@ -167,12 +199,39 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
      */
     @SuppressWarnings("unchecked")
     public void addAllObjectsToIndex(List<T> baseIndexedBeans) throws CustomResponseException, DAOException {
-        indexer.setMethod(HttpMethod.PUT);
         if (!baseIndexedBeans.isEmpty()) {
             indexer.performMultipleRequests(baseIndexedBeans, type, true);
         }
     }
 
+    /**
+     * Create index documents for given objects. This method has to be called in
+     * the thread which loaded the objects, as relations may be loaded lazily.
+     *
+     * @param baseIndexedBeans
+     *            List of BaseIndexedBean objects
+     * @return documents mapped by the ids of the objects
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Integer, Map<String, Object>> createDocuments(List<T> baseIndexedBeans) {
+        return type.createDocuments(baseIndexedBeans);
+    }
+
+    /**
+     * Method adds documents created by {@link #createDocuments(List)} to Elastic
+     * Search index. Documents are sent in synchronous bulk requests which are
+     * not larger than given amount of bytes.
+     *
+     * @param documents
+     *            documents mapped by the ids of the objects
+     * @param maxBytes
+     *            estimated maximal size of one bulk request
+     */
+    public void addDocumentsToIndex(Map<Integer, Map<String, Object>> documents, long maxBytes)
+            throws CustomResponseException {
+        indexer.performMultipleRequests(documents, maxBytes);
+    }
+
     /**
      * Method removes document from the index of Elastic Search.
      *
@@ -182,12 +241,10 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
      *            force index refresh - if true, time of execution is longer but
      *            object is right after that available for display
      */
-    @SuppressWarnings("unchecked")
     public void removeFromIndex(T baseIndexedBean, boolean forceRefresh)
             throws CustomResponseException, DataException, IOException {
-        indexer.setMethod(HttpMethod.DELETE);
         if (Objects.nonNull(baseIndexedBean)) {
-            indexer.performSingleRequest(baseIndexedBean, type, forceRefresh);
+            indexer.performDeleteRequest(baseIndexedBean.getId(), forceRefresh);
         }
     }
 
@@ -201,8 +258,7 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
      *            object is right after that available for display
      */
     public void removeFromIndex(Integer id, boolean forceRefresh) throws CustomResponseException, DataException {
-        indexer.setMethod(HttpMethod.DELETE);
-        indexer.performSingleRequest(id, forceRefresh);
+        indexer.performDeleteRequest(id, forceRefresh);
     }
 
     /**
@@ -232,6 +288,12 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
      * fails and in that case, even if index is up to date, in some point of the
      * future it will be reindexed by administrator.
      *
+     * <p>
+     * If the index outbox is enabled, only the first step is executed. The
+     * flag indexAction is then written in the same transaction as the object
+     * and the {@link IndexOutbox} sends the object to the index later. During a
+     * {@link UnitOfWork}, the object is sent to the index at its end.
+     *
      * @param baseIndexedBean
      *            object
      */
@@ -239,6 +301,9 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         try {
             baseIndexedBean.setIndexAction(IndexAction.INDEX);
             saveToDatabase(baseIndexedBean);
+            if (IndexOutbox.isEnabled() || UnitOfWork.registerSaved(this, baseIndexedBean)) {
+                return;
+            }
             // TODO: find out why properties lists are save double
             T savedBean = getById(baseIndexedBean.getId());
             saveToIndex(savedBean, true);
@@ -271,6 +336,51 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         }
     }
 
+    /**
+     * Get the ids of objects which are marked with index action INDEX, ordered
+     * by id.
+     *
+     * @param afterId
+     *            exclusive lower bound of the ids
+     * @param size
+     *            maximal amount of ids
+     * @return ids of not indexed objects
+     */
+    public List<Integer> getNotIndexedIds(int afterId, int size) throws DAOException {
+        return dao.getNotIndexedIds(afterId, size);
+    }
+
+    /**
+     * Send objects which are marked with index action INDEX to the index in one
+     * bulk request. The objects are first marked as DONE and loaded again, so
+     * that changes saved in the meantime are marked again and sent with the
+     * next call. If indexing fails, the objects are marked with INDEX again.
+     *
+     * @param ids
+     *            ids of the objects to send
+     * @return amount of objects sent to the index
+     */
+    public int indexNotIndexed(List<Integer> ids)
+            throws CustomResponseException, DAOException, DataException, IOException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Class<?> beanClass = dao.getBeanClass();
+        dao.updateIndexAction(beanClass, ids, IndexAction.INDEX, IndexAction.DONE);
+        try {
+            Map<String, Object> parameters = Collections.singletonMap("ids", ids);
+            List<T> beans = getByQuery("FROM " + beanClass.getSimpleName() + " WHERE id IN (:ids)", parameters);
+            indexer.performMultipleRequests(beans, type, false);
+            for (T bean : beans) {
+                manageDependenciesForIndex(bean);
+            }
+            return beans.size();
+        } catch (CustomResponseException | DataException | IOException | RuntimeException e) {
+            dao.updateIndexAction(beanClass, ids, IndexAction.DONE, IndexAction.INDEX);
+            throw e;
+        }
+    }
+
     /**
      * Method removes object from database and document from the index of Elastic
      * Search.
@@ -386,8 +496,16 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
      * @return related DTO object
      */
     public S findById(Integer id, boolean related) throws DataException {
+        Map<Integer, Map<String, Object>> cachedDocuments = getRelatedDocumentsCache();
+        if (Objects.nonNull(cachedDocuments) && cachedDocuments.containsKey(id)) {
+            return convertJSONObjectToDTO(cachedDocuments.get(id), related);
+        }
         try {
-            return convertJSONObjectToDTO(searcher.findDocument(id), related);
+            Map<String, Object> document = searcher.findDocument(id);
+            if (Objects.nonNull(cachedDocuments)) {
+                cachedDocuments.put(id, document);
+            }
+            return convertJSONObjectsToDTOs(Collections.singletonList(document), related).get(0);
         } catch (CustomResponseException e) {
             throw new DataException(e);
         }
@@ -469,13 +587,157 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
      */
     protected List<S> convertJSONObjectsToDTOs(List<Map<String, Object>> jsonObjects, boolean related)
             throws DataException {
-        List<S> results = new ArrayList<>();
+        boolean outermostConversion = Objects.isNull(relatedDocuments.get());
+        if (outermostConversion) {
+            relatedDocuments.set(new HashMap<>());
+        }
+        try {
+            List<Map<String, Object>> foundObjects = new ArrayList<>();
+            for (Map<String, Object> jsonObject : jsonObjects) {
+                if (!jsonObject.isEmpty()) {
+                    foundObjects.add(jsonObject);
+                }
+            }
+            if (!foundObjects.isEmpty()) {
+                loadRelatedDocuments(foundObjects, related);
+            }
 
+            List<S> results = new ArrayList<>();
+            for (Map<String, Object> jsonObject : jsonObjects) {
+                results.add(convertJSONObjectToDTO(jsonObject, related));
+            }
+            return results;
+        } finally {
+            if (outermostConversion) {
+                relatedDocuments.remove();
+            }
+        }
+    }
+
+    /**
+     * Load documents of objects related to given objects before they are
+     * converted to DTOs. Services which convert related objects override this
+     * method and call {@link #loadDocuments(SearchService, Collection, boolean)}
+     * for every related type, so that the related objects of a whole list are
+     * found with one query per type instead of one query per object.
+     *
+     * @param jsonObjects
+     *            found objects which will be converted
+     * @param related
+     *            determines if converted objects are related to some other
+     *            object
+     */
+    protected void loadRelatedDocuments(List<Map<String, Object>> jsonObjects, boolean related)
+            throws DataException {
+        // no related objects by default
+    }
+
+    /**
+     * Load documents with given ids from index of given service in one query
+     * and keep them until the current conversion is finished. Documents which
+     * were already loaded during the current conversion are not loaded again.
+     *
+     * @param service
+     *            service of the related objects
+     * @param ids
+     *            ids of the related objects
+     * @param related
+     *            determines if the loaded objects will be converted as related
+     *            objects
+     */
+    protected void loadDocuments(SearchService<?, ?, ?> service, Collection<Integer> ids, boolean related)
+            throws DataException {
+        Map<Integer, Map<String, Object>> cachedDocuments = service.getRelatedDocumentsCache();
+        if (Objects.isNull(cachedDocuments)) {
+            return;
+        }
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer id : ids) {
+            if (Objects.nonNull(id) && id > 0 && !cachedDocuments.containsKey(id) && !missingIds.contains(id)) {
+                missingIds.add(id);
+            }
+        }
+        List<Map<String, Object>> loadedDocuments = new ArrayList<>();
+        for (int from = 0; from < missingIds.size(); from += MAX_IDS_PER_QUERY) {
+            List<Integer> idsOfQuery = missingIds.subList(from, Math.min(from + MAX_IDS_PER_QUERY, missingIds.size()));
+            for (Map<String, Object> document : service.findDocuments(createSetQueryForIds(idsOfQuery), null, 0,
+                idsOfQuery.size())) {
+                cachedDocuments.put(getIdFromJSONObject(document), document);
+                loadedDocuments.add(document);
+            }
+            for (Integer id : idsOfQuery) {
+                cachedDocuments.putIfAbsent(id, Collections.emptyMap());
+            }
+        }
+        if (!loadedDocuments.isEmpty()) {
+            service.loadRelatedDocuments(loadedDocuments, related);
+        }
+    }
+
+    /**
+     * Get ids of objects related to given objects.
+     *
+     * @param jsonObjects
+     *            objects from ElasticSearch
+     * @param key
+     *            name of related property, which contains a list of objects
+     * @return ids of related objects
+     */
+    protected Set<Integer> getRelatedIds(List<Map<String, Object>> jsonObjects, String key) {
+        Set<Integer> ids = new HashSet<>();
+        for (Map<String, Object> jsonObject : jsonObjects) {
+            if (jsonObject.get(key) instanceof List) {
+                ids.addAll(getRelatedPropertyForDTO(jsonObject, key));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Get ids stored in given property of given objects.
+     *
+     * @param jsonObjects
+     *            objects from ElasticSearch
+     * @param key
+     *            name of property, which contains the id of a related object
+     * @return ids of related objects
+     */
+    protected Set<Integer> getIds(List<Map<String, Object>> jsonObjects, String key) {
+        Set<Integer> ids = new HashSet<>();
         for (Map<String, Object> jsonObject : jsonObjects) {
-            results.add(convertJSONObjectToDTO(jsonObject, related));
+            if (jsonObject.get(key) instanceof Integer) {
+                ids.add((Integer) jsonObject.get(key));
+            }
         }
+        return ids;
+    }
 
-        return results;
+    private Map<Integer, Map<String, Object>> getRelatedDocumentsCache() {
+        Map<String, Map<Integer, Map<String, Object>>> documentsOfTypes = relatedDocuments.get();
+        if (Objects.isNull(documentsOfTypes)) {
+            return null;
+        }
+        return documentsOfTypes.computeIfAbsent(searcher.getType(), type -> new HashMap<>());
+    }
+
+    /**
+     * Get documents with given ids, if all of them were loaded during the
+     * current conversion.
+     *
+     * @return found documents or null, if any document has to be loaded
+     */
+    private List<Map<String, Object>> getCachedDocuments(List<Integer> ids) {
+        Map<Integer, Map<String, Object>> cachedDocuments = getRelatedDocumentsCache();
+        if (Objects.isNull(cachedDocuments) || !cachedDocuments.keySet().containsAll(ids)) {
+            return null;
+        }
+        List<Map<String, Object>> documents = new ArrayList<>();
+        for (Integer id : ids) {
+            if (!cachedDocuments.get(id).isEmpty()) {
+                documents.add(cachedDocuments.get(id));
+            }
+        }
+        return documents;
     }
 
     /**
@@ -493,6 +755,14 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         if (ids.isEmpty()) {
             return new ArrayList<>();
         }
+        List<Map<String, Object>> documents = service.getCachedDocuments(ids);
+        if (Objects.nonNull(documents)) {
+            if (service instanceof ProjectService) {
+                ProjectService projectService = (ProjectService) service;
+                documents.removeIf(document -> !projectService.isProjectOfCurrentUser(getIdFromJSONObject(document)));
+            }
+            return service.convertJSONObjectsToDTOs(documents, true);
+        }
         if (service instanceof ProjectService) {
             BoolQueryBuilder query = new BoolQueryBuilder();
             query.must(createSetQueryForIds(ids));
@@ -0,0 +1,281 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.data.base;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.persistence.PersistenceException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Hibernate;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.beans.BaseIndexedBean;
+import org.kitodo.data.database.enums.IndexAction;
+import org.kitodo.data.database.exceptions.DAOException;
+import org.kitodo.data.database.persistence.HibernateUtil;
+import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
+import org.kitodo.data.exceptions.DataException;
+import org.kitodo.production.services.index.IndexOutbox;
+
+/**
+ * Runs several changes as one unit of work. All objects saved by the services
+ * during a unit of work are written to the database in one transaction. The
+ * index is not updated for each save. Instead, after the transaction was
+ * committed, every saved object and every object depending on it is sent to
+ * the index once, in one bulk request per type. If the index outbox is
+ * enabled, the outbox sends the saved objects, as usual. If the objects cannot
+ * be sent to the index, they stay marked for indexing in the database.
+ *
+ * <p>
+ * Units of work are bound to the current thread. A unit of work started
+ * while another one is active becomes part of the active one. While a unit of
+ * work is active, objects are also read in its transaction.
+ */
+public final class UnitOfWork {
+    private static final Logger logger = LogManager.getLogger(UnitOfWork.class);
+
+    /**
+     * A change to run as unit of work.
+     */
+    @FunctionalInterface
+    public interface Work {
+        /**
+         * Runs the change.
+         *
+         * @throws DataException
+         *             if an object cannot be saved
+         * @throws IOException
+         *             if a file cannot be read or written
+         */
+        void run() throws DataException, IOException;
+    }
+
+    /**
+     * Ids of the objects saved during the unit of work of the current thread,
+     * by service.
+     */
+    private static final ThreadLocal<Map<SearchService<?, ?, ?>, Set<Integer>>> savedObjects = new ThreadLocal<>();
+
+    /**
+     * Actions to run after the unit of work of the current thread was
+     * committed.
+     */
+    private static final ThreadLocal<List<Runnable>> afterCommitActions = new ThreadLocal<>();
+
+    /**
+     * Objects to send to the index while the saved objects of the current
+     * thread are sent, by service and id.
+     */
+    private static final ThreadLocal<Map<SearchService<?, ?, ?>, Map<Integer, BaseIndexedBean>>> indexRequests
+            = new ThreadLocal<>();
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private UnitOfWork() {
+    }
+
+    /**
+     * Runs a change as unit of work. If the change fails, the database
+     * transaction is rolled back. Objects already changed in memory are not
+     * reset.
+     *
+     * @param work
+     *            change to run
+     * @throws DataException
+     *             if an object cannot be saved or the transaction cannot be
+     *             committed
+     * @throws IOException
+     *             if a file cannot be read or written
+     */
+    public static void run(Work work) throws DataException, IOException {
+        if (HibernateUtil.isUnitOfWorkActive()) {
+            work.run();
+            return;
+        }
+        HibernateUtil.beginUnitOfWork();
+        savedObjects.set(new LinkedHashMap<>());
+        afterCommitActions.set(new ArrayList<>());
+        Map<SearchService<?, ?, ?>, Set<Integer>> saved;
+        List<Runnable> actions;
+        boolean committed = false;
+        try {
+            work.run();
+            HibernateUtil.commitUnitOfWork();
+            committed = true;
+        } catch (PersistenceException e) {
+            throw new DataException(e);
+        } finally {
+            saved = savedObjects.get();
+            savedObjects.remove();
+            actions = afterCommitActions.get();
+            afterCommitActions.remove();
+            if (!committed) {
+                HibernateUtil.rollbackUnitOfWork();
+            }
+        }
+        sendToIndex(saved);
+        actions.forEach(Runnable::run);
+    }
+
+    /**
+     * Runs an action after the active unit of work was committed and its
+     * objects were sent to the index. If the unit of work is rolled back, the
+     * action is dropped. If no unit of work is active, the action is run at
+     * once.
+     *
+     * @param action
+     *            action to run
+     */
+    public static void afterCommit(Runnable action) {
+        List<Runnable> actions = afterCommitActions.get();
+        if (Objects.isNull(actions)) {
+            action.run();
+        } else {
+            actions.add(action);
+        }
+    }
+
+    /**
+     * Registers an object which was saved to the database, if a unit of work
+     * is active.
+     *
+     * @param service
+     *            service of the object
+     * @param bean
+     *            the saved object
+     * @return whether the object is sent to the index at the end of the unit
+     *         of work
+     */
+    static boolean registerSaved(SearchService<?, ?, ?> service, BaseIndexedBean bean) {
+        Map<SearchService<?, ?, ?>, Set<Integer>> saved = savedObjects.get();
+        if (Objects.isNull(saved)) {
+            return false;
+        }
+        saved.computeIfAbsent(service, key -> new LinkedHashSet<>()).add(bean.getId());
+        return true;
+    }
+
+    /**
+     * Collects an object to send to the index, if the saved objects are being
+     * sent. An object collected several times is sent once, in its last
+     * state.
+     *
+     * @param service
+     *            service of the object
+     * @param bean
+     *            object to send to the index
+     * @return whether the object was collected
+     */
+    public static boolean collectIndexRequest(SearchService<?, ?, ?> service, BaseIndexedBean bean) {
+        Map<SearchService<?, ?, ?>, Map<Integer, BaseIndexedBean>> requests = indexRequests.get();
+        if (Objects.isNull(requests)) {
+            return false;
+        }
+        requests.computeIfAbsent(service, key -> new LinkedHashMap<>()).put(bean.getId(), bean);
+        return true;
+    }
+
+    /**
+     * Sends objects which were saved to the database without being sent to
+     * the index, and the objects depending on them, to the index. Each object
+     * is sent once, in one bulk request per type, and the saved objects are
+     * marked as indexed afterwards. If the index outbox is enabled, the outbox
+     * sends the objects instead. If the objects cannot be sent, they stay
+     * marked for indexing.
+     *
+     * @param service
+     *            service of the saved objects
+     * @param ids
+     *            ids of the saved objects
+     */
+    public static void sendToIndex(SearchService<?, ?, ?> service, Collection<Integer> ids) {
+        if (!ids.isEmpty()) {
+            sendToIndex(Collections.singletonMap(service, new LinkedHashSet<>(ids)));
+        }
+    }
+
+    private static void sendToIndex(Map<SearchService<?, ?, ?>, Set<Integer>> saved) {
+        if (saved.isEmpty() || IndexOutbox.isEnabled()) {
+            return;
+        }
+        Map<SearchService<?, ?, ?>, Map<Integer, BaseIndexedBean>> requests = new IdentityHashMap<>();
+        Map<SearchService<?, ?, ?>, Class<?>> beanClasses = new IdentityHashMap<>();
+        indexRequests.set(requests);
+        try {
+            for (Map.Entry<SearchService<?, ?, ?>, Set<Integer>> entry : saved.entrySet()) {
+                beanClasses.put(entry.getKey(), collectWithDependencies(entry.getKey(), entry.getValue()));
+            }
+        } catch (CustomResponseException | DAOException | DataException | IOException e) {
+            logger.error("Saved objects stay marked for indexing: " + e.getMessage(), e);
+            return;
+        } finally {
+            indexRequests.remove();
+        }
+        long maxBytes = ConfigCore.getLongParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_BULK_MAX_BYTES);
+        int count = 0;
+        try {
+            for (Map.Entry<SearchService<?, ?, ?>, Map<Integer, BaseIndexedBean>> entry : requests.entrySet()) {
+                count += send(entry.getKey(), entry.getValue().values(), maxBytes);
+            }
+            for (Map.Entry<SearchService<?, ?, ?>, Set<Integer>> entry : saved.entrySet()) {
+                entry.getKey().dao.updateIndexAction(beanClasses.get(entry.getKey()), new ArrayList<>(entry.getValue()),
+                    IndexAction.INDEX, IndexAction.DONE);
+            }
+        } catch (CustomResponseException | DAOException e) {
+            logger.error("Saved objects stay marked for indexing: " + e.getMessage(), e);
+            return;
+        }
+        logger.debug("Unit of work saved {} object types, sent {} documents to the index", saved.size(), count);
+    }
+
+    /**
+     * Loads the saved objects again and collects them and the objects
+     * depending on them.
+     *
+     * @return the class of the saved objects
+     */
+    private static <T extends BaseIndexedBean> Class<?> collectWithDependencies(SearchService<T, ?, ?> service,
+            Set<Integer> ids) throws CustomResponseException, DAOException, DataException, IOException {
+        Class<?> beanClass = null;
+        for (Integer id : ids) {
+            T bean = service.getById(id);
+            beanClass = Hibernate.getClass(bean);
+            service.saveToIndex(bean, false);
+            service.manageDependenciesForIndex(bean);
+        }
+        return beanClass;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends BaseIndexedBean> int send(SearchService<T, ?, ?> service,
+            Collection<BaseIndexedBean> beans, long maxBytes) throws CustomResponseException {
+        List<T> list = new ArrayList<>();
+        for (BaseIndexedBean bean : beans) {
+            list.add((T) bean);
+        }
+        service.addDocumentsToIndex(service.createDocuments(list), maxBytes);
+        return list.size();
+    }
+}
@@ -20,10 +20,10 @@ import java.net.URI;
 import java.nio.file.FileSystems;
 import java.nio.file.Paths;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -907,7 +907,7 @@ public class FileService {
     private List<String> getCanonicalFileNamePartsAndSanitizeAbsoluteURIs(Workpiece workpiece,
             Map<String, Subfolder> subfolders, URI processBaseUri) {
 
-        List<String> canonicals = new LinkedList<>();
+        List<String> canonicals = new ArrayList<>();
         String baseUriString = processBaseUri.toString();
         if (!baseUriString.endsWith("/")) {
             baseUriString = baseUriString.concat("/");
@@ -961,19 +961,19 @@ public class FileService {
 
     /**
      * Adds the new media to the workpiece. The media are sorted in according to
-     * the canonical part of the file name.
+     * the canonical part of the file name. Since the media to add are sorted,
+     * the search for the insertion point of a medium starts after the one
+     * inserted before.
      */
     private void addNewMediaToWorkpiece(List<String> canonicals, Map<String, Map<Subfolder, URI>> mediaToAdd,
             Workpiece workpiece) {
 
+        MetadataImageComparator comparator = new MetadataImageComparator();
+        int insertionPoint = 0;
         for (Entry<String, Map<Subfolder, URI>> entry : mediaToAdd.entrySet()) {
-            int insertionPoint = 0;
-            for (String canonical : canonicals) {
-                if (new MetadataImageComparator().compare(entry.getKey(), canonical) > 0) {
-                    insertionPoint++;
-                } else {
-                    break;
-                }
+            while (insertionPoint < canonicals.size()
+                    && comparator.compare(entry.getKey(), canonicals.get(insertionPoint)) > 0) {
+                insertionPoint++;
             }
             MediaUnit mediaUnit = createMediaUnit(entry.getValue());
             workpiece.getMediaUnit().getChildren().add(insertionPoint, mediaUnit);
@@ -982,6 +982,7 @@ public class FileService {
             workpiece.getRootElement().getViews().add(view);
             view.getMediaUnit().getIncludedStructuralElements().add(workpiece.getRootElement());
             canonicals.add(insertionPoint, entry.getKey());
+            insertionPoint++;
         }
     }
 
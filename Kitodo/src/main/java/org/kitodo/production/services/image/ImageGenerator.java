@@ -20,32 +20,58 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOInvalidTreeException;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataFormatImpl;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.imagemanagement.ImageFileFormat;
+import org.kitodo.api.imagemanagement.ImageManagementInterface;
+import org.kitodo.api.validation.ValidationResult;
+import org.kitodo.api.validation.longtermpreservation.FileType;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.config.xml.fileformats.FileFormat;
 import org.kitodo.data.database.beans.Folder;
 import org.kitodo.production.enums.GenerationMode;
 import org.kitodo.production.enums.ImageGeneratorStep;
+import org.kitodo.production.helper.Helper;
 import org.kitodo.production.helper.tasks.EmptyTask;
 import org.kitodo.production.model.Subfolder;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.file.FileService;
+import org.kitodo.production.services.validation.LongTermPreservationValidationService;
 import org.kitodo.production.thread.TaskImageGeneratorThread;
 import org.kitodo.production.thread.TaskScriptThread;
+import org.w3c.dom.NodeList;
 
 /**
  * A program that generates images using the image management interface. This
@@ -55,6 +81,11 @@ import org.kitodo.production.thread.TaskScriptThread;
  */
 public class ImageGenerator implements Runnable {
     private static final Logger logger = LogManager.getLogger(ImageGenerator.class);
+
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final double METERS_PER_INCH = 0.0254;
+    private static final String PNG_METADATA_FORMAT = "javax_imageio_png_1.0";
+
     private final FileService fileService = ServiceManager.getFileService();
     private final ImageService imageService = ServiceManager.getImageService();
 
@@ -98,6 +129,17 @@ public class ImageGenerator implements Runnable {
      */
     private GenerationMode mode;
 
+    /**
+     * Number of threads generating images.
+     */
+    private final int threads;
+
+    /**
+     * Results of validating the output folders, by folder and canonical part
+     * of the file name. Determined on first use, if the mode validates.
+     */
+    private Map<Subfolder, Map<String, ValidationResult>> validationResults;
+
     /**
      * Creates a new image generator.
      *
@@ -115,6 +157,7 @@ public class ImageGenerator implements Runnable {
         this.state = ImageGeneratorStep.LIST_SOURCE_FOLDER;
         this.sources = Collections.emptyList();
         this.contentToBeGenerated = new LinkedList<>();
+        this.threads = Math.max(1, ConfigCore.getIntParameterOrDefaultValue(ParameterCore.IMAGE_GENERATOR_THREADS));
     }
 
     /**
@@ -205,11 +248,105 @@ public class ImageGenerator implements Runnable {
         try (OutputStream outputStream = fileService.write(destinationImage)) {
             Image image = retrieveJavaImage(sourceImage, imageProperties);
             if (fileFormat.getFormatName().isPresent()) {
-                ImageIO.write((RenderedImage) image, fileFormat.getFormatName().get(), outputStream);
+                Object dpi = image.getProperty(ImageManagementInterface.DPI_PROPERTY, null);
+                if (dpi instanceof Integer) {
+                    writeWithDpi((RenderedImage) image, fileFormat.getFormatName().get(), (Integer) dpi,
+                        outputStream);
+                } else {
+                    ImageIO.write((RenderedImage) image, fileFormat.getFormatName().get(), outputStream);
+                }
             }
         }
     }
 
+    /**
+     * Saves an image with the on-board tools of Java and writes its resolution
+     * into the image metadata, if the writer for the file format supports it.
+     *
+     * @param image
+     *            image to save
+     * @param formatName
+     *            Java Image I/O name of the file format
+     * @param dpi
+     *            resolution of the image
+     * @param outputStream
+     *            stream to write the image to
+     * @throws IOException
+     *             if the image cannot be written
+     */
+    private static void writeWithDpi(RenderedImage image, String formatName, int dpi, OutputStream outputStream)
+            throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formatName);
+        if (!writers.hasNext()) {
+            return;
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(outputStream)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image),
+                param);
+            if (Objects.nonNull(metadata) && !metadata.isReadOnly()) {
+                try {
+                    setResolution(metadata, dpi);
+                } catch (IIOInvalidTreeException e) {
+                    logger.warn("Cannot write resolution into {} image: {}", formatName, e.getMessage());
+                }
+            }
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, metadata), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Sets the resolution in image metadata. The Java writers for PNG and JPEG
+     * misinterpret the pixel size of the standard metadata format, so their
+     * native formats are used.
+     *
+     * @param metadata
+     *            metadata to set the resolution in
+     * @param dpi
+     *            resolution of the image
+     * @throws IIOInvalidTreeException
+     *             if the writer does not accept the resolution
+     */
+    private static void setResolution(IIOMetadata metadata, int dpi) throws IIOInvalidTreeException {
+        String nativeFormat = Objects.toString(metadata.getNativeMetadataFormatName(), "");
+        if (nativeFormat.equals(PNG_METADATA_FORMAT)) {
+            String pixelsPerMeter = Long.toString(Math.round(dpi / METERS_PER_INCH));
+            IIOMetadataNode physicalPixelDimensions = new IIOMetadataNode("pHYs");
+            physicalPixelDimensions.setAttribute("pixelsPerUnitXAxis", pixelsPerMeter);
+            physicalPixelDimensions.setAttribute("pixelsPerUnitYAxis", pixelsPerMeter);
+            physicalPixelDimensions.setAttribute("unitSpecifier", "meter");
+            IIOMetadataNode root = new IIOMetadataNode(PNG_METADATA_FORMAT);
+            root.appendChild(physicalPixelDimensions);
+            metadata.mergeTree(PNG_METADATA_FORMAT, root);
+        } else if (nativeFormat.equals(JPEG_METADATA_FORMAT)) {
+            IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(JPEG_METADATA_FORMAT);
+            NodeList jfifSegments = root.getElementsByTagName("app0JFIF");
+            if (jfifSegments.getLength() > 0) {
+                IIOMetadataNode jfifSegment = (IIOMetadataNode) jfifSegments.item(0);
+                jfifSegment.setAttribute("resUnits", "1");
+                jfifSegment.setAttribute("Xdensity", Integer.toString(dpi));
+                jfifSegment.setAttribute("Ydensity", Integer.toString(dpi));
+                metadata.setFromTree(JPEG_METADATA_FORMAT, root);
+            }
+        } else if (metadata.isStandardMetadataFormatSupported()) {
+            String millimetersPerPixel = Double.toString(METERS_PER_INCH * 1000 / dpi);
+            IIOMetadataNode horizontalPixelSize = new IIOMetadataNode("HorizontalPixelSize");
+            horizontalPixelSize.setAttribute("value", millimetersPerPixel);
+            IIOMetadataNode verticalPixelSize = new IIOMetadataNode("VerticalPixelSize");
+            verticalPixelSize.setAttribute("value", millimetersPerPixel);
+            IIOMetadataNode dimension = new IIOMetadataNode("Dimension");
+            dimension.appendChild(horizontalPixelSize);
+            dimension.appendChild(verticalPixelSize);
+            IIOMetadataNode root = new IIOMetadataNode(IIOMetadataFormatImpl.standardMetadataFormatName);
+            root.appendChild(dimension);
+            metadata.mergeTree(IIOMetadataFormatImpl.standardMetadataFormatName, root);
+        }
+    }
+
     /**
      * Determines the folders in which a derivative must be created. Because the
      * ModuleLoader does not work when invoked from a parallelStream(), we use a
@@ -222,7 +359,9 @@ public class ImageGenerator implements Runnable {
      */
     public List<Subfolder> determineFoldersThatNeedDerivatives(String canonical) {
         List<Subfolder> foldersThatNeedDerivatives = new ArrayList<>(outputs.size());
-        Predicate<? super Subfolder> requiresGeneration = mode.getFilter(canonical);
+        Predicate<? super Subfolder> requiresGeneration = mode.equals(GenerationMode.MISSING_OR_DAMAGED)
+                ? mode.getFilter(canonical, getValidationResults())
+                : mode.getFilter(canonical);
         for (Subfolder folder : outputs) {
             if (requiresGeneration.test(folder)) {
                 foldersThatNeedDerivatives.add(folder);
@@ -231,6 +370,38 @@ public class ImageGenerator implements Runnable {
         return foldersThatNeedDerivatives;
     }
 
+    /**
+     * Returns the results of validating the output folders. All files of a
+     * folder are validated at once, which the validation module does in
+     * parallel, instead of one after the other.
+     *
+     * @return the validation results, by folder and canonical part of the file
+     *         name
+     */
+    private Map<Subfolder, Map<String, ValidationResult>> getValidationResults() {
+        if (Objects.isNull(validationResults)) {
+            validationResults = new HashMap<>();
+            LongTermPreservationValidationService validationService = new LongTermPreservationValidationService();
+            for (Subfolder output : outputs) {
+                Optional<FileType> fileType = output.getFileFormat().getFileType();
+                if (fileType.isPresent()) {
+                    Map<String, URI> contents = output.listContents();
+                    Map<URI, ValidationResult> results = validationService.validate(contents.values(),
+                        fileType.get());
+                    Map<String, ValidationResult> resultsByCanonical = new HashMap<>();
+                    for (Entry<String, URI> content : contents.entrySet()) {
+                        ValidationResult result = results.get(content.getValue());
+                        if (Objects.nonNull(result)) {
+                            resultsByCanonical.put(content.getKey(), result);
+                        }
+                    }
+                    validationResults.put(output, resultsByCanonical);
+                }
+            }
+        }
+        return validationResults;
+    }
+
     /**
      * Gets the file list from the content folder, converts it into the required
      * form, and stores it in the sources field.
@@ -366,6 +537,12 @@ public class ImageGenerator implements Runnable {
     @Override
     public void run() {
         do {
+            if (state.equals(ImageGeneratorStep.GENERATE_IMAGES) && threads > 1) {
+                if (generateImagesInParallel()) {
+                    logger.info("Completed");
+                }
+                return;
+            }
             state.accept(this);
             setPosition(getPosition() + 1);
             setProgress();
@@ -377,6 +554,78 @@ public class ImageGenerator implements Runnable {
         logger.info("Completed");
     }
 
+    /**
+     * Generates the images with several threads. Only a few more images than
+     * threads are queued, so that an interruption takes effect soon. The
+     * worker threads inherit the context class loader of the current thread,
+     * so the module loader works in them, unlike in a parallel stream.
+     *
+     * @return whether all images have been generated, false if the generation
+     *         was interrupted
+     */
+    private boolean generateImagesInParallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore queueSlots = new Semaphore(2 * threads);
+        AtomicInteger generated = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        try {
+            for (ContentToBeGenerated instruction : contentToBeGenerated) {
+                queueSlots.acquire();
+                if (isSupervisorInterrupted() || Objects.nonNull(failure.get())) {
+                    break;
+                }
+                letTheSupervisorDo(emptyTask -> emptyTask.setWorkDetail(
+                    Helper.getTranslation("generateImages", Collections.singletonList(instruction.getCanonical()))));
+                executor.execute(() -> {
+                    try {
+                        logger.info("Generating ".concat(instruction.toString()));
+                        createDerivatives(instruction);
+                        reportGenerated(generated.incrementAndGet());
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        queueSlots.release();
+                    }
+                });
+            }
+            executor.shutdown();
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                if (isSupervisorInterrupted()) {
+                    executor.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (Objects.nonNull(failure.get())) {
+            throw failure.get();
+        }
+        if (isSupervisorInterrupted()) {
+            return false;
+        }
+        letTheSupervisorDo(emptyTask -> emptyTask.setProgress(100));
+        return true;
+    }
+
+    private boolean isSupervisorInterrupted() {
+        return Objects.nonNull(supervisor) && supervisor.isInterrupted();
+    }
+
+    /**
+     * Reports that another image has been generated by one of the threads.
+     *
+     * @param count
+     *            number of images generated so far
+     */
+    private synchronized void reportGenerated(int count) {
+        if (count > position) {
+            setPosition(count);
+            setProgress();
+        }
+    }
+
     /**
      * Sets the current position in the list.
      *
@@ -12,6 +12,9 @@
 package org.kitodo.production.services.image;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -62,6 +65,12 @@ public class MissingOrDamagedImagesFilterPredicate implements Predicate<Subfolde
      */
     private String canonical;
 
+    /**
+     * Results of validating the folders in advance, by folder and canonical
+     * part of the file name. Files not contained are validated one by one.
+     */
+    private Map<Subfolder, Map<String, ValidationResult>> validationResults;
+
     /**
      * Creates a filter predicate that checks if the file exists in the folder
      * and can be validated. The name of the file results from the settings of
@@ -72,7 +81,24 @@ public class MissingOrDamagedImagesFilterPredicate implements Predicate<Subfolde
      *            the canonical part of the file name
      */
     public MissingOrDamagedImagesFilterPredicate(String canonical) {
+        this(canonical, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a filter predicate that checks if the file exists in the folder
+     * and can be validated, using the results of validating the folders in
+     * advance.
+     *
+     * @param canonical
+     *            the canonical part of the file name
+     * @param validationResults
+     *            results of validating the folders, by folder and canonical
+     *            part of the file name
+     */
+    public MissingOrDamagedImagesFilterPredicate(String canonical,
+            Map<Subfolder, Map<String, ValidationResult>> validationResults) {
         this.canonical = canonical;
+        this.validationResults = validationResults;
     }
 
     /**
@@ -95,8 +121,12 @@ public class MissingOrDamagedImagesFilterPredicate implements Predicate<Subfolde
         } else {
             Optional<FileType> fileType = folder.getFileFormat().getFileType();
             if (fileType.isPresent()) {
-                LongTermPreservationValidationService serviceLoader = new LongTermPreservationValidationService();
-                ValidationResult validated = serviceLoader.validate(imageURI.get(), fileType.get());
+                ValidationResult validated = validationResults.getOrDefault(folder, Collections.emptyMap())
+                        .get(canonical);
+                if (Objects.isNull(validated)) {
+                    LongTermPreservationValidationService serviceLoader = new LongTermPreservationValidationService();
+                    validated = serviceLoader.validate(imageURI.get(), fileType.get());
+                }
                 if (validated.getState().equals(State.SUCCESS)) {
                     logger.info(VALIDATION_SUCCESS, canonical, folder, validated.getState());
                     return false;
@@ -19,10 +19,12 @@ public class IndexAllThread extends Thread {
 
     private PushContext context;
     private IndexingService indexingService;
+    private boolean indexAllObjects;
 
-    IndexAllThread(PushContext pushContext, IndexingService service) {
+    IndexAllThread(PushContext pushContext, IndexingService service, boolean indexAllObjects) {
         context = pushContext;
         indexingService = service;
+        this.indexAllObjects = indexAllObjects;
     }
 
     @Override
@@ -30,7 +32,11 @@ public class IndexAllThread extends Thread {
         indexingService.setIndexingAll(true);
 
         for (ObjectType objectType : ObjectType.getIndexableObjectTypes()) {
-            indexingService.startIndexing(objectType, context);
+            if (indexAllObjects) {
+                indexingService.startIndexing(objectType, context);
+            } else {
+                indexingService.startIndexingRemaining(objectType, context);
+            }
         }
 
         try {
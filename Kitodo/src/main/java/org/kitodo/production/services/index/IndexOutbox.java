@@ -0,0 +1,228 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.exceptions.DAOException;
+import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
+import org.kitodo.data.exceptions.DataException;
+import org.kitodo.production.enums.ObjectType;
+import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.services.data.base.SearchService;
+
+/**
+ * The index outbox sends objects to the index which were saved to the database
+ * with index action INDEX. The index action is written in the same transaction
+ * as the object itself, so the database table serves as outbox and no change is
+ * lost if the index is not available. If the outbox is enabled in the
+ * configuration, saving an object does not wait for the index any more.
+ *
+ * <p>
+ * The outbox is drained by a single background thread. As long as there are
+ * full batches, it continues without pause, otherwise it waits for the
+ * configured interval. Each object type is sent on its own: if the objects of a
+ * type cannot be sent, the waiting time for this type is doubled after each
+ * failure up to the configured maximum, while the other types go on. An object
+ * which fails repeatedly while others of its type can be sent is skipped, see
+ * {@link OutboxQueue}.
+ */
+@WebListener
+public class IndexOutbox implements Runnable, ServletContextListener {
+    private static final Logger logger = LogManager.getLogger(IndexOutbox.class);
+
+    private static ScheduledExecutorService dispatcher;
+
+    private final List<OutboxQueue> queues;
+
+    /**
+     * Creates the listener which starts and stops the outbox.
+     */
+    public IndexOutbox() {
+        this(Collections.emptyList());
+    }
+
+    /**
+     * Creates an outbox which sends the given queues.
+     *
+     * @param queues
+     *            one queue per object type
+     */
+    IndexOutbox(List<OutboxQueue> queues) {
+        this.queues = queues;
+    }
+
+    /**
+     * Returns whether the index outbox is enabled in the configuration.
+     *
+     * @return whether saving objects defers indexing to the outbox
+     */
+    public static boolean isEnabled() {
+        return ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_OUTBOX);
+    }
+
+    /**
+     * Starts the dispatcher thread, if the outbox is enabled.
+     *
+     * @see javax.servlet.ServletContextListener#contextInitialized(javax.servlet.ServletContextEvent)
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent argument) {
+        if (isEnabled()) {
+            start();
+        }
+    }
+
+    /**
+     * Stops the dispatcher thread on container shutdown. Objects which were not
+     * sent yet stay marked in the database and are sent after the next start.
+     *
+     * @see javax.servlet.ServletContextListener#contextDestroyed(javax.servlet.ServletContextEvent)
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent argument) {
+        stop();
+    }
+
+    private static synchronized void start() {
+        if (Objects.isNull(dispatcher)) {
+            dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "IndexOutbox");
+                thread.setDaemon(true);
+                return thread;
+            });
+            dispatcher.schedule(new IndexOutbox(createQueues()), getInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static synchronized void stop() {
+        if (Objects.nonNull(dispatcher)) {
+            dispatcher.shutdownNow();
+            dispatcher = null;
+        }
+    }
+
+    private static long getInterval() {
+        return ConfigCore.getLongParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_OUTBOX_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Sends one batch of every indexable object type to the index and schedules
+     * the next run.
+     */
+    @Override
+    public void run() {
+        long interval = getInterval();
+        long delay = interval;
+        try {
+            if (dispatch(System.currentTimeMillis(),
+                ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_BATCH), interval,
+                ConfigCore.getLongParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_OUTBOX_MAX_BACKOFF_MILLIS),
+                ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_OUTBOX_MAX_ATTEMPTS))) {
+                delay = 0;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Sending index outbox failed: " + e.getMessage(), e);
+        } finally {
+            reschedule(delay);
+        }
+    }
+
+    private void reschedule(long delay) {
+        synchronized (IndexOutbox.class) {
+            if (Objects.nonNull(dispatcher) && !dispatcher.isShutdown()) {
+                dispatcher.schedule(this, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Sends one batch per object type. A type which fails does not keep the
+     * others from being sent.
+     *
+     * @return whether any object type filled a whole batch, so that more objects
+     *         are probably waiting
+     */
+    boolean dispatch(long now, int batchSize, long interval, long maxBackoff, int maxAttempts) {
+        boolean moreWaiting = false;
+        for (OutboxQueue queue : queues) {
+            if (queue.dispatch(now, batchSize, interval, maxBackoff, maxAttempts)) {
+                moreWaiting = true;
+            }
+        }
+        return moreWaiting;
+    }
+
+    private static List<OutboxQueue> createQueues() {
+        List<OutboxQueue> queues = new ArrayList<>();
+        for (ObjectType objectType : ObjectType.getIndexableObjectTypes()) {
+            SearchService<?, ?, ?> searchService = getSearchService(objectType);
+            if (Objects.nonNull(searchService)) {
+                queues.add(new OutboxQueue(objectType.name(), new OutboxQueue.Target() {
+                    @Override
+                    public List<Integer> findNotIndexed(int afterId, int size) throws DAOException {
+                        return searchService.getNotIndexedIds(afterId, size);
+                    }
+
+                    @Override
+                    public void index(List<Integer> ids)
+                            throws CustomResponseException, DAOException, DataException, IOException {
+                        searchService.indexNotIndexed(ids);
+                    }
+                }));
+            }
+        }
+        return queues;
+    }
+
+    private static SearchService<?, ?, ?> getSearchService(ObjectType objectType) {
+        switch (objectType) {
+            case BATCH:
+                return ServiceManager.getBatchService();
+            case DOCKET:
+                return ServiceManager.getDocketService();
+            case PROCESS:
+                return ServiceManager.getProcessService();
+            case PROJECT:
+                return ServiceManager.getProjectService();
+            case PROPERTY:
+                return ServiceManager.getPropertyService();
+            case RULESET:
+                return ServiceManager.getRulesetService();
+            case TASK:
+                return ServiceManager.getTaskService();
+            case TEMPLATE:
+                return ServiceManager.getTemplateService();
+            case WORKFLOW:
+                return ServiceManager.getWorkflowService();
+            case FILTER:
+                return ServiceManager.getFilterService();
+            default:
+                return null;
+        }
+    }
+}
@@ -22,6 +22,10 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.json.Json;
 import javax.json.JsonObject;
@@ -53,7 +57,6 @@ public class IndexingService {
 
     private static List<ObjectType> objectTypes = ObjectType.getIndexableObjectTypes();
     private Map<ObjectType, SearchService> searchServices = new EnumMap<>(ObjectType.class);
-    private Map<ObjectType, List<IndexWorker>> indexWorkers = new EnumMap<>(ObjectType.class);
     private Map<ObjectType, IndexStates> objectIndexingStates = new EnumMap<>(ObjectType.class);
     private final Map<ObjectType, Integer> countDatabaseObjects = new EnumMap<>(ObjectType.class);
 
@@ -73,12 +76,9 @@ public class IndexingService {
 
     private boolean indexingAll = false;
 
-    private IndexWorker currentIndexWorker;
     private ObjectType currentIndexState = ObjectType.NONE;
     private IndexStates currentState = IndexStates.NO_STATE;
 
-    private Thread indexerThread = null;
-    
     private static IndexRestClient indexRestClient = IndexRestClient.getInstance();
 
     /**
@@ -110,7 +110,6 @@ public class IndexingService {
         }
         indexRestClient.setIndex(ConfigMain.getParameter("elasticsearch.index", "kitodo"));
         try {
-            prepareIndexWorker();
             countDatabaseObjects();
         } catch (DAOException e) {
             Helper.setErrorMessage(e.getLocalizedMessage(), logger, e);
@@ -222,26 +221,27 @@ public class IndexingService {
         }
     }
 
-    private void prepareIndexWorker() throws DAOException {
-
+    /**
+     * Split the ids of all objects of given type into ranges of about
+     * elasticsearch.indexLimit objects and create one worker for each range.
+     */
+    private List<IndexWorker> createIndexWorkers(ObjectType type, boolean indexAllObjects,
+            ExecutorService bulkSender) throws DAOException {
+        SearchService searchService = searchServices.get(type);
+        int minId = searchService.getMinId();
+        int maxId = searchService.getMaxId();
         int indexLimit = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_INDEXLIMIT);
-        for (ObjectType objectType : ObjectType.values()) {
-            List<IndexWorker> indexWorkerList = new ArrayList<>();
-
-            int databaseObjectsSize = getNumberOfDatabaseObjects(objectType);
-            if (databaseObjectsSize > indexLimit) {
-                int start = 0;
-
-                while (start < databaseObjectsSize) {
-                    indexWorkerList.add(new IndexWorker(searchServices.get(objectType), start));
-                    start += indexLimit;
-                }
-            } else {
-                indexWorkerList.add(new IndexWorker(searchServices.get(objectType)));
-            }
-
-            indexWorkers.put(objectType, indexWorkerList);
+        long partitions = Math.max(1, (countDatabaseObjects.get(type) + indexLimit - 1) / indexLimit);
+        long rangeSize = ((long) maxId - minId + partitions) / partitions;
+
+        List<IndexWorker> indexWorkerList = new ArrayList<>();
+        for (long afterId = minId - 1L; afterId < maxId; afterId += rangeSize) {
+            IndexWorker worker = new IndexWorker(searchService, (int) afterId,
+                    (int) Math.min(afterId + rangeSize, maxId), bulkSender);
+            worker.setIndexAllObjects(indexAllObjects);
+            indexWorkerList.add(worker);
         }
+        return indexWorkerList;
     }
 
     /**
@@ -252,11 +252,7 @@ public class IndexingService {
      */
     public void startIndexing(ObjectType type, PushContext pushContext) {
         if (countDatabaseObjects.get(type) > 0) {
-            List<IndexWorker> indexWorkerList = indexWorkers.get(type);
-            for (IndexWorker worker : indexWorkerList) {
-                currentIndexWorker = worker;
-                runIndexing(currentIndexWorker, type, pushContext);
-            }
+            runIndexing(type, true, pushContext);
         }
     }
 
@@ -284,16 +280,11 @@ public class IndexingService {
      */
     public void startIndexingRemaining(ObjectType type, PushContext context) {
         if (countDatabaseObjects.get(type) > 0) {
-            List<IndexWorker> indexWorkerList = indexWorkers.get(type);
-            for (IndexWorker worker : indexWorkerList) {
-                worker.setIndexAllObjects(false);
-                currentIndexWorker = worker;
-                runIndexing(currentIndexWorker, type, context);
-            }
+            runIndexing(type, false, context);
         }
     }
 
-    private void runIndexing(IndexWorker worker, ObjectType type, PushContext pollingChannel) {
+    private void runIndexing(ObjectType type, boolean indexAllObjects, PushContext pollingChannel) {
         currentState = IndexStates.NO_STATE;
         int attempts = 0;
         while (attempts < ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_INDEXLIMIT)) {
@@ -305,11 +296,7 @@ public class IndexingService {
                         objectIndexingStates.put(type, IndexStates.INDEXING_STARTED);
                         pollingChannel.send(INDEXING_STARTED_MESSAGE + currentIndexState);
                     }
-                    indexerThread = new Thread(worker);
-                    indexerThread.setName("Indexing " + worker.getIndexedObjects() + " of type " + type);
-                    indexerThread.setDaemon(true);
-                    indexerThread.start();
-                    indexerThread.join();
+                    runIndexWorkers(type, indexAllObjects);
                     break;
                 } else {
                     logger.debug("Cannot start '{}' indexing while a different indexing process running: '{}'", type,
@@ -320,10 +307,62 @@ public class IndexingService {
             } catch (InterruptedException e) {
                 Helper.setErrorMessage(e.getLocalizedMessage(), logger, e);
                 Thread.currentThread().interrupt();
+                break;
+            } catch (DAOException e) {
+                indexingFailed(type, e, pollingChannel);
+                break;
+            } catch (ExecutionException e) {
+                indexingFailed(type, e.getCause() instanceof Exception ? (Exception) e.getCause() : e, pollingChannel);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Mark the indexing of given type as failed and let the indexing page show
+     * it, so that a failed run is not reported as running or finished.
+     */
+    private void indexingFailed(ObjectType type, Exception exception, PushContext pollingChannel) {
+        Helper.setErrorMessage(exception.getLocalizedMessage(), logger, exception);
+        objectIndexingStates.put(type, IndexStates.INDEXING_FAILED);
+        currentIndexState = ObjectType.NONE;
+        pollingChannel.send(INDEXING_FINISHED_MESSAGE + type + "!");
+    }
+
+    /**
+     * Run the workers of all id ranges of given type in parallel and wait until
+     * they are finished. Loading and converting the objects happens in the
+     * worker threads, while the bulk requests are sent by a separate pool, so
+     * that the database and the index are busy at the same time. If a worker
+     * fails, the others are cancelled and its exception is thrown.
+     */
+    private void runIndexWorkers(ObjectType type, boolean indexAllObjects)
+            throws DAOException, ExecutionException, InterruptedException {
+        int threads = Math.max(1, ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_INDEX_THREADS));
+        ExecutorService bulkSender = Executors.newFixedThreadPool(threads,
+            runnable -> createIndexingThread(runnable, "Sending " + type));
+        ExecutorService workers = Executors.newFixedThreadPool(threads,
+            runnable -> createIndexingThread(runnable, "Indexing " + type));
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (IndexWorker worker : createIndexWorkers(type, indexAllObjects, bulkSender)) {
+                results.add(workers.submit(worker));
             }
+            for (Future<Integer> result : results) {
+                result.get();
+            }
+        } finally {
+            workers.shutdownNow();
+            bulkSender.shutdownNow();
         }
     }
 
+    private static Thread createIndexingThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
     /**
      * Return the progress in percent of the currently running indexing process. If
      * the list of entries to be indexed is empty, this will return "0".
@@ -343,7 +382,6 @@ public class IndexingService {
             } else {
                 objectIndexingStates.put(currentType, IndexStates.INDEXING_SUCCESSFUL);
             }
-            indexerThread.interrupt();
             pollingChannel.send(INDEXING_FINISHED_MESSAGE + currentType + "!");
         }
         return progress;
@@ -518,7 +556,11 @@ public class IndexingService {
      * Start indexing of all database objects in separate thread.
      */
     public void startAllIndexing(PushContext context) {
-        IndexAllThread indexAllThread = new IndexAllThread(context, this);
+        startAllIndexing(context, true);
+    }
+
+    private void startAllIndexing(PushContext context, boolean indexAllObjects) {
+        IndexAllThread indexAllThread = new IndexAllThread(context, this, indexAllObjects);
         indexAllThread.setName("IndexAllThread");
         indexAllThread.start();
     }
@@ -527,13 +569,7 @@ public class IndexingService {
      * Starts the process of indexing all objects to the ElasticSearch index.
      */
     public void startAllIndexingRemaining(PushContext pushContext) {
-        for (Map.Entry<ObjectType, List<IndexWorker>> workerEntry : indexWorkers.entrySet()) {
-            List<IndexWorker> indexWorkerList = workerEntry.getValue();
-            for (IndexWorker worker : indexWorkerList) {
-                worker.setIndexAllObjects(false);
-            }
-        }
-        startAllIndexing(pushContext);
+        startAllIndexing(pushContext, false);
     }
 
     void setIndexingAll(boolean indexing) {
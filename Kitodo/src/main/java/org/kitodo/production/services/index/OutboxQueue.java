@@ -0,0 +1,214 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.data.database.exceptions.DAOException;
+import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
+import org.kitodo.data.exceptions.DataException;
+
+/**
+ * The part of the index outbox for one object type. Each type is sent and
+ * backs off on its own, so that a type which cannot be sent does not hold up
+ * the others.
+ *
+ * <p>
+ * If a batch fails, its objects are sent one by one. If all of them fail, the
+ * index is probably not available and the queue backs off. If only some of
+ * them fail, these objects are counted, and an object which failed too often
+ * is skipped, so that it does not block the objects behind it.
+ */
+class OutboxQueue {
+    private static final Logger logger = LogManager.getLogger(OutboxQueue.class);
+
+    /**
+     * Source of the objects of one type waiting to be sent to the index.
+     */
+    interface Target {
+        /**
+         * Returns the ids of objects waiting to be sent, ordered by id.
+         *
+         * @param afterId
+         *            exclusive lower bound of the ids
+         * @param size
+         *            maximal amount of ids
+         * @return ids of waiting objects
+         */
+        List<Integer> findNotIndexed(int afterId, int size) throws DAOException;
+
+        /**
+         * Sends objects to the index in one request.
+         *
+         * @param ids
+         *            ids of the objects
+         */
+        void index(List<Integer> ids) throws CustomResponseException, DAOException, DataException, IOException;
+    }
+
+    private final String name;
+    private final Target target;
+    private final Map<Integer, Integer> failures = new HashMap<>();
+    private final Set<Integer> skipped = new HashSet<>();
+    private long backoff;
+    private long nextAttempt;
+
+    /**
+     * Creates a queue for one object type.
+     *
+     * @param name
+     *            name of the object type, for logging
+     * @param target
+     *            source of the waiting objects
+     */
+    OutboxQueue(String name, Target target) {
+        this.name = name;
+        this.target = target;
+    }
+
+    /**
+     * Sends one batch of waiting objects, unless the queue is backing off.
+     *
+     * @param now
+     *            current time in milliseconds
+     * @param batchSize
+     *            maximal amount of objects sent at once
+     * @param interval
+     *            regular time between two runs, and the first waiting time
+     *            after a failure
+     * @param maxBackoff
+     *            maximal waiting time after failures
+     * @param maxAttempts
+     *            number of times an object is tried before it is skipped
+     * @return whether a whole batch was sent, so that more objects are
+     *         probably waiting
+     */
+    boolean dispatch(long now, int batchSize, long interval, long maxBackoff, int maxAttempts) {
+        if (now < nextAttempt) {
+            return false;
+        }
+        List<Integer> batch;
+        try {
+            batch = findBatch(batchSize);
+        } catch (DAOException | RuntimeException e) {
+            backOff(now, interval, maxBackoff, e);
+            return false;
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+        try {
+            target.index(batch);
+            recovered(batch);
+            return batch.size() >= batchSize;
+        } catch (CustomResponseException | DAOException | DataException | IOException | RuntimeException e) {
+            if (batch.size() == 1) {
+                backOff(now, interval, maxBackoff, e);
+                return false;
+            }
+            logger.debug("Sending {} objects failed, sending them one by one: {}", name, e.getMessage());
+        }
+        return sendOneByOne(batch, now, batchSize, interval, maxBackoff, maxAttempts);
+    }
+
+    private boolean sendOneByOne(List<Integer> batch, long now, int batchSize, long interval, long maxBackoff,
+            int maxAttempts) {
+        List<Integer> failed = new ArrayList<>();
+        Exception lastFailure = null;
+        for (Integer id : batch) {
+            try {
+                target.index(Collections.singletonList(id));
+            } catch (CustomResponseException | DAOException | DataException | IOException | RuntimeException e) {
+                failed.add(id);
+                lastFailure = e;
+            }
+        }
+        if (failed.size() == batch.size()) {
+            backOff(now, interval, maxBackoff, lastFailure);
+            return false;
+        }
+        List<Integer> sent = new ArrayList<>(batch);
+        sent.removeAll(failed);
+        recovered(sent);
+        for (Integer id : failed) {
+            int attempts = failures.merge(id, 1, Integer::sum);
+            if (attempts >= maxAttempts) {
+                failures.remove(id);
+                skipped.add(id);
+                logger.error("{} {} could not be sent to the index {} times and is skipped until the next start",
+                    name, id, attempts);
+            }
+        }
+        return batch.size() >= batchSize;
+    }
+
+    private void recovered(List<Integer> sent) {
+        backoff = 0;
+        nextAttempt = 0;
+        failures.keySet().removeAll(sent);
+    }
+
+    private void backOff(long now, long interval, long maxBackoff, Exception e) {
+        backoff = Math.min(Math.max(backoff, interval) * 2, maxBackoff);
+        nextAttempt = now + backoff;
+        logger.warn("Sending {} to the index failed, next attempt in {} ms: {}", name, backoff, e.getMessage());
+        logger.debug(e.getMessage(), e);
+    }
+
+    /**
+     * Returns the ids of the next batch, leaving out skipped objects.
+     */
+    private List<Integer> findBatch(int batchSize) throws DAOException {
+        List<Integer> batch = new ArrayList<>(batchSize);
+        int afterId = 0;
+        while (batch.size() < batchSize) {
+            List<Integer> found = target.findNotIndexed(afterId, batchSize);
+            for (Integer id : found) {
+                if (!skipped.contains(id) && batch.size() < batchSize) {
+                    batch.add(id);
+                }
+            }
+            if (found.size() < batchSize) {
+                break;
+            }
+            afterId = found.get(found.size() - 1);
+        }
+        return batch;
+    }
+
+    /**
+     * Returns the time until which the queue waits after failures.
+     *
+     * @return time in milliseconds, 0 if the queue is not backing off
+     */
+    long getNextAttempt() {
+        return nextAttempt;
+    }
+
+    /**
+     * Returns the ids of the objects which failed too often and are skipped.
+     *
+     * @return the skipped ids
+     */
+    Set<Integer> getSkipped() {
+        return Collections.unmodifiableSet(skipped);
+    }
+}
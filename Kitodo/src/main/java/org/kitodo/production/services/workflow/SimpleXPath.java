@@ -0,0 +1,296 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.workflow;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * An XPath expression which only selects elements by their names and the
+ * values of their attributes, such as
+ * {@code /mets:mets//kitodo:metadata[@name='TitleDocMain']} or
+ * {@code /mets:mets/mets:*}. Most workflow
+ * conditions are of this kind. Whether such an expression selects anything
+ * can be found out while reading the file, without building a DOM, and the
+ * reading stops at the first selected element.
+ */
+class SimpleXPath {
+
+    /**
+     * Matches a name without prefix. Only ASCII names are accepted, others
+     * are left to the XPath implementation. Abbreviated steps such as
+     * {@code .} or {@code ..} do not match.
+     */
+    private static final String NCNAME = "[A-Za-z_][\\w.\\-]*";
+
+    /**
+     * Matches a name test: a qualified name, any name in a namespace, or any
+     * name.
+     */
+    private static final String NAME_TEST = NCNAME + ":\\*|(?:" + NCNAME + ":)?" + NCNAME + "|\\*";
+
+    /**
+     * Matches one predicate of a location step.
+     */
+    private static final Pattern PREDICATE = Pattern.compile("\\[@((?:" + NCNAME + ":)?" + NCNAME
+            + ")(?:\\s*=\\s*(?:'([^']*)'|\"([^\"]*)\"))?\\]");
+
+    /**
+     * Matches one location step: the axis, the name test and the predicates.
+     */
+    private static final Pattern STEP = Pattern.compile("(//?)(" + NAME_TEST + ")((?:" + PREDICATE.pattern() + ")*)");
+
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    /**
+     * A location step of a simple XPath expression.
+     */
+    private static class Step {
+        private final boolean descendant;
+
+        /**
+         * Namespace of the selected elements, or null for any namespace.
+         */
+        private final String namespaceURI;
+
+        /**
+         * Local name of the selected elements, or null for any local name.
+         */
+        private final String localName;
+
+        /**
+         * Attribute tests of the predicates. The value is null if the
+         * predicate only tests for the presence of the attribute.
+         */
+        private final List<Pair<QName, String>> attributes;
+
+        Step(boolean descendant, String namespaceURI, String localName, List<Pair<QName, String>> attributes) {
+            this.descendant = descendant;
+            this.namespaceURI = namespaceURI;
+            this.localName = localName;
+            this.attributes = attributes;
+        }
+
+        boolean matches(Element element) {
+            if (Objects.nonNull(namespaceURI) && !namespaceURI.equals(element.name.getNamespaceURI())) {
+                return false;
+            }
+            if (Objects.nonNull(localName) && !localName.equals(element.name.getLocalPart())) {
+                return false;
+            }
+            for (Pair<QName, String> attribute : attributes) {
+                String value = element.attributes.get(attribute.getKey());
+                if (Objects.isNull(value) || (Objects.nonNull(attribute.getValue())
+                        && !attribute.getValue().equals(value))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * An open element while reading the file.
+     */
+    private static class Element {
+        private final QName name;
+        private final Map<QName, String> attributes;
+
+        Element(QName name, Map<QName, String> attributes) {
+            this.name = name;
+            this.attributes = attributes;
+        }
+    }
+
+    private final Step[] steps;
+    private final boolean needsAttributes;
+
+    private SimpleXPath(List<Step> steps) {
+        this.steps = steps.toArray(new Step[0]);
+        this.needsAttributes = steps.stream().anyMatch(step -> !step.attributes.isEmpty());
+    }
+
+    /**
+     * Parses an XPath expression. The expression is only accepted if it
+     * consists of location steps on the child and descendant axes, with name
+     * tests and predicates on attributes only. A name test can be a name, any
+     * name in a namespace ({@code prefix:*}) or any name ({@code *}).
+     *
+     * @param xpath
+     *            XPath expression to parse
+     * @param namespaceContext
+     *            resolves the namespace prefixes of the expression
+     * @return the simple XPath expression, or empty if the expression is not
+     *         simple
+     */
+    static Optional<SimpleXPath> parse(String xpath, NamespaceContext namespaceContext) {
+        String expression = xpath.trim();
+        Matcher stepMatcher = STEP.matcher(expression);
+        List<Step> steps = new ArrayList<>();
+        int position = 0;
+        while (position < expression.length()) {
+            if (!stepMatcher.find(position) || stepMatcher.start() != position) {
+                return Optional.empty();
+            }
+            String name = stepMatcher.group(2);
+            QName elementName = null;
+            if (!"*".equals(name)) {
+                elementName = resolve(name, namespaceContext);
+                if (Objects.isNull(elementName)) {
+                    return Optional.empty();
+                }
+            }
+            List<Pair<QName, String>> attributes = new ArrayList<>();
+            Matcher predicateMatcher = PREDICATE.matcher(stepMatcher.group(3));
+            while (predicateMatcher.find()) {
+                QName attributeName = resolve(predicateMatcher.group(1), namespaceContext);
+                if (Objects.isNull(attributeName)) {
+                    return Optional.empty();
+                }
+                String value = Objects.nonNull(predicateMatcher.group(2)) ? predicateMatcher.group(2)
+                        : predicateMatcher.group(3);
+                attributes.add(Pair.of(attributeName, value));
+            }
+            String localName = Objects.isNull(elementName) || "*".equals(elementName.getLocalPart()) ? null
+                    : elementName.getLocalPart();
+            steps.add(new Step("//".equals(stepMatcher.group(1)),
+                    Objects.isNull(elementName) ? null : elementName.getNamespaceURI(), localName, attributes));
+            position = stepMatcher.end();
+        }
+        return steps.isEmpty() ? Optional.empty() : Optional.of(new SimpleXPath(steps));
+    }
+
+    /**
+     * Resolves a name of the expression. In XPath, a name without a prefix
+     * is not in a namespace, even if there is a default namespace.
+     *
+     * @return the qualified name, or null if the prefix is unknown
+     */
+    private static QName resolve(String name, NamespaceContext namespaceContext) {
+        int colon = name.indexOf(':');
+        if (colon < 0) {
+            return new QName(XMLConstants.NULL_NS_URI, name);
+        }
+        String namespaceURI = namespaceContext.getNamespaceURI(name.substring(0, colon));
+        if (Objects.isNull(namespaceURI) || namespaceURI.isEmpty()) {
+            return null;
+        }
+        return new QName(namespaceURI, name.substring(colon + 1));
+    }
+
+    /**
+     * Reads an XML document until an element selected by the expression is
+     * found.
+     *
+     * @param in
+     *            XML document to read
+     * @return whether the expression selects any element of the document
+     * @throws IOException
+     *             if the document cannot be read or is not well-formed
+     */
+    boolean selectsAny(InputStream in) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(in);
+            List<Element> openElements = new ArrayList<>();
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    openElements.add(new Element(reader.getName(), readAttributes(reader)));
+                    if (matches(steps.length - 1, openElements, openElements.size() - 1)) {
+                        return true;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    openElements.remove(openElements.size() - 1);
+                }
+            }
+            return false;
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            if (Objects.nonNull(reader)) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // the stream itself is closed by the caller
+                }
+            }
+        }
+    }
+
+    private Map<QName, String> readAttributes(XMLStreamReader reader) {
+        int count = reader.getAttributeCount();
+        if (!needsAttributes || count == 0) {
+            return Collections.emptyMap();
+        }
+        Map<QName, String> attributes = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            attributes.put(reader.getAttributeName(i), reader.getAttributeValue(i));
+        }
+        return attributes;
+    }
+
+    /**
+     * Checks whether the steps up to a step select an open element.
+     *
+     * @param step
+     *            index of the last step to check
+     * @param openElements
+     *            the open elements, from the root element on
+     * @param element
+     *            index of the open element the step must select
+     */
+    private boolean matches(int step, List<Element> openElements, int element) {
+        if (!steps[step].matches(openElements.get(element))) {
+            return false;
+        }
+        if (step == 0) {
+            return steps[0].descendant || element == 0;
+        }
+        if (!steps[step].descendant) {
+            return element > 0 && matches(step - 1, openElements, element - 1);
+        }
+        for (int ancestor = element - 1; ancestor >= 0; ancestor--) {
+            if (matches(step - 1, openElements, ancestor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory;
+    }
+}
@@ -13,7 +13,6 @@ package org.kitodo.production.services.workflow;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -24,14 +23,6 @@ import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReentrantLock;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.command.CommandResult;
@@ -58,11 +49,8 @@ import org.kitodo.production.helper.tasks.TaskManager;
 import org.kitodo.production.metadata.MetadataLock;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.data.TaskService;
+import org.kitodo.production.services.data.base.UnitOfWork;
 import org.kitodo.production.thread.TaskScriptThread;
-import org.kitodo.production.workflow.KitodoNamespaceContext;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 public class WorkflowControllerService {
 
@@ -196,12 +184,21 @@ public class WorkflowControllerService {
     }
 
     /**
-     * Close task.
+     * Close task. The task and all tasks changed by closing it are saved as
+     * one {@link UnitOfWork}. Scripts of automatic tasks are started after
+     * the unit of work was committed.
      *
      * @param task
      *            as Task object
      */
     public void close(Task task) throws DataException, IOException {
+        // the metadata files may change before the next close
+        XPathConditionEvaluator xPathConditionEvaluator = new XPathConditionEvaluator();
+        UnitOfWork.run(() -> closeAndActivateFollowingTasks(task, xPathConditionEvaluator));
+    }
+
+    private void closeAndActivateFollowingTasks(Task task, XPathConditionEvaluator xPathConditionEvaluator)
+            throws DataException, IOException {
         task.setProcessingStatus(TaskStatus.DONE);
         task.setProcessingTime(new Date());
         User user = null;
@@ -216,7 +213,7 @@ public class WorkflowControllerService {
         automaticTasks = new ArrayList<>();
         tasksToFinish = new ArrayList<>();
 
-        activateTasksForClosedTask(task);
+        activateTasksForClosedTask(task, xPathConditionEvaluator);
     }
 
     /**
@@ -370,7 +367,8 @@ public class WorkflowControllerService {
         }
     }
 
-    private void activateTasksForClosedTask(Task closedTask) throws DataException, IOException {
+    private void activateTasksForClosedTask(Task closedTask, XPathConditionEvaluator xPathConditionEvaluator)
+            throws DataException, IOException {
         Process process = closedTask.getProcess();
 
         // check if there are tasks that take place in parallel but are not yet
@@ -380,10 +378,10 @@ public class WorkflowControllerService {
 
         if (concurrentTasksForOpen.isEmpty() && !isAnotherTaskInWorkWhichBlocksOtherTasks(tasks, closedTask)) {
             if (!closedTask.isLast()) {
-                activateNextTasks(getAllHigherTasks(tasks, closedTask));
+                activateNextTasks(getAllHigherTasks(tasks, closedTask), xPathConditionEvaluator);
             }
         } else {
-            activateConcurrentTasks(concurrentTasksForOpen);
+            activateConcurrentTasks(concurrentTasksForOpen, xPathConditionEvaluator);
         }
 
         URI imagesOrigDirectory = ServiceManager.getProcessService().getImagesOriginDirectory(true, process);
@@ -398,10 +396,10 @@ public class WorkflowControllerService {
         for (Task automaticTask : automaticTasks) {
             automaticTask.setProcessingBegin(new Date());
             TaskScriptThread thread = new TaskScriptThread(automaticTask);
-            TaskManager.addTask(thread);
+            UnitOfWork.afterCommit(() -> TaskManager.addTask(thread));
         }
         for (Task finish : tasksToFinish) {
-            close(finish);
+            closeAndActivateFollowingTasks(finish, xPathConditionEvaluator);
         }
     }
 
@@ -489,10 +487,11 @@ public class WorkflowControllerService {
     /**
      * Activate the concurrent tasks.
      */
-    private void activateConcurrentTasks(List<Task> concurrentTasks) throws DataException, IOException {
+    private void activateConcurrentTasks(List<Task> concurrentTasks, XPathConditionEvaluator xPathConditionEvaluator)
+            throws DataException, IOException {
         for (Task concurrentTask : concurrentTasks) {
             if (concurrentTask.getProcessingStatus().equals(TaskStatus.LOCKED)) {
-                activateTask(concurrentTask);
+                activateTask(concurrentTask, xPathConditionEvaluator);
             }
         }
     }
@@ -501,10 +500,15 @@ public class WorkflowControllerService {
      * If no open parallel tasks are available, activate the next tasks.
      */
     public void activateNextTasks(List<Task> allHigherTasks) throws DataException, IOException {
+        activateNextTasks(allHigherTasks, new XPathConditionEvaluator());
+    }
+
+    private void activateNextTasks(List<Task> allHigherTasks, XPathConditionEvaluator xPathConditionEvaluator)
+            throws DataException, IOException {
         List<Task> nextTasks = getNextTasks(allHigherTasks);
 
         for (Task nextTask : nextTasks) {
-            activateTask(nextTask);
+            activateTask(nextTask, xPathConditionEvaluator);
         }
     }
 
@@ -529,8 +533,9 @@ public class WorkflowControllerService {
     /**
      * If no open parallel tasks are available, activate the next tasks.
      */
-    private void activateTask(Task task) throws DataException, IOException {
-        if (isWorkflowConditionFulfilled(task.getProcess(), task.getWorkflowCondition())) {
+    private void activateTask(Task task, XPathConditionEvaluator xPathConditionEvaluator)
+            throws DataException, IOException {
+        if (isWorkflowConditionFulfilled(task.getProcess(), task.getWorkflowCondition(), xPathConditionEvaluator)) {
             // activate the task if it is not fully automatic
             task.setProcessingStatus(TaskStatus.OPEN);
             task.setProcessingTime(new Date());
@@ -548,12 +553,12 @@ public class WorkflowControllerService {
 
             taskService.save(task);
 
-            activateTasksForClosedTask(task);
+            activateTasksForClosedTask(task, xPathConditionEvaluator);
         }
     }
 
-    private boolean isWorkflowConditionFulfilled(Process process, WorkflowCondition workflowCondition)
-            throws IOException {
+    private boolean isWorkflowConditionFulfilled(Process process, WorkflowCondition workflowCondition,
+            XPathConditionEvaluator xPathConditionEvaluator) throws IOException {
         if (Objects.isNull(workflowCondition)) {
             return true;
         } else {
@@ -562,7 +567,7 @@ public class WorkflowControllerService {
             }
 
             if (workflowCondition.getType().equals(WorkflowConditionType.XPATH)) {
-                return runXPathCondition(process, workflowCondition.getValue());
+                return runXPathCondition(process, workflowCondition.getValue(), xPathConditionEvaluator);
             }
             return true;
         }
@@ -573,20 +578,13 @@ public class WorkflowControllerService {
         return commandResult.isSuccessful();
     }
 
-    private boolean runXPathCondition(Process process, String xpath) throws IOException {
-        try (InputStream fileInputStream = ServiceManager.getFileService().readMetadataFile(process)) {
-            DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
-            builderFactory.setNamespaceAware(true);
-            DocumentBuilder builder = builderFactory.newDocumentBuilder();
-            Document xmlDocument = builder.parse(fileInputStream);
-
-            XPath xPath = XPathFactory.newInstance().newXPath();
-            xPath.setNamespaceContext(new KitodoNamespaceContext());
-            NodeList nodeList = (NodeList) xPath.compile(xpath).evaluate(xmlDocument, XPathConstants.NODESET);
-            return nodeList.getLength() > 0;
-        } catch (ParserConfigurationException | SAXException | XPathExpressionException e) {
+    private boolean runXPathCondition(Process process, String xpath,
+            XPathConditionEvaluator xPathConditionEvaluator) throws IOException {
+        try {
+            return xPathConditionEvaluator.isFulfilled(process, xpath);
+        } catch (IOException e) {
             logger.error(e.getMessage(), e);
-            throw new IOException(e);
+            throw e;
         }
     }
 
@@ -601,7 +599,10 @@ public class WorkflowControllerService {
     }
 
     /**
-     * Update process sort helper status.
+     * Update process sort helper status. The process is read again, so that
+     * its tasks are up to date. During a unit of work, it is read in the
+     * transaction of the unit of work, which sees the changed tasks before
+     * they are committed.
      *
      * @param process
      *            object
@@ -0,0 +1,155 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.workflow;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.kitodo.data.database.beans.Process;
+import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.workflow.KitodoNamespaceContext;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Evaluates the XPath conditions of workflow tasks against the metadata files
+ * of the processes. Compiled expressions are kept per thread, because XPath
+ * objects are not thread-safe. The metadata file of a process is parsed at
+ * most once during the lifetime of an evaluator, which therefore must not
+ * live longer than one operation on the workflow. Expressions which only test
+ * for the existence of elements are evaluated while reading the file, if it is
+ * the first condition checked for the process. Further conditions of the same
+ * process are evaluated against the parsed file.
+ */
+class XPathConditionEvaluator {
+
+    /**
+     * Maximum number of compiled expressions kept per thread.
+     */
+    private static final int MAX_COMPILED_EXPRESSIONS = 1000;
+
+    private static final NamespaceContext namespaceContext = new KitodoNamespaceContext();
+
+    private static final Map<String, Optional<SimpleXPath>> simpleExpressions = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<DocumentBuilder> documentBuilders = ThreadLocal
+            .withInitial(XPathConditionEvaluator::createDocumentBuilder);
+
+    private static final ThreadLocal<XPath> xPaths = ThreadLocal.withInitial(() -> {
+        XPath xPath = XPathFactory.newInstance().newXPath();
+        xPath.setNamespaceContext(namespaceContext);
+        return xPath;
+    });
+
+    private static final ThreadLocal<Map<String, XPathExpression>> compiledExpressions = ThreadLocal
+            .withInitial(() -> new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Entry<String, XPathExpression> eldest) {
+                    return size() > MAX_COMPILED_EXPRESSIONS;
+                }
+            });
+
+    /**
+     * Parsed metadata files by process id.
+     */
+    private final Map<Integer, Document> documents = new HashMap<>();
+
+    /**
+     * Ids of the processes whose metadata files were read without parsing.
+     */
+    private final Set<Integer> streamedProcesses = new HashSet<>();
+
+    /**
+     * Checks whether an XPath expression selects any node of the metadata file
+     * of a process.
+     *
+     * @param process
+     *            process whose metadata file is checked
+     * @param xpath
+     *            XPath expression of the condition
+     * @return whether the condition is fulfilled
+     * @throws IOException
+     *             if the metadata file cannot be read or the expression is
+     *             invalid
+     */
+    boolean isFulfilled(Process process, String xpath) throws IOException {
+        Document document = documents.get(process.getId());
+        if (Objects.isNull(document)) {
+            Optional<SimpleXPath> simpleXPath = simpleExpressions.computeIfAbsent(xpath,
+                expression -> SimpleXPath.parse(expression, namespaceContext));
+            if (simpleXPath.isPresent() && streamedProcesses.add(process.getId())) {
+                try (InputStream in = ServiceManager.getFileService().readMetadataFile(process)) {
+                    return simpleXPath.get().selectsAny(in);
+                }
+            }
+            document = parse(process);
+            documents.put(process.getId(), document);
+        }
+        try {
+            NodeList nodeList = (NodeList) compile(xpath).evaluate(document, XPathConstants.NODESET);
+            return nodeList.getLength() > 0;
+        } catch (XPathExpressionException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static Document parse(Process process) throws IOException {
+        DocumentBuilder builder = documentBuilders.get();
+        try (InputStream in = ServiceManager.getFileService().readMetadataFile(process)) {
+            return builder.parse(in);
+        } catch (SAXException e) {
+            throw new IOException(e);
+        } finally {
+            builder.reset();
+        }
+    }
+
+    private static XPathExpression compile(String xpath) throws XPathExpressionException {
+        Map<String, XPathExpression> expressions = compiledExpressions.get();
+        XPathExpression expression = expressions.get(xpath);
+        if (Objects.isNull(expression)) {
+            expression = xPaths.get().compile(xpath);
+            expressions.put(xpath, expression);
+        }
+        return expression;
+    }
+
+    private static DocumentBuilder createDocumentBuilder() {
+        DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
+        builderFactory.setNamespaceAware(true);
+        try {
+            return builderFactory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
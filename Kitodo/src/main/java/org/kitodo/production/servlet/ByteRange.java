@@ -0,0 +1,118 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.servlet;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A single range of bytes requested with the HTTP header {@code Range}. Only
+ * one range per request is supported. If several ranges are requested, the
+ * whole file is sent, which the HTTP specification allows.
+ */
+class ByteRange {
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    /**
+     * Range which cannot be satisfied, because it starts behind the end of
+     * the file.
+     */
+    static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    private final long first;
+    private final long last;
+
+    private ByteRange(long first, long last) {
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * Parses the value of a {@code Range} header.
+     *
+     * @param header
+     *            value of the header, may be {@code null}
+     * @param length
+     *            length of the file in bytes
+     * @return the requested range, {@link #UNSATISFIABLE} if no byte of the
+     *         file lies within the range, or empty if the whole file is to be
+     *         sent
+     */
+    static Optional<ByteRange> parse(String header, long length) {
+        if (Objects.isNull(header) || !header.startsWith(BYTES_UNIT) || header.indexOf(',') >= 0) {
+            return Optional.empty();
+        }
+        String spec = header.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return Optional.empty();
+        }
+        try {
+            String firstPart = spec.substring(0, dash).trim();
+            String lastPart = spec.substring(dash + 1).trim();
+            if (firstPart.isEmpty()) {
+                long suffixLength = Long.parseLong(lastPart);
+                if (suffixLength <= 0 || length == 0) {
+                    return Optional.of(UNSATISFIABLE);
+                }
+                return Optional.of(new ByteRange(Math.max(0, length - suffixLength), length - 1));
+            }
+            long first = Long.parseLong(firstPart);
+            long last = lastPart.isEmpty() ? length - 1 : Math.min(Long.parseLong(lastPart), length - 1);
+            if (first < 0 || (!lastPart.isEmpty() && Long.parseLong(lastPart) < first)) {
+                return Optional.empty();
+            }
+            return first < length ? Optional.of(new ByteRange(first, last)) : Optional.of(UNSATISFIABLE);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the position of the first byte of the range.
+     *
+     * @return the first byte
+     */
+    long getFirst() {
+        return first;
+    }
+
+    /**
+     * Returns the position of the last byte of the range, inclusive.
+     *
+     * @return the last byte
+     */
+    long getLast() {
+        return last;
+    }
+
+    /**
+     * Returns the number of bytes in the range.
+     *
+     * @return the length of the range
+     */
+    long getLength() {
+        return last - first + 1;
+    }
+
+    /**
+     * Returns the value of the {@code Content-Range} header for this range.
+     *
+     * @param length
+     *            length of the file in bytes
+     * @return the value of the header
+     */
+    String toContentRange(long length) {
+        return this == UNSATISFIABLE ? "bytes */" + length : "bytes " + first + "-" + last + "/" + length;
+    }
+}
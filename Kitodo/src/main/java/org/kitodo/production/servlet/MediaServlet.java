@@ -0,0 +1,338 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.servlet;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.production.model.Subfolder;
+
+/**
+ * Serves the media files of processes, such as the thumbnails and the images
+ * of the media view in the metadata editor, without going through the JSF
+ * life cycle. The URL is {@code /media/<process>/<folder>/<canonical>}.
+ *
+ * <p>
+ * Access to the files of a folder is granted to a session with
+ * {@link #grantAccess(HttpSession, Subfolder)} by the form which displays
+ * them, after that form has checked the authorities of the user. A session
+ * holds the grants of the few processes displayed last, so that several
+ * processes can be open in different tabs. Files are
+ * served with {@code ETag} and {@code Last-Modified} headers and conditional
+ * and range requests are answered. The URLs returned by
+ * {@link #getUrl(Subfolder, String)} contain the modification time of the
+ * file, so the browser can keep the file as long as it is not changed.
+ */
+@WebServlet(urlPatterns = MediaServlet.URL_PATTERN)
+public class MediaServlet extends HttpServlet {
+    private static final Logger logger = LogManager.getLogger(MediaServlet.class);
+    private static final long serialVersionUID = 1L;
+
+    static final String URL_PATTERN = "/media/*";
+
+    private static final String GRANTS_ATTRIBUTE = MediaServlet.class.getName() + ".grants";
+
+    /**
+     * Maximum number of processes whose folders a session may access. When
+     * the files of a further process are displayed, the grants of the process
+     * displayed least recently are withdrawn.
+     */
+    private static final int MAX_GRANTED_PROCESSES = 8;
+    private static final Pattern PATH_INFO = Pattern.compile("/(\\d+)/(\\d+)/([^/\\\\]+)");
+    private static final String VERSION_PARAMETER = "v";
+
+    /**
+     * Cache control for URLs which contain the modification time of the file.
+     * If the file changes, the URL changes, too.
+     */
+    private static final String CACHE_FOREVER = "private, max-age=31536000, immutable";
+    private static final String CACHE_REVALIDATE = "private, no-cache";
+
+    /*
+     * Tomcat sends files directly from the file system to the socket, if the
+     * connector supports it and these request attributes are set.
+     */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Allows a session to retrieve the files of a folder of a process. If the
+     * session holds grants for too many processes, the grants of the process
+     * displayed least recently are withdrawn.
+     *
+     * @param session
+     *            session to grant access to
+     * @param subfolder
+     *            folder of a process
+     */
+    public static void grantAccess(HttpSession session, Subfolder subfolder) {
+        Grants grants = getGrants(session, true);
+        grants.put(String.valueOf(subfolder.getProcess().getId()), String.valueOf(subfolder.getFolder().getId()),
+            new Grant(subfolder));
+        // tell the container that the session attribute has changed
+        session.setAttribute(GRANTS_ATTRIBUTE, grants);
+    }
+
+    /**
+     * Returns the context-relative URL of a file in a folder. The URL contains
+     * the modification time of the file.
+     *
+     * @param subfolder
+     *            folder of a process
+     * @param canonical
+     *            the canonical part of the file name
+     * @return the URL
+     */
+    public static String getUrl(Subfolder subfolder, String canonical) {
+        long lastModified = Paths.get(subfolder.getUri(canonical)).toFile().lastModified();
+        try {
+            return "/media/" + subfolder.getProcess().getId() + '/' + subfolder.getFolder().getId() + '/'
+                    + URLEncoder.encode(canonical, StandardCharsets.UTF_8.name()).replace("+", "%20") + '?'
+                    + VERSION_PARAMETER + '=' + lastModified;
+        } catch (UnsupportedEncodingException e) {
+            // every Java platform is required to support UTF-8
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Grants getGrants(HttpSession session, boolean create) {
+        Object grants = session.getAttribute(GRANTS_ATTRIBUTE);
+        if (Objects.isNull(grants) && create) {
+            synchronized (MediaServlet.class) {
+                grants = session.getAttribute(GRANTS_ATTRIBUTE);
+                if (Objects.isNull(grants)) {
+                    grants = new Grants();
+                    session.setAttribute(GRANTS_ATTRIBUTE, grants);
+                }
+            }
+        }
+        return (Grants) grants;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> file = resolve(request);
+        if (!file.isPresent()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path path = file.get();
+        long length = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        String eTag = '"' + Long.toHexString(length) + '-' + Long.toHexString(lastModified) + '"';
+
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Cache-Control",
+            Long.toString(lastModified).equals(request.getParameter(VERSION_PARAMETER)) ? CACHE_FOREVER
+                    : CACHE_REVALIDATE);
+        response.setHeader("Accept-Ranges", "bytes");
+        if (isNotModified(request, eTag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        Optional<ByteRange> range = isRangeApplicable(request, eTag, lastModified)
+                ? ByteRange.parse(request.getHeader("Range"), length)
+                : Optional.empty();
+        if (range.isPresent() && range.get() == ByteRange.UNSATISFIABLE) {
+            response.setHeader("Content-Range", range.get().toContentRange(length));
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        if (range.isPresent()) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", range.get().toContentRange(length));
+        }
+        String mimeType = getServletContext().getMimeType(path.getFileName().toString());
+        response.setContentType(Objects.nonNull(mimeType) ? mimeType : "application/octet-stream");
+        long count = range.map(ByteRange::getLength).orElse(length);
+        response.setHeader("Content-Length", Long.toString(count));
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        long first = range.map(ByteRange::getFirst).orElse(0L);
+        send(request, response, path, first, count);
+    }
+
+    /**
+     * Looks up the file of a request, if the session was granted access to
+     * its folder.
+     */
+    private static Optional<Path> resolve(HttpServletRequest request) {
+        Matcher matcher = PATH_INFO.matcher(Objects.toString(request.getPathInfo(), ""));
+        HttpSession session = request.getSession(false);
+        if (!matcher.matches() || Objects.isNull(session)) {
+            return Optional.empty();
+        }
+        String canonical = matcher.group(3);
+        Grants grants = getGrants(session, false);
+        Grant grant = Objects.nonNull(grants) ? grants.get(matcher.group(1), matcher.group(2)) : null;
+        if (Objects.isNull(grant) || ".".equals(canonical) || "..".equals(canonical)) {
+            logger.debug("Denied media request {}", request.getPathInfo());
+            return Optional.empty();
+        }
+        Path path = grant.resolve(canonical);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (Objects.nonNull(ifNoneMatch)) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String trimmed = candidate.trim();
+                if ("*".equals(trimmed) || eTag.equals(trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = getDateHeader(request, "If-Modified-Since");
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * A range is only sent if the file did not change since the client got
+     * the other parts of it.
+     */
+    private static boolean isRangeApplicable(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (Objects.isNull(ifRange)) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return eTag.equals(ifRange.trim());
+        }
+        return getDateHeader(request, "If-Range") / 1000 == lastModified / 1000;
+    }
+
+    private static long getDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Sends the bytes of the file. If the servlet container can send files by
+     * itself, it is left to the container. Otherwise, the file channel
+     * transfers the bytes to the response.
+     */
+    private static void send(HttpServletRequest request, HttpServletResponse response, Path path, long first,
+            long count) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, first);
+            request.setAttribute(SENDFILE_END, first + count);
+            return;
+        }
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = first;
+            long end = first + count;
+            while (position < end) {
+                long transferred = in.transferTo(position, end - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * The grants of a session, by process and folder. The processes are kept
+     * in the order in which access to them was granted last.
+     */
+    private static final class Grants implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final LinkedHashMap<String, Map<String, Grant>> byProcess = new LinkedHashMap<>();
+
+        private synchronized void put(String processId, String folderId, Grant grant) {
+            Map<String, Grant> byFolder = byProcess.remove(processId);
+            if (Objects.isNull(byFolder)) {
+                byFolder = new HashMap<>();
+            }
+            byFolder.put(folderId, grant);
+            byProcess.put(processId, byFolder);
+            if (byProcess.size() > MAX_GRANTED_PROCESSES) {
+                Iterator<String> leastRecentlyGranted = byProcess.keySet().iterator();
+                leastRecentlyGranted.next();
+                leastRecentlyGranted.remove();
+            }
+        }
+
+        private synchronized Grant get(String processId, String folderId) {
+            Map<String, Grant> byFolder = byProcess.get(processId);
+            return Objects.nonNull(byFolder) ? byFolder.get(folderId) : null;
+        }
+    }
+
+    /**
+     * The access to the files of a folder of a process, as kept in the
+     * session. It holds the resolved directory and the parts of the file name
+     * around the canonical part, so that the session does not need to keep
+     * the process.
+     */
+    private static final class Grant implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String directory;
+        private final String fileNamePrefix;
+        private final String fileNameSuffix;
+
+        private Grant(Subfolder subfolder) {
+            String placeholder = UUID.randomUUID().toString();
+            Path template = Paths.get(subfolder.getUri(placeholder));
+            String fileName = template.getFileName().toString();
+            int placeholderIndex = fileName.indexOf(placeholder);
+            this.directory = template.getParent().toString();
+            this.fileNamePrefix = fileName.substring(0, placeholderIndex);
+            this.fileNameSuffix = fileName.substring(placeholderIndex + placeholder.length());
+        }
+
+        private Path resolve(String canonical) {
+            return Paths.get(directory, fileNamePrefix + canonical + fileNameSuffix);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.goobi.mq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jms.JMSException;
+import javax.jms.MapMessage;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kitodo.data.database.exceptions.DAOException;
+
+public class ActiveMQDirectorTest {
+    private static final String QUEUE_NAME = "KitodoProduction.Test.Queue";
+    private static final int MESSAGES = 20;
+    private static final String FAILING_ONCE = "failingOnce";
+
+    private final ActiveMQDirector director = new ActiveMQDirector();
+    private final TestProcessor processor = new TestProcessor();
+
+    /**
+     * Processes messages slowly, and fails the first time it gets the
+     * message with the ID “failingOnce”. Messages may name a process in the
+     * field “process”.
+     */
+    private static class TestProcessor extends ActiveMQProcessor {
+        private final Map<String, AtomicInteger> deliveries = new ConcurrentHashMap<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private final AtomicInteger runningOfProcess = new AtomicInteger();
+        private final AtomicInteger maxRunningOfProcess = new AtomicInteger();
+        private final CountDownLatch processed = new CountDownLatch(MESSAGES);
+
+        TestProcessor() {
+            super(QUEUE_NAME);
+        }
+
+        @Override
+        protected Integer getProcessId(MapMessageObjectReader ticket) throws JMSException {
+            return ticket.hasField("process") ? ticket.getMandatoryInteger("process") : null;
+        }
+
+        @Override
+        protected void process(MapMessageObjectReader ticket) throws DAOException, JMSException {
+            String id = ticket.getMandatoryString("id");
+            boolean ofProcess = ticket.hasField("process");
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            if (ofProcess) {
+                maxRunningOfProcess.accumulateAndGet(runningOfProcess.incrementAndGet(), Math::max);
+            }
+            try {
+                Thread.sleep(100);
+                if (deliveries.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet() == 1
+                        && FAILING_ONCE.equals(id)) {
+                    throw new DAOException("Database not available");
+                }
+                processed.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+                if (ofProcess) {
+                    runningOfProcess.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    @Before
+    public void setUp() {
+        ActiveMQDirector.session = director.connectToServer("vm://localhost?broker.persistent=false");
+        director.registerListeners(new ActiveMQProcessor[] {processor });
+    }
+
+    @After
+    public void tearDown() {
+        director.contextDestroyed(null);
+    }
+
+    @Test
+    public void shouldProcessMessagesConcurrentlyAndDeliverFailedMessagesAgain() throws Exception {
+        Session session = ActiveMQDirector.getSession();
+        MessageProducer producer = session.createProducer(session.createQueue(QUEUE_NAME));
+        for (int i = 1; i < MESSAGES; i++) {
+            MapMessage message = session.createMapMessage();
+            message.setString("id", Integer.toString(i));
+            producer.send(message);
+        }
+        MapMessage failingMessage = session.createMapMessage();
+        failingMessage.setString("id", FAILING_ONCE);
+        producer.send(failingMessage);
+
+        assertTrue("Messages were not processed in time", processor.processed.await(30, TimeUnit.SECONDS));
+        assertTrue("Messages were not processed concurrently", processor.maxRunning.get() > 1);
+        assertEquals("Failed message was not delivered again", 2, processor.deliveries.get(FAILING_ONCE).get());
+        assertEquals("Message was processed more than once", 1, processor.deliveries.get("1").get());
+
+        QueueMetrics metrics = ActiveMQDirector.getQueueMetrics().get(QUEUE_NAME);
+        assertEquals("Wrong number of failed messages counted", 1, metrics.getRedelivered());
+    }
+
+    @Test
+    public void shouldProcessMessagesOfOneProcessOneAfterTheOther() throws Exception {
+        Session session = ActiveMQDirector.getSession();
+        MessageProducer producer = session.createProducer(session.createQueue(QUEUE_NAME));
+        for (int i = 0; i < MESSAGES; i++) {
+            MapMessage message = session.createMapMessage();
+            message.setString("id", Integer.toString(i));
+            message.setInt("process", 1);
+            producer.send(message);
+        }
+
+        assertTrue("Messages were not processed in time", processor.processed.await(30, TimeUnit.SECONDS));
+        assertEquals("Messages of one process were processed concurrently", 1,
+            processor.maxRunningOfProcess.get());
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.goobi.webapi.beans;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ProcessCursorTest {
+
+    @Test
+    public void cursorShouldBeReadBackFromItsString() {
+        ProcessCursor cursor = new ProcessCursor("32578597X:a", 42);
+
+        ProcessCursor readBack = new ProcessCursor(cursor.toString());
+
+        assertEquals("Identifier was not read back correctly.", "32578597X:a", readBack.getIdentifier());
+        assertEquals("Process ID was not read back correctly.", 42, readBack.getProcessId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCursorShouldBeRejected() {
+        new ProcessCursor("not a cursor");
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.goobi.webapi.resources;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import org.goobi.webapi.beans.GoobiProcess;
+import org.goobi.webapi.beans.ProcessCursor;
+import org.junit.Test;
+
+public class ProcessesOutputTest {
+
+    @Test
+    public void shouldWriteNoProcessAsNull() throws IOException {
+        assertEquals("Empty list was not written like Jersey does.", "null",
+            writeJson(Collections.emptyList()));
+    }
+
+    @Test
+    public void shouldWriteOneProcessAsObject() throws IOException {
+        assertEquals("Single process was not written like Jersey does.",
+            "{\"goobiProcess\":{\"identifier\":\"a\",\"title\":\"T1\"}}",
+            writeJson(Collections.singletonList(new GoobiProcess("a", "T1"))));
+    }
+
+    @Test
+    public void shouldWriteSeveralProcessesAsArray() throws IOException {
+        assertEquals("Processes were not written like Jersey does.",
+            "{\"goobiProcess\":[{\"identifier\":\"a\",\"title\":\"T1\"},{\"title\":\"T2\"}]}",
+            writeJson(Arrays.asList(new GoobiProcess("a", "T1"), new GoobiProcess(null, "T2"))));
+    }
+
+    private static String writeJson(List<GoobiProcess> processes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ProcessesOutput(MediaType.APPLICATION_JSON_TYPE, handler -> {
+            for (GoobiProcess process : processes) {
+                handler.handle(process, new ProcessCursor(process.getTitle(), 1));
+            }
+        }).write(output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
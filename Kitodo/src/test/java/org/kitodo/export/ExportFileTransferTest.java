@@ -0,0 +1,158 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.export;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ExportFileTransferTest {
+
+    private static final String CHECKSUM_OF_ABC = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+    private static final String TASK_NAME = "process-1";
+    private static final String MANIFEST_FILE_NAME = ExportFileTransfer.getManifestFileName(TASK_NAME);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldCopyFilesAndDeleteManifest() throws Exception {
+        Path sourceDirectory = temporaryFolder.newFolder("source").toPath();
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        List<Path> sources = Arrays.asList(write(sourceDirectory.resolve("00000002.tif"), "def"),
+            write(sourceDirectory.resolve("00000001.tif"), "abc"), write(sourceDirectory.resolve("00000003.tif"), ""));
+        List<Path> transferred = Collections.synchronizedList(new ArrayList<>());
+
+        new ExportFileTransfer(2, false).transfer(sources, targetDirectory, TASK_NAME, transferred::add);
+
+        assertEquals("Not all files were reported as transferred!", 3, transferred.size());
+        assertEquals("File was not copied correctly!", "abc", read(targetDirectory.resolve("00000001.tif")));
+        assertEquals("File was not copied correctly!", "def", read(targetDirectory.resolve("00000002.tif")));
+        assertTrue("Empty file was not copied!", Files.isRegularFile(targetDirectory.resolve("00000003.tif")));
+        assertFalse("Manifest was not deleted!", Files.exists(targetDirectory.resolve(MANIFEST_FILE_NAME)));
+    }
+
+    @Test
+    public void shouldKeepManifestOfInterruptedTransfer() throws Exception {
+        Path sourceDirectory = temporaryFolder.newFolder("source").toPath();
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        List<Path> sources = Arrays.asList(write(sourceDirectory.resolve("00000001.tif"), "abc"),
+            write(sourceDirectory.resolve("00000002.tif"), "def"));
+
+        try {
+            new ExportFileTransfer(1, false).transfer(sources, targetDirectory, TASK_NAME, source -> {
+                throw new InterruptedException();
+            });
+            fail("Transfer was not interrupted!");
+        } catch (InterruptedException e) {
+            List<String> manifest = Files.readAllLines(targetDirectory.resolve(MANIFEST_FILE_NAME),
+                StandardCharsets.UTF_8);
+            assertEquals("Manifest is wrong!", Collections.singletonList(CHECKSUM_OF_ABC + "  00000001.tif"),
+                manifest);
+        }
+    }
+
+    @Test
+    public void shouldNotCopyFilesListedInManifestAgain() throws Exception {
+        Path sourceDirectory = temporaryFolder.newFolder("source").toPath();
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        List<Path> sources = Arrays.asList(write(sourceDirectory.resolve("00000001.tif"), "abc"),
+            write(sourceDirectory.resolve("00000002.tif"), "def"));
+        writeCopy(sources.get(0), targetDirectory.resolve("00000001.tif"), "xyz");
+        writeCopy(sources.get(1), targetDirectory.resolve("00000002.tif"), "xyz");
+        write(targetDirectory.resolve(MANIFEST_FILE_NAME), CHECKSUM_OF_ABC + "  00000001.tif\n");
+
+        new ExportFileTransfer(1, false).transfer(sources, targetDirectory, TASK_NAME, source -> {
+        });
+
+        assertEquals("File from manifest was copied again!", "xyz", read(targetDirectory.resolve("00000001.tif")));
+        assertEquals("File missing in manifest was not copied!", "def", read(targetDirectory.resolve("00000002.tif")));
+    }
+
+    @Test
+    public void shouldCopyChangedFilesListedInManifestAgain() throws Exception {
+        Path sourceDirectory = temporaryFolder.newFolder("source").toPath();
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        Path source = write(sourceDirectory.resolve("00000001.tif"), "abc");
+        Path target = write(targetDirectory.resolve("00000001.tif"), "xyz");
+        Files.setLastModifiedTime(target, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() - 60000));
+        write(targetDirectory.resolve(MANIFEST_FILE_NAME), CHECKSUM_OF_ABC + "  00000001.tif\n");
+
+        new ExportFileTransfer(1, false).transfer(Collections.singletonList(source), targetDirectory, TASK_NAME,
+            file -> {
+            });
+
+        assertEquals("Changed file was not copied again!", "abc", read(target));
+    }
+
+    @Test
+    public void shouldIgnoreManifestOfOtherTask() throws Exception {
+        Path sourceDirectory = temporaryFolder.newFolder("source").toPath();
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        Path source = write(sourceDirectory.resolve("00000001.tif"), "abc");
+        Path target = targetDirectory.resolve("00000001.tif");
+        writeCopy(source, target, "xyz");
+        write(targetDirectory.resolve(ExportFileTransfer.getManifestFileName("process-2")),
+            CHECKSUM_OF_ABC + "  00000001.tif\n");
+
+        new ExportFileTransfer(1, false).transfer(Collections.singletonList(source), targetDirectory, TASK_NAME,
+            file -> {
+            });
+
+        assertEquals("File from manifest of other task was not copied!", "abc", read(target));
+    }
+
+    @Test
+    public void shouldLinkFilesOnSameFileSystem() throws Exception {
+        Path sourceDirectory = temporaryFolder.newFolder("source").toPath();
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        Path source = write(sourceDirectory.resolve("00000001.tif"), "abc");
+
+        new ExportFileTransfer(1, true).transfer(Collections.singletonList(source), targetDirectory, TASK_NAME,
+            file -> {
+            });
+
+        assertEquals("File was not transferred correctly!", "abc", read(targetDirectory.resolve("00000001.tif")));
+    }
+
+    private static Path write(Path file, String content) throws IOException {
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a file which looks like the copy of a source file, but has other
+     * content of the same size.
+     */
+    private static void writeCopy(Path source, Path target, String content) throws IOException {
+        write(target, content);
+        Files.setLastModifiedTime(target, Files.getLastModifiedTime(source));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class MetsDmdSecExtractorTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldExtractDmdSecs() throws Exception {
+        List<Map<String, Object>> dmdSecs;
+        try (InputStream metsFile = new FileInputStream("src/test/resources/metadata/4/meta.xml")) {
+            dmdSecs = MetsDmdSecExtractor.extract(metsFile);
+        }
+
+        assertEquals("Incorrect amount of dmdSecs!", 2, dmdSecs.size());
+        assertEquals("Incorrect id of dmdSec!", "DMDLOG_0000", dmdSecs.get(0).get("ID"));
+
+        Map<String, Object> mdWrap = (Map<String, Object>) dmdSecs.get(0).get("mdWrap");
+        assertEquals("Incorrect type of mdWrap!", "MODS", mdWrap.get("MDTYPE"));
+        Map<String, Object> xmlData = (Map<String, Object>) mdWrap.get("xmlData");
+        Map<String, Object> kitodo = (Map<String, Object>) xmlData.get("kitodo");
+        assertEquals("Incorrect namespace!", "http://meta.kitodo.org/v1/", kitodo.get("kitodo"));
+
+        List<Map<String, Object>> metadata = (List<Map<String, Object>>) kitodo.get("metadata");
+        assertEquals("Incorrect amount of metadata!", 3, metadata.size());
+        assertEquals("Incorrect metadata name!", "TitleDocMain", metadata.get(0).get("name"));
+        assertEquals("Incorrect metadata content!", "Second process", metadata.get(0).get("content"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldKeepNumericContentAsText() throws Exception {
+        String mets = "<mets xmlns=\"http://www.loc.gov/METS/\"><metsHdr><agent/></metsHdr>"
+                + "<dmdSec ID=\"1\"><mdWrap><xmlData><k:kitodo xmlns:k=\"http://meta.kitodo.org/v1/\">"
+                + "<k:metadata name=\"PublicationYear\">1900</k:metadata></k:kitodo></xmlData></mdWrap></dmdSec>"
+                + "<structMap TYPE=\"LOGICAL\"><div/></structMap></mets>";
+        List<Map<String, Object>> dmdSecs = MetsDmdSecExtractor
+                .extract(new ByteArrayInputStream(mets.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("Incorrect amount of dmdSecs!", 1, dmdSecs.size());
+        assertEquals("Incorrect id of dmdSec!", "1", dmdSecs.get(0).get("ID"));
+        Map<String, Object> mdWrap = (Map<String, Object>) dmdSecs.get(0).get("mdWrap");
+        Map<String, Object> kitodo = (Map<String, Object>) ((Map<String, Object>) mdWrap.get("xmlData"))
+                .get("kitodo");
+        Map<String, Object> metadata = (Map<String, Object>) kitodo.get("metadata");
+        assertEquals("Incorrect metadata content!", "1900", metadata.get("content"));
+    }
+
+    @Test
+    public void shouldIgnoreOtherRootElement() throws Exception {
+        String xml = "<other><dmdSec ID=\"1\"/></other>";
+        List<Map<String, Object>> dmdSecs = MetsDmdSecExtractor
+                .extract(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue("Sections of other root element were extracted!", dmdSecs.isEmpty());
+    }
+}
@@ -225,6 +225,48 @@ public class ImageGeneratorIT {
             lastModifiedTime(resultFileThree));
     }
 
+    /**
+     * This test is the same as the previous one, but the images are generated
+     * by three threads in parallel.
+     * 
+     * @throws Exception
+     *             if it does not work
+     */
+    @Test
+    public void testTheNewGenerationOfAllImagesOrFilesInParallel() throws Exception {
+        Process process = new Process();
+        process.setId(processId);
+        process.setTitle(processTitle);
+        Folder source = new Folder();
+        source.setPath(tiffFolder);
+        source.setMimeType(tiffType);
+        Subfolder sourceFolder = new Subfolder(process, source);
+        VariableReplacer variableReplacer = new MockVariableReplacer(processTitle);
+        setField(sourceFolder, "variableReplacer", variableReplacer);
+        Folder output = new Folder();
+        output.setPath(jpgsMaxFolder);
+        output.setMimeType(jpegType);
+        output.setDerivative(1.0);
+        Subfolder outputFolder = new Subfolder(process, output);
+        setField(outputFolder, "variableReplacer", variableReplacer);
+        Collection<Subfolder> outputs = Collections.singletonList(outputFolder);
+        ImageGenerator imageGenerator = new ImageGenerator(sourceFolder, GenerationMode.ALL, outputs);
+        setField(imageGenerator, "threads", 3);
+
+        Optional<FileTime> resultFileOneBefore = lastModifiedTime(resultFileOne);
+        Optional<FileTime> resultFileTwoBefore = lastModifiedTime(resultFileTwo);
+        final Optional<FileTime> resultFileThreeBefore = lastModifiedTime(resultFileThree);
+
+        imageGenerator.run();
+
+        assertNotEquals(resultFileOne + MESSAGE_NOT_CHANGED, resultFileOneBefore,
+            lastModifiedTime(resultFileOne));
+        assertNotEquals(resultFileTwo + MESSAGE_NOT_CHANGED, resultFileTwoBefore,
+            lastModifiedTime(resultFileTwo));
+        assertNotEquals(resultFileThree + MESSAGE_NOT_CHANGED, resultFileThreeBefore,
+            lastModifiedTime(resultFileThree));
+    }
+
     /**
      * This test simulates the default scenario in which the source files and
      * derivatives reside in different task folders. In the test, only missing
@@ -0,0 +1,126 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class IndexOutboxTest {
+
+    private static final long INTERVAL = 1000;
+    private static final long MAX_BACKOFF = 5000;
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * Waiting objects which are removed when they were sent. Sending fails for
+     * the poison ids, and for all ids while the target is unavailable.
+     */
+    private static class FakeTarget implements OutboxQueue.Target {
+        private final Set<Integer> waiting = new TreeSet<>();
+        private final Set<Integer> poison = new HashSet<>();
+        private boolean available = true;
+        private int requests;
+
+        FakeTarget(Integer... ids) {
+            waiting.addAll(Arrays.asList(ids));
+        }
+
+        @Override
+        public List<Integer> findNotIndexed(int afterId, int size) {
+            List<Integer> ids = new ArrayList<>();
+            for (Integer id : waiting) {
+                if (id > afterId && ids.size() < size) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        }
+
+        @Override
+        public void index(List<Integer> ids) throws IOException {
+            requests++;
+            if (!available || !Collections.disjoint(ids, poison)) {
+                throw new IOException("Cannot send " + ids);
+            }
+            waiting.removeAll(ids);
+        }
+    }
+
+    @Test
+    public void shouldSkipObjectWhichFailsRepeatedly() {
+        FakeTarget target = new FakeTarget(1, 2, 3, 4, 5);
+        target.poison.add(1);
+        OutboxQueue queue = new OutboxQueue("TEST", target);
+
+        queue.dispatch(0, 2, INTERVAL, MAX_BACKOFF, MAX_ATTEMPTS);
+        assertEquals("Object behind the failing one was not sent!", new TreeSet<>(Arrays.asList(1, 3, 4, 5)),
+            target.waiting);
+        assertEquals("Queue backs off although other objects were sent!", 0, queue.getNextAttempt());
+
+        for (int run = 1; run < 10; run++) {
+            queue.dispatch(run, 2, INTERVAL, MAX_BACKOFF, MAX_ATTEMPTS);
+        }
+        assertEquals("Failing object was not skipped!", Collections.singleton(1), queue.getSkipped());
+        assertEquals("Objects behind the skipped one were not sent!", Collections.singleton(1), target.waiting);
+    }
+
+    @Test
+    public void shouldBackOffWhileIndexIsUnavailable() {
+        FakeTarget target = new FakeTarget(1, 2, 3);
+        target.available = false;
+        OutboxQueue queue = new OutboxQueue("TEST", target);
+
+        assertFalse("Failed batch reported as sent!", queue.dispatch(0, 10, INTERVAL, MAX_BACKOFF, MAX_ATTEMPTS));
+        assertEquals("Wrong first waiting time!", 2000, queue.getNextAttempt());
+        int requests = target.requests;
+        queue.dispatch(1999, 10, INTERVAL, MAX_BACKOFF, MAX_ATTEMPTS);
+        assertEquals("Queue did not wait!", requests, target.requests);
+
+        queue.dispatch(2000, 10, INTERVAL, MAX_BACKOFF, MAX_ATTEMPTS);
+        assertEquals("Waiting time was not doubled!", 6000, queue.getNextAttempt());
+        queue.dispatch(6000, 10, INTERVAL, MAX_BACKOFF, MAX_ATTEMPTS);
+        assertEquals("Waiting time was not limited!", 11000, queue.getNextAttempt());
+        assertTrue("Objects were skipped while the index was unavailable!", queue.getSkipped().isEmpty());
+
+        target.available = true;
+        queue.dispatch(11000, 10, INTERVAL, MAX_BACKOFF, MAX_ATTEMPTS);
+        assertTrue("Objects were not sent after the index came back!", target.waiting.isEmpty());
+        assertEquals("Waiting time was not reset!", 0, queue.getNextAttempt());
+    }
+
+    @Test
+    public void shouldSendOtherTypesWhileOneFails() {
+        FakeTarget failing = new FakeTarget(1, 2);
+        failing.available = false;
+        FakeTarget working = new FakeTarget(1, 2, 3);
+        IndexOutbox outbox = new IndexOutbox(
+                Arrays.asList(new OutboxQueue("FAILING", failing), new OutboxQueue("WORKING", working)));
+
+        assertTrue("Full batch was not reported!", outbox.dispatch(0, 2, INTERVAL, MAX_BACKOFF, MAX_ATTEMPTS));
+        assertEquals("Other type was not sent!", Collections.singleton(3), working.waiting);
+        assertFalse("Rest was not reported as partial batch!",
+            outbox.dispatch(0, 2, INTERVAL, MAX_BACKOFF, MAX_ATTEMPTS));
+        assertTrue("Other type was not sent completely!", working.waiting.isEmpty());
+    }
+}
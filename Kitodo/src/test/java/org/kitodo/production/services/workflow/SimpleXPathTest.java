@@ -0,0 +1,80 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+
+import org.junit.Test;
+import org.kitodo.production.workflow.KitodoNamespaceContext;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+public class SimpleXPathTest {
+
+    private static final Path META_XML = Paths.get("src/test/resources/metadata/2/meta.xml");
+
+    @Test
+    public void shouldSelectLikeXPath() throws Exception {
+        DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
+        builderFactory.setNamespaceAware(true);
+        Document document = builderFactory.newDocumentBuilder().parse(META_XML.toFile());
+        XPath xPath = XPathFactory.newInstance().newXPath();
+        xPath.setNamespaceContext(new KitodoNamespaceContext());
+
+        List<String> expressions = Arrays.asList("/mets:mets/mets:metsHdr", "/mets:nothing",
+            "/mets:mets/mets:dmdSec/mets:mdWrap/mets:xmlData/kitodo:kitodo", "//kitodo:metadata",
+            "//kitodo:metadata[@name='TSL_ATS']", "//kitodo:metadata[@name=\"PPN\"]", "/mets:mets//mets:agent",
+            "/mets:mets//mets:mets", "//mets:dmdSec[@ID='DMDPHYS_0000']//kitodo:metadata[@name='pathimagefiles']",
+            "//mets:dmdSec[@ID='DMDLOG_0000']//kitodo:metadata[@name='pathimagefiles']", "//mets:div[@TYPE]",
+            "/mets:mets/*/mets:agent", "/mets:mets/mets:agent", "//metadata", "/mets:mets/mets:*", "/mets:*",
+            "/mets:mets/kitodo:*", "//kitodo:metadata[@name='TitleDocMain'][@name='TSL_ATS']",
+            "//kitodo:metadata[@name='TSL_ATS'][@name='TSL_ATS']");
+        for (String expression : expressions) {
+            SimpleXPath simpleXPath = SimpleXPath.parse(expression, new KitodoNamespaceContext())
+                    .orElseThrow(() -> new AssertionError("Expression was not parsed: " + expression));
+            boolean expected = ((NodeList) xPath.evaluate(expression, document, XPathConstants.NODESET))
+                    .getLength() > 0;
+            try (InputStream in = Files.newInputStream(META_XML)) {
+                assertEquals("Wrong result for " + expression, expected, simpleXPath.selectsAny(in));
+            }
+        }
+    }
+
+    @Test
+    public void shouldRejectOtherExpressions() {
+        KitodoNamespaceContext namespaceContext = new KitodoNamespaceContext();
+        assertFalse("Function was accepted!", SimpleXPath.parse("count(//mets:div) > 1", namespaceContext).isPresent());
+        assertFalse("Text test was accepted!",
+            SimpleXPath.parse("//kitodo:metadata[text()='x']", namespaceContext).isPresent());
+        assertFalse("Unknown prefix was accepted!", SimpleXPath.parse("/foo:mets", namespaceContext).isPresent());
+        assertFalse("Relative path was accepted!", SimpleXPath.parse("mets:mets", namespaceContext).isPresent());
+        assertFalse("Self step was accepted!", SimpleXPath.parse("/mets:mets/.", namespaceContext).isPresent());
+        assertFalse("Parent step was accepted!",
+            SimpleXPath.parse("/mets:mets/mets:metsHdr/..", namespaceContext).isPresent());
+        assertFalse("Invalid name was accepted!", SimpleXPath.parse("/mets:mets/-", namespaceContext).isPresent());
+        assertTrue("Simple path was rejected!", SimpleXPath.parse(" /mets:mets ", namespaceContext).isPresent());
+    }
+}
@@ -158,6 +158,27 @@ public class WorkflowControllerServiceIT {
         taskService.save(nextTask);
     }
 
+    @Test
+    public void shouldCloseAndUpdateSortHelperStatus() throws Exception {
+        workflowService.close(taskService.getById(9));
+
+        Task task = taskService.getById(9);
+        assertEquals("Task '" + task.getTitle() + "' was not closed in database!", TaskStatus.DONE,
+            task.getProcessingStatus());
+
+        Process process = ServiceManager.getProcessService().getById(task.getProcess().getId());
+        assertEquals("Sort helper status of process was not updated in database!",
+            ServiceManager.getProcessService().getProgress(process.getTasks(), null), process.getSortHelperStatus());
+
+        // set up tasks to previous states
+        Task nextTask = taskService.getById(10);
+        workflowService.setTaskStatusDown(task);
+        workflowService.setTaskStatusDown(nextTask);
+
+        taskService.save(task);
+        taskService.save(nextTask);
+    }
+
     @Test
     public void shouldCloseForProcessWithParallelTasks() throws Exception {
         Task task = taskService.getById(19);
@@ -0,0 +1,58 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.servlet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class ByteRangeTest {
+
+    @Test
+    public void shouldParseRanges() {
+        ByteRange range = ByteRange.parse("bytes=100-199", 1000).get();
+        assertEquals("Wrong first byte!", 100, range.getFirst());
+        assertEquals("Wrong length!", 100, range.getLength());
+        assertEquals("Wrong content range!", "bytes 100-199/1000", range.toContentRange(1000));
+
+        range = ByteRange.parse("bytes=900-", 1000).get();
+        assertEquals("Open range was not parsed correctly!", "bytes 900-999/1000", range.toContentRange(1000));
+
+        range = ByteRange.parse("bytes=-300", 1000).get();
+        assertEquals("Suffix range was not parsed correctly!", "bytes 700-999/1000", range.toContentRange(1000));
+
+        range = ByteRange.parse("bytes=500-5000", 1000).get();
+        assertEquals("Range was not limited to the file!", "bytes 500-999/1000", range.toContentRange(1000));
+    }
+
+    @Test
+    public void shouldSendWholeFileForUnsupportedRanges() {
+        assertFalse("Missing header was not ignored!", ByteRange.parse(null, 1000).isPresent());
+        assertFalse("Multiple ranges were not ignored!", ByteRange.parse("bytes=0-1,5-6", 1000).isPresent());
+        assertFalse("Other unit was not ignored!", ByteRange.parse("items=0-1", 1000).isPresent());
+        assertFalse("Malformed range was not ignored!", ByteRange.parse("bytes=x-1", 1000).isPresent());
+        assertFalse("Reversed range was not ignored!", ByteRange.parse("bytes=9-1", 1000).isPresent());
+    }
+
+    @Test
+    public void shouldDetectUnsatisfiableRanges() {
+        Optional<ByteRange> range = ByteRange.parse("bytes=1000-", 1000);
+        assertSame("Range behind the end was not detected!", ByteRange.UNSATISFIABLE, range.get());
+        assertEquals("Wrong content range!", "bytes */1000", range.get().toContentRange(1000));
+        assertSame("Empty suffix range was not detected!", ByteRange.UNSATISFIABLE,
+            ByteRange.parse("bytes=-0", 1000).get());
+    }
+}